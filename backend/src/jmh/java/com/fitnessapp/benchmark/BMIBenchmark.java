@@ -0,0 +1,79 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.controller.BMIController;
+import com.fitnessapp.dto.BmiMeasurement;
+import com.fitnessapp.entity.BMI;
+import com.fitnessapp.entity.BmiCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BMI construction through the entity constructor versus the stateless quick-calculate path,
+ * and the per-item cost of the bulk quick-calculate engine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BMIBenchmark {
+
+    private final BMIController controller = new BMIController();
+
+    private static final int BATCH_SIZE = 1000;
+
+    private double weight = 72.5;
+    private double height = 176.0;
+
+    private final double[] weights = new double[BATCH_SIZE];
+    private final double[] heights = new double[BATCH_SIZE];
+    private final double[] bmiValues = new double[BATCH_SIZE];
+    private final String[] categories = new String[BATCH_SIZE];
+    private final double[] minHealthyWeights = new double[BATCH_SIZE];
+    private final double[] maxHealthyWeights = new double[BATCH_SIZE];
+    private List<BmiMeasurement> measurements;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        measurements = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            weights[i] = 45 + random.nextDouble() * 80;
+            heights[i] = 150 + random.nextDouble() * 50;
+            measurements.add(new BmiMeasurement(weights[i], heights[i]));
+        }
+    }
+
+    @Benchmark
+    public BMI entityConstructor() {
+        return new BMI(null, weight, height);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> quickCalculate() {
+        return controller.quickCalculateBMI(weight, height);
+    }
+
+    // Engine only, writing into preallocated columns
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public String[] batchEnginePerItem() {
+        BmiCalculator.calculateAll(weights, heights, BATCH_SIZE, bmiValues, categories,
+                                   minHealthyWeights, maxHealthyWeights);
+        return categories;
+    }
+
+    // Endpoint work after deserialization: validation plus result columns
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public ResponseEntity<Map<String, Object>> batchEndpointPerItem() {
+        return controller.quickCalculateBatch(measurements);
+    }
+}
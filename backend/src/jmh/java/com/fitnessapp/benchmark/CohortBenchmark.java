@@ -0,0 +1,85 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.dto.CohortStats;
+import com.fitnessapp.entity.BMI;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.BMIRepository;
+import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.service.CohortStatsService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-goal cohort figures from the maintained counter rows versus COUNT queries over users,
+ * for growing user counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CohortBenchmark {
+
+    private static final String[] GOALS = {"LOSE_WEIGHT", "BUILD_MUSCLE", "STAY_FIT"};
+    private static final String[] WORKOUTS = {"HOME", "GYM", "BOTH"};
+    private static final String[] DIETS = {"VEG", "NON_VEG", "VEGAN"};
+
+    @Param({"1000", "20000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private CohortStatsService cohortStats;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start("app.cohorts.reconcile-interval-ms=0");
+        userRepository = context.getBean(UserRepository.class);
+        BMIRepository bmiRepository = context.getBean(BMIRepository.class);
+        cohortStats = context.getBean(CohortStatsService.class);
+
+        List<User> batch = new ArrayList<>();
+        List<BMI> bmis = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            batch.add(new User("cohort" + i + "@bench.local", "Benchmark User", 30, "OTHER", 60.0 + i % 40, 176.0,
+                               GOALS[i % 3], WORKOUTS[i / 3 % 3], DIETS[i / 9 % 3]));
+            if (batch.size() == 1000) {
+                for (User user : userRepository.saveAll(batch)) {
+                    bmis.add(new BMI(user, user.getWeight(), user.getHeight()));
+                }
+                bmiRepository.saveAll(bmis);
+                batch.clear();
+                bmis.clear();
+            }
+        }
+        for (User user : userRepository.saveAll(batch)) {
+            bmis.add(new BMI(user, user.getWeight(), user.getHeight()));
+        }
+        bmiRepository.saveAll(bmis);
+
+        cohortStats.reconcile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CohortStats> counterRead() {
+        return cohortStats.getStats(CohortStatsService.FITNESS_GOAL);
+    }
+
+    @Benchmark
+    public void countQueries(Blackhole bh) {
+        for (String goal : GOALS) {
+            bh.consume(userRepository.countByFitnessGoal(goal));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.controller.BMIController;
+import com.fitnessapp.controller.DashboardController;
+import com.fitnessapp.controller.ProgressController;
+import com.fitnessapp.controller.UserController;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.entity.BMI;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.BMIRepository;
+import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.service.ProgressService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The four handler calls the dashboard page used to make one after another (profile, latest
+ * BMI, today's progress, stats) versus the single dashboard handler that loads the user once
+ * and reads the other parts concurrently. Measures server-side time only; each separate call
+ * also costs the client an HTTP round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private UserController userController;
+    private BMIController bmiController;
+    private ProgressController progressController;
+    private DashboardController dashboardController;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start("app.cohorts.reconcile-interval-ms=0");
+        userController = context.getBean(UserController.class);
+        bmiController = context.getBean(BMIController.class);
+        progressController = context.getBean(ProgressController.class);
+        dashboardController = context.getBean(DashboardController.class);
+
+        User user = EmbeddedApp.createUser(context, "dashboard@bench.local");
+        userId = user.getId();
+        BMIRepository bmiRepository = context.getBean(BMIRepository.class);
+        for (int i = 0; i < 50; i++) {
+            bmiRepository.save(new BMI(user, 70.0 + i % 5, 176.0));
+        }
+        List<ProgressEntry> entries = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 365; i++) {
+            entries.add(new ProgressEntry(today.minusDays(i), 2000 + i % 300, 400 + i % 200, i % 3 != 0, 8, 3, 72.0));
+        }
+        context.getBean(ProgressService.class)
+            .saveBatch(context.getBean(UserRepository.class).getReferenceById(userId), entries);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void sequentialCalls(Blackhole bh) {
+        // A plain GET without If-None-Match, as the dashboard page sent it
+        bh.consume(userController.getUserById(userId,
+            new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse())));
+        bh.consume(bmiController.getLatestBMI(userId));
+        bh.consume(progressController.getTodayProgress(userId));
+        bh.consume(progressController.getUserStats(userId));
+    }
+
+    @Benchmark
+    public Object dashboard() {
+        return dashboardController.getDashboard(userId);
+    }
+}
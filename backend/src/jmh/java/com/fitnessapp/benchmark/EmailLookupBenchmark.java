@@ -0,0 +1,77 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.controller.UserController;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email lookups against 10,000 registered users, for unregistered and registered emails (in
+ * another case). Also the cost of rejecting a duplicate registration (in another case) with the
+ * single insert.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailLookupBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int PROBES = 1024;
+
+    private ConfigurableApplicationContext context;
+    private UserController controller;
+    private UserRepository userRepository;
+    private final String[] unknownEmails = new String[PROBES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start("app.cohorts.reconcile-interval-ms=0",
+                                   // Every duplicate registration would log its unique-constraint violation
+                                   "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF");
+        controller = context.getBean(UserController.class);
+        userRepository = context.getBean(UserRepository.class);
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("user" + i + "@bench.local", "Benchmark User", 30, "OTHER", 72.5, 176.0,
+                               "STAY_FIT", "GYM", "VEG"));
+        }
+        context.getBean(TransactionTemplate.class).executeWithoutResult(status -> userRepository.insertAll(users));
+        for (int i = 0; i < PROBES; i++) {
+            unknownEmails[i] = "nobody" + i + "@bench.local";
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object unknownEmail() {
+        return controller.getUserByEmail(unknownEmails[next++ & PROBES - 1]);
+    }
+
+    @Benchmark
+    public Object knownEmail() {
+        return controller.getUserByEmail("User" + (next++ % USERS) + "@Bench.local");
+    }
+
+    @Benchmark
+    public Object duplicateRegistration() {
+        User user = new User("USER" + (next++ % USERS) + "@bench.local", "Benchmark User", 30, "OTHER", 72.5, 176.0,
+                             "STAY_FIT", "GYM", "VEG");
+        user.setPassword("benchmark-password");
+        return controller.registerUser(user);
+    }
+}
@@ -0,0 +1,80 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.EmbeddedMariaDb;
+import com.fitnessapp.FitnessAppApplication;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.UserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the application context against an in-memory H2 database (MySQL mode, schema created
+ * by Hibernate) so benchmarks exercise the real repositories and services. Load tests that
+ * need blocking database I/O and the HTTP stack start the server on the embedded MariaDB.
+ */
+final class EmbeddedApp {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private EmbeddedApp() {}
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        String url = "jdbc:h2:mem:bench" + DATABASES.incrementAndGet() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+        return new SpringApplicationBuilder(FitnessAppApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args(List.of(
+                "spring.datasource.url=" + url,
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.flyway.enabled=false"), extraProperties));
+    }
+
+    /**
+     * Starts the web server on a random port (read it from {@code local.server.port}) against a
+     * fresh database on the embedded MariaDB, with the schema created by the Flyway migrations.
+     */
+    static ConfigurableApplicationContext startServer(String... extraProperties) {
+        String url = EmbeddedMariaDb.createDatabase("bench" + DATABASES.incrementAndGet());
+        return new SpringApplicationBuilder(FitnessAppApplication.class)
+            .web(WebApplicationType.SERVLET)
+            .run(args(List.of(
+                "spring.datasource.url=" + url + "&rewriteBatchedStatements=true",
+                "spring.datasource.username=" + EmbeddedMariaDb.username(),
+                "spring.datasource.password=" + EmbeddedMariaDb.password(),
+                "spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+                "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                "spring.jpa.hibernate.ddl-auto=validate",
+                "spring.flyway.enabled=true",
+                "server.port=0"), extraProperties));
+    }
+
+    // Passed as command-line arguments so they take precedence over application.properties
+    private static String[] args(List<String> database, String... extraProperties) {
+        List<String> args = new ArrayList<>();
+        for (String property : database) {
+            args.add("--" + property);
+        }
+        args.addAll(List.of(
+            "--spring.jpa.show-sql=false",
+            // Registrations measure the database path, not password hashing
+            "--app.security.bcrypt-strength=4",
+            "--logging.level.root=WARN"));
+        for (String property : extraProperties) {
+            args.add("--" + property);
+        }
+        return args.toArray(new String[0]);
+    }
+
+    static User createUser(ConfigurableApplicationContext context, String email) {
+        UserRepository users = context.getBean(UserRepository.class);
+        return users.save(new User(email, "Benchmark User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG"));
+    }
+}
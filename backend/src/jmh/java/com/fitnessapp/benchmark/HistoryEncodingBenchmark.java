@@ -0,0 +1,90 @@
+package com.fitnessapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fitnessapp.config.ResponseFormatConfig;
+import com.fitnessapp.dto.ProgressView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU of a two-year progress history (the date-range response) in each
+ * negotiable format, with and without the gzip step Tomcat applies for Accept-Encoding: gzip.
+ * Payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryEncodingBenchmark {
+
+    private static final int DAYS = 730;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> envelope;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        ResponseFormatConfig config = new ResponseFormatConfig();
+        objectMapper = switch (format) {
+            case "smile" -> config.smileHttpMessageConverter(bootBuilder()).getObjectMapper();
+            case "cbor" -> config.cborHttpMessageConverter(bootBuilder()).getObjectMapper();
+            default -> bootBuilder().build();
+        };
+
+        LocalDate today = LocalDate.of(2024, 6, 1);
+        LocalDateTime now = today.atTime(21, 14, 3, 512_000_000);
+        List<ProgressView> progress = new ArrayList<>(DAYS);
+        for (int i = 0; i < DAYS; i++) {
+            progress.add(new ProgressView((long) (DAYS - i), today.minusDays(i), 1800 + i % 400, 300 + i % 250,
+                                          i % 3 != 0, 6 + i % 4, 3, 72.5 - i % 30 * 0.1,
+                                          now.minusDays(i), now.minusDays(i).plusMinutes(i % 90)));
+        }
+        envelope = new HashMap<>();
+        envelope.put("success", true);
+        envelope.put("progress", progress);
+
+        buffer = new ByteArrayOutputStream(256 * 1024);
+        System.out.printf("%n%s%s: %d bytes for %d days%n", format, gzip ? "+gzip" : "", encode().length, DAYS);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        buffer.reset();
+        if (gzip) {
+            try (OutputStream out = new GZIPOutputStream(buffer)) {
+                objectMapper.writeValue(out, envelope);
+            }
+        } else {
+            objectMapper.writeValue(buffer, envelope);
+        }
+        return buffer.toByteArray();
+    }
+
+    // Jackson settings as applied by Spring Boot's auto-configured builder
+    private static Jackson2ObjectMapperBuilder bootBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,77 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.service.ProgressService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for a wearable sync of 30 new days: the per-day update loop versus the batch
+ * endpoint's single-transaction JDBC batch. Every invocation writes a fresh date range.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestionBenchmark {
+
+    private static final int DAYS_PER_SYNC = 30;
+
+    private ConfigurableApplicationContext context;
+    private ProgressService progressService;
+    private User loopUser;
+    private User batchUser;
+    private LocalDate loopCursor;
+    private LocalDate batchCursor;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start();
+        progressService = context.getBean(ProgressService.class);
+        loopUser = EmbeddedApp.createUser(context, "loop@bench.local");
+        batchUser = EmbeddedApp.createUser(context, "batch@bench.local");
+        loopCursor = LocalDate.of(1900, 1, 1);
+        batchCursor = LocalDate.of(1900, 1, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS_PER_SYNC)
+    public Progress perDayLoop() {
+        Progress last = null;
+        for (ProgressEntry entry : nextSync(loopCursor)) {
+            last = progressService.updateProgress(loopUser, entry);
+        }
+        loopCursor = loopCursor.plusDays(DAYS_PER_SYNC);
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS_PER_SYNC)
+    public List<Progress> batch() {
+        List<Progress> saved = progressService.saveBatch(batchUser, nextSync(batchCursor));
+        batchCursor = batchCursor.plusDays(DAYS_PER_SYNC);
+        return saved;
+    }
+
+    private static List<ProgressEntry> nextSync(LocalDate from) {
+        List<ProgressEntry> entries = new ArrayList<>(DAYS_PER_SYNC);
+        for (int i = 0; i < DAYS_PER_SYNC; i++) {
+            entries.add(new ProgressEntry(from.plusDays(i), 2000, 450, i % 2 == 0, 8, 3, null));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,84 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.config.JwtAuthenticationFilter;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating with the bearer token filter (a verified-token cache hit,
+ * then setting the security context), of verifying a token's signature and claims from scratch
+ * (a token's first request), and of the user lookup by id that authenticating against the
+ * database would add to every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> {};
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String token;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start("app.cohorts.reconcile-interval-ms=0");
+        userRepository = context.getBean(UserRepository.class);
+        jwtService = context.getBean(JwtService.class);
+        filter = new JwtAuthenticationFilter(jwtService);
+
+        User user = EmbeddedApp.createUser(context, "jwt@bench.local");
+        userId = user.getId();
+        token = jwtService.issue(userId, user.getEmail());
+        request = new MockHttpServletRequest("GET", "/api/dashboard/" + userId);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object filterRequest() throws ServletException, IOException {
+        // OncePerRequestFilter marks the request as filtered; a new request would start unmarked
+        request.clearAttributes();
+        filter.doFilter(request, response, NO_OP);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    @Benchmark
+    public Object verifyToken() {
+        return jwtService.verifyUncached(token);
+    }
+
+    @Benchmark
+    public Optional<User> userLookup() {
+        return userRepository.findById(userId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.controller.MealController;
+import com.fitnessapp.service.MealPlanService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meal plans served from the per-band plan cache (with and without the controller, user and
+ * latest BMI lookups around it), versus solving the same plan from the meal catalog each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MealPlanBenchmark {
+
+    @Param({"VEGAN", "NON_VEG"})
+    private String preference;
+
+    private ConfigurableApplicationContext context;
+    private MealController controller;
+    private MealPlanService planService;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start("app.cohorts.reconcile-interval-ms=0");
+        controller = context.getBean(MealController.class);
+        planService = context.getBean(MealPlanService.class);
+        userId = EmbeddedApp.createUser(context, "meals-" + preference + "@bench.local").getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object cachedPlanRequest() {
+        return controller.getMealPlan(userId, preference);
+    }
+
+    @Benchmark
+    public Object cachedPlan() {
+        return planService.plan(preference, "BUILD_MUSCLE", 2600);
+    }
+
+    @Benchmark
+    public Object solvePlan() {
+        return planService.solve(preference, "BUILD_MUSCLE", 2600);
+    }
+}
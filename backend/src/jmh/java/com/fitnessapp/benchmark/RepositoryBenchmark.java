@@ -0,0 +1,127 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.dto.BMIView;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.BMI;
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.entity.UserProgressRollup;
+import com.fitnessapp.repository.BMIRepository;
+import com.fitnessapp.repository.ProgressRepository;
+import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.service.ProgressRollupService;
+import com.fitnessapp.service.ProgressService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository and service round trips against embedded H2 for a user with two years of daily
+ * progress and a year of BMI readings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private static final int HISTORY_DAYS = 730;
+    private static final int PAGE_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+    private ProgressRepository progressRepository;
+    private BMIRepository bmiRepository;
+    private ProgressService progressService;
+    private ProgressRollupService rollupService;
+
+    private User user;
+    private LocalDate newest;
+    private ProgressView deepCursor;
+    private int toggle;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start();
+        progressRepository = context.getBean(ProgressRepository.class);
+        bmiRepository = context.getBean(BMIRepository.class);
+        progressService = context.getBean(ProgressService.class);
+        rollupService = context.getBean(ProgressRollupService.class);
+
+        user = EmbeddedApp.createUser(context, "repository@bench.local");
+        newest = LocalDate.of(2024, 12, 31);
+        List<ProgressEntry> entries = new ArrayList<>(HISTORY_DAYS);
+        for (int i = 0; i < HISTORY_DAYS; i++) {
+            entries.add(new ProgressEntry(newest.minusDays(i), 1800 + i % 400, 300 + i % 200, i % 3 != 0, 8, 3, 72.5));
+        }
+        progressService.saveBatch(user, entries);
+
+        List<BMI> bmis = new ArrayList<>();
+        for (int i = 0; i < 365; i++) {
+            bmis.add(new BMI(user, 72.5 + (i % 10) * 0.1, 176.0));
+        }
+        bmiRepository.saveAll(bmis);
+
+        // Cursor roughly 600 days deep, to compare against the first page
+        List<ProgressView> page = progressRepository.findProgressViewsByUserIdAndDateRange(
+            user.getId(), newest.minusDays(600), newest.minusDays(600));
+        deepCursor = page.get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProgressView> progressFirstPage() {
+        return progressRepository.findPageByUserId(user.getId(), PageRequest.of(0, PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public List<ProgressView> progressDeepPage() {
+        return progressRepository.findPageByUserIdAfter(user.getId(), deepCursor.date(), PageRequest.of(0, PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public Optional<ProgressView> todayProgress() {
+        return progressRepository.findViewByUserIdAndDate(user.getId(), newest);
+    }
+
+    @Benchmark
+    public List<BMIView> bmiFirstPage() {
+        return bmiRepository.findPageByUserId(user.getId(), PageRequest.of(0, PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public Optional<BMIView> latestBmi() {
+        return bmiRepository.findLatestViewByUserId(user.getId());
+    }
+
+    @Benchmark
+    public UserProgressRollup statsRollupRead() {
+        return rollupService.getRollup(user.getId());
+    }
+
+    @Benchmark
+    public Progress updateProgressUpsert() {
+        ProgressEntry entry = new ProgressEntry(newest, null, null, null, ++toggle % 12, null, null);
+        return progressService.updateProgress(user, entry);
+    }
+
+    /**
+     * Loads the user the way controllers did before the user cache.
+     */
+    @Benchmark
+    public Optional<User> userLookup() {
+        return context.getBean(UserRepository.class).findById(user.getId());
+    }
+}
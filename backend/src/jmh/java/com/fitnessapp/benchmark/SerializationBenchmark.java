@@ -0,0 +1,83 @@
+package com.fitnessapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessapp.dto.BMIView;
+import com.fitnessapp.dto.ProgressView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the HashMap response envelopes the controllers return.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> progressEnvelope;
+    private Map<String, Object> bmiEnvelope;
+    private Map<String, Object> statsEnvelope;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 8, 30);
+        List<ProgressView> progress = new ArrayList<>(rows);
+        List<BMIView> bmis = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            progress.add(new ProgressView((long) i, LocalDate.of(2024, 6, 1).minusDays(i), 2000, 450, i % 2 == 0,
+                                          8, 3, 72.5, now.minusDays(i), now.minusDays(i)));
+            bmis.add(new BMIView((long) i, 72.5, 176.0, 23.4, "NORMAL", 57.3, 77.1, now.minusDays(i)));
+        }
+
+        progressEnvelope = new HashMap<>();
+        progressEnvelope.put("success", true);
+        progressEnvelope.put("progress", progress);
+        progressEnvelope.put("nextCursor", "MjAyNC0wNi0wMXw1MA");
+
+        bmiEnvelope = new HashMap<>();
+        bmiEnvelope.put("success", true);
+        bmiEnvelope.put("bmiHistory", bmis);
+        bmiEnvelope.put("nextCursor", null);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalCompletedWorkouts", 120L);
+        stats.put("avgCaloriesConsumed", 2010L);
+        stats.put("avgCaloriesBurned", 430L);
+        stats.put("workoutStreakLast30Days", 18L);
+        statsEnvelope = new HashMap<>();
+        statsEnvelope.put("success", true);
+        statsEnvelope.put("stats", stats);
+    }
+
+    @Benchmark
+    public byte[] progressHistory() throws Exception {
+        return objectMapper.writeValueAsBytes(progressEnvelope);
+    }
+
+    @Benchmark
+    public byte[] bmiHistory() throws Exception {
+        return objectMapper.writeValueAsBytes(bmiEnvelope);
+    }
+
+    @Benchmark
+    public byte[] stats() throws Exception {
+        return objectMapper.writeValueAsBytes(statsEnvelope);
+    }
+}
@@ -0,0 +1,77 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.entity.UserProgressRollup;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stream-based averaging getUserStats used to run over the last 30 progress records on every
+ * call, versus reading the same figures from a maintained rollup row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatsBenchmark {
+
+    private List<Progress> last30Days;
+    private UserProgressRollup rollup;
+
+    @Setup
+    public void setUp() {
+        last30Days = new ArrayList<>();
+        LocalDate day = LocalDate.of(2024, 1, 30);
+        long consumed = 0, burned = 0;
+        int completed = 0;
+        for (int i = 0; i < 30; i++) {
+            Progress progress = new Progress(null, day.minusDays(i));
+            progress.setCaloriesConsumed(1800 + i * 7);
+            progress.setCaloriesBurned(300 + i * 3);
+            progress.setWorkoutCompleted(i % 3 != 0);
+            last30Days.add(progress);
+            consumed += progress.getCaloriesConsumed();
+            burned += progress.getCaloriesBurned();
+            completed += progress.getWorkoutCompleted() ? 1 : 0;
+        }
+
+        rollup = new UserProgressRollup(1L);
+        rollup.setWindowEntries(30);
+        rollup.setWindowCaloriesConsumedSum(consumed);
+        rollup.setWindowCaloriesConsumedCount(30);
+        rollup.setWindowCaloriesBurnedSum(burned);
+        rollup.setWindowCaloriesBurnedCount(30);
+        rollup.setWindowCompletedWorkouts(completed);
+    }
+
+    @Benchmark
+    public void streamAverages(Blackhole bh) {
+        bh.consume(last30Days.stream()
+            .filter(p -> p.getCaloriesConsumed() != null)
+            .mapToInt(Progress::getCaloriesConsumed)
+            .average()
+            .orElse(0.0));
+        bh.consume(last30Days.stream()
+            .filter(p -> p.getCaloriesBurned() != null)
+            .mapToInt(Progress::getCaloriesBurned)
+            .average()
+            .orElse(0.0));
+        bh.consume(last30Days.stream()
+            .filter(p -> p.getWorkoutCompleted() != null && p.getWorkoutCompleted())
+            .count());
+    }
+
+    @Benchmark
+    public void rollupAverages(Blackhole bh) {
+        bh.consume(rollup.getAvgCaloriesConsumed());
+        bh.consume(rollup.getAvgCaloriesBurned());
+        bh.consume(rollup.getWindowCompletedWorkouts());
+    }
+}
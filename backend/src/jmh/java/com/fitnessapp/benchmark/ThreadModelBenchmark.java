@@ -0,0 +1,140 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.EmbeddedMariaDb;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.entity.BMI;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.BMIRepository;
+import com.fitnessapp.service.JwtService;
+import com.fitnessapp.service.ProgressService;
+import com.fitnessapp.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load comparison of request handling on Tomcat's platform thread pool (200 threads) and on
+ * virtual threads behind {@code DatabaseConcurrencyFilter}, at several permit counts. 256 client
+ * threads keep requests in flight against the HTTP server on MariaDB, so every request does its
+ * blocking JDBC I/O over a socket. The mix spreads over the user, BMI and progress controllers:
+ * profile, latest BMI, today's progress, stats, and one in five a progress update.
+ * <p>
+ * Throughput mode gives requests per millisecond; sample mode gives the latency percentiles
+ * (p0.99). Requests answered with anything but 200 (a 503 from the permit timeout, a 500 from
+ * the Hikari connection timeout) or not answered within 30 seconds are counted in the
+ * {@code failed} rate next to {@code ok}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(ThreadModelBenchmark.CLIENTS)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    static final int CLIENTS = 256;
+
+    private static final int USERS = 200;
+    private static final int DAYS = 60;
+    // Long enough for any request that is being served; one that is not is counted as failed
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    // "platform", or "virtual-<app.db.max-concurrent-requests>"
+    @Param({"platform", "virtual-20", "virtual-40", "virtual-80"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        context = threads.equals("platform")
+            ? EmbeddedApp.startServer("app.cohorts.reconcile-interval-ms=0", "spring.threads.virtual.enabled=false")
+            : EmbeddedApp.startServer("app.cohorts.reconcile-interval-ms=0", "spring.threads.virtual.enabled=true",
+                                      "app.db.max-concurrent-requests=" + threads.substring("virtual-".length()));
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        UserService userService = context.getBean(UserService.class);
+        ProgressService progressService = context.getBean(ProgressService.class);
+        BMIRepository bmiRepository = context.getBean(BMIRepository.class);
+        JwtService jwtService = context.getBean(JwtService.class);
+        LocalDate today = LocalDate.now();
+        for (int u = 0; u < USERS; u++) {
+            User user = new User("load" + u + "@bench.local", "Benchmark User", 30, "OTHER", 72.5, 176.0,
+                                 "STAY_FIT", "GYM", "VEG");
+            user.setPassword("benchmark-password");
+            user = userService.register(user);
+            for (int i = 0; i < 5; i++) {
+                bmiRepository.save(new BMI(user, 70.0 + i, 176.0));
+            }
+            List<ProgressEntry> entries = new ArrayList<>();
+            for (int i = 0; i < DAYS; i++) {
+                entries.add(new ProgressEntry(today.minusDays(i), 2000 + i, 400 + i, i % 3 != 0, 8, 3, 72.0));
+            }
+            progressService.saveBatch(user, entries);
+            userIds.add(user.getId());
+            tokens.add(jwtService.issue(user.getId(), user.getEmail()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        EmbeddedMariaDb.stop();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long ok;
+        public long failed;
+    }
+
+    @Benchmark
+    public int mixedRequests(Outcomes outcomes) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int user = random.nextInt(USERS);
+        Long userId = userIds.get(user);
+        HttpRequest.Builder request = switch (random.nextInt(5)) {
+            case 0 -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/" + userId));
+            case 1 -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/bmi/latest/" + userId));
+            case 2 -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/progress/user/" + userId + "/today"));
+            case 3 -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/progress/user/" + userId + "/stats"));
+            default -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/progress/update/" + userId + "?date="
+                    + LocalDate.now().minusDays(random.nextInt(7)) + "&waterIntake=" + random.nextInt(12)))
+                .POST(HttpRequest.BodyPublishers.noBody());
+        };
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.header("Authorization", "Bearer " + tokens.get(user))
+                                       .timeout(REQUEST_TIMEOUT).build(),
+                                   HttpResponse.BodyHandlers.ofString());
+        } catch (HttpTimeoutException e) {
+            outcomes.failed++;
+            return 0;
+        }
+        if (response.statusCode() == 200) {
+            outcomes.ok++;
+        } else {
+            outcomes.failed++;
+        }
+        return response.body().length();
+    }
+}
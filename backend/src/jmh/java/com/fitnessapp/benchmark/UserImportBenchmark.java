@@ -0,0 +1,75 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.controller.UserController;
+import com.fitnessapp.dto.UserImportReport;
+import com.fitnessapp.entity.FocusArea;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.service.UserImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users per second for onboarding a client roster: registering each user through the register
+ * endpoint versus one streamed CSV import. Every invocation uses fresh emails.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserImportBenchmark {
+
+    private static final int USERS_PER_ROSTER = 1000;
+
+    private ConfigurableApplicationContext context;
+    private UserController controller;
+    private UserImportService importService;
+    private int roster;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start("app.cohorts.reconcile-interval-ms=0");
+        controller = context.getBean(UserController.class);
+        importService = context.getBean(UserImportService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_ROSTER)
+    public Object registerEach() {
+        int current = roster++;
+        Object last = null;
+        for (int i = 0; i < USERS_PER_ROSTER; i++) {
+            User user = new User("r" + current + "-" + i + "@bench.local", "Benchmark User", 30, "OTHER",
+                                 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+            user.setFocusAreas(List.of(FocusArea.ABS, FocusArea.LEGS));
+            user.setPassword("benchmark-password");
+            last = controller.registerUser(user);
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_ROSTER)
+    public UserImportReport importCsv() throws IOException {
+        int current = roster++;
+        StringBuilder csv = new StringBuilder(String.join(",", UserImportService.CSV_COLUMNS)).append('\n');
+        for (int i = 0; i < USERS_PER_ROSTER; i++) {
+            csv.append("i").append(current).append('-').append(i)
+               .append("@bench.local,Benchmark User,30,OTHER,72.5,176.0,STAY_FIT,GYM,VEG,ABS;LEGS\n");
+        }
+        byte[] body = csv.toString().getBytes(StandardCharsets.UTF_8);
+        return importService.importUsers(new ByteArrayInputStream(body), UserImportService.Format.CSV);
+    }
+}
@@ -0,0 +1,64 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.controller.WorkoutController;
+import com.fitnessapp.entity.FocusArea;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.service.WorkoutPlanService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workout plans served from the per-signature plan cache (with and without the controller and
+ * user lookup around it), versus generating the same plan from the exercise catalog each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkoutPlanBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private WorkoutController controller;
+    private WorkoutPlanService planService;
+    private WorkoutPlanService.Signature signature;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start("app.cohorts.reconcile-interval-ms=0");
+        controller = context.getBean(WorkoutController.class);
+        planService = context.getBean(WorkoutPlanService.class);
+
+        User user = EmbeddedApp.createUser(context, "workouts@bench.local");
+        user.setFocusAreas(List.of(FocusArea.LEGS, FocusArea.ABS));
+        userId = context.getBean(UserRepository.class).save(user).getId();
+        signature = new WorkoutPlanService.Signature("STAY_FIT", "GYM", Set.of(FocusArea.LEGS, FocusArea.ABS));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object cachedPlanRequest() {
+        return controller.getWorkoutPlan(userId, null);
+    }
+
+    @Benchmark
+    public Object cachedPlan() {
+        return planService.plan(signature);
+    }
+
+    @Benchmark
+    public Object generatePlan() {
+        return planService.generate(signature);
+    }
+}
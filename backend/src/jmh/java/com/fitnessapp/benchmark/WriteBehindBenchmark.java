@@ -0,0 +1,87 @@
+package com.fitnessapp.benchmark;
+
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.service.ProgressService;
+import com.fitnessapp.service.ProgressWriteBuffer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of single-day updates for one user (water and meals ticked off one at a time)
+ * followed by a flush, with and without write-behind. Besides latency, reports the JDBC
+ * statements and transactions issued per iteration; divide by {@code bursts} for the cost of
+ * one burst.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriteBehindBenchmark {
+
+    private static final int UPDATES_PER_BURST = 20;
+
+    @Param({"false", "true"})
+    public boolean writeBehind;
+
+    private ConfigurableApplicationContext context;
+    private ProgressService progressService;
+    private ProgressWriteBuffer writeBuffer;
+    private Statistics statistics;
+    private User user;
+    private LocalDate day;
+
+    @Setup
+    public void setUp() {
+        // Flushes are driven by the benchmark itself, not the scheduler
+        context = EmbeddedApp.start("app.progress.write-behind.enabled=" + writeBehind,
+                                    "app.progress.write-behind.flush-interval-ms=3600000");
+        progressService = context.getBean(ProgressService.class);
+        writeBuffer = context.getBean(ProgressWriteBuffer.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        user = EmbeddedApp.createUser(context, "burst@bench.local");
+        day = LocalDate.of(2000, 1, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class DatabaseWork {
+        public long statements;
+        public long transactions;
+        public long bursts;
+    }
+
+    @Benchmark
+    public void burst(DatabaseWork work) {
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long transactionsBefore = statistics.getTransactionCount();
+
+        for (int i = 1; i <= UPDATES_PER_BURST; i++) {
+            ProgressEntry entry = new ProgressEntry(day, null, null, null, i, i / 4, null);
+            if (writeBehind) {
+                writeBuffer.buffer(user.getId(), entry);
+            } else {
+                progressService.updateProgress(user, entry);
+            }
+        }
+        writeBuffer.flushAll();
+        day = day.plusDays(1);
+
+        work.statements += statistics.getPrepareStatementCount() - statementsBefore;
+        work.transactions += statistics.getTransactionCount() - transactionsBefore;
+        work.bursts++;
+    }
+}
@@ -2,9 +2,11 @@ package com.fitnessapp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
-@SpringBootApplication
+// Users authenticate with access tokens from registration or login (see SecurityConfig), never a generated password
+@SpringBootApplication(exclude = UserDetailsServiceAutoConfiguration.class)
 @CrossOrigin(origins = "http://localhost:3000")
 public class FitnessAppApplication {
 
@@ -0,0 +1,132 @@
+package com.fitnessapp.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Adapts databases whose schema was created by Hibernate's ddl-auto (builds from before the
+ * Flyway migrations) just before V2 runs on them. Flyway baselines such databases at V1, but
+ * ddl-auto named their constraints itself ({@code UK_...}, {@code FK...}) where V1 uses fixed
+ * names that later migrations refer to, and may already have created some of the objects V2
+ * creates. The callback only runs ahead of a migration, so databases that have applied it are
+ * never touched, and the migrations' checksums stay unchanged.
+ * <p>
+ * Databases that got past V2 before this callback existed still carry the generated name of the
+ * email unique index, which V8 drops by its V1 name; it is looked up and renamed again just
+ * before V8.
+ */
+@Component
+public class LegacySchemaCallback implements Callback {
+
+    private static final MigrationVersion V2 = MigrationVersion.fromVersion("2");
+    private static final MigrationVersion V8 = MigrationVersion.fromVersion("8");
+
+    // Foreign keys to users(id) by table, with their V1 names
+    private static final Map<String, String> USER_FOREIGN_KEYS = Map.of(
+        "user_focus_areas", "fk_user_focus_areas_user",
+        "bmi_records", "fk_bmi_records_user",
+        "progress_records", "fk_progress_records_user");
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE
+            && context.getMigrationInfo() != null
+            && (V2.equals(context.getMigrationInfo().getVersion()) || V8.equals(context.getMigrationInfo().getVersion()));
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        Connection connection = context.getConnection();
+        try {
+            renameEmailIndex(connection);
+            if (V8.equals(context.getMigrationInfo().getVersion())) {
+                return;
+            }
+
+            for (Map.Entry<String, String> foreignKey : USER_FOREIGN_KEYS.entrySet()) {
+                renameUserForeignKey(connection, foreignKey.getKey(), foreignKey.getValue());
+            }
+
+            // ddl-auto created the id sequence table starting at 1, below the existing ids; V2
+            // recreates it seeded past them
+            execute(connection, "DROP TABLE IF EXISTS progress_records_seq");
+            // Holds only derived data, and columns added by later builds may be missing; V2 recreates it
+            execute(connection, "DROP TABLE IF EXISTS user_progress_rollup");
+            // V2 adds it back once duplicate days are removed
+            if (query(connection, "SELECT index_name FROM information_schema.statistics WHERE table_schema = DATABASE() "
+                    + "AND table_name = 'progress_records' AND index_name = 'uk_progress_user_date'") != null) {
+                // The user foreign key may be using it as its index, having dropped its own when it was added
+                if (query(connection, "SELECT index_name FROM information_schema.statistics WHERE table_schema = DATABASE() "
+                        + "AND table_name = 'progress_records' AND index_name = 'fk_progress_records_user'") == null) {
+                    execute(connection, "CREATE INDEX fk_progress_records_user ON progress_records (user_id)");
+                }
+                execute(connection, "ALTER TABLE progress_records DROP INDEX uk_progress_user_date");
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not prepare a ddl-auto schema for " + context.getMigrationInfo().getVersion(), e);
+        }
+    }
+
+    // Renames the single-column unique index on users.email to its V1 name
+    private static void renameEmailIndex(Connection connection) throws SQLException {
+        String emailIndex = query(connection,
+            "SELECT index_name FROM information_schema.statistics WHERE table_schema = DATABASE() "
+                + "AND table_name = 'users' AND column_name = 'email' AND non_unique = 0 "
+                + "AND index_name <> 'uk_users_email' AND index_name NOT IN ("
+                + "SELECT index_name FROM information_schema.statistics WHERE table_schema = DATABASE() "
+                + "AND table_name = 'users' AND seq_in_index > 1)");
+        if (emailIndex != null) {
+            execute(connection, "ALTER TABLE users RENAME INDEX `" + emailIndex + "` TO uk_users_email");
+        }
+    }
+
+    // Recreates a foreign key on table.user_id under its V1 name; its index is renamed to match
+    private static void renameUserForeignKey(Connection connection, String table, String name) throws SQLException {
+        String legacyName = query(connection,
+            "SELECT constraint_name FROM information_schema.key_column_usage WHERE table_schema = DATABASE() "
+                + "AND table_name = '" + table + "' AND column_name = 'user_id' AND referenced_table_name = 'users' "
+                + "AND constraint_name <> '" + name + "'");
+        if (legacyName == null) {
+            return;
+        }
+        execute(connection, "ALTER TABLE " + table + " DROP FOREIGN KEY `" + legacyName + "`");
+        if (query(connection, "SELECT index_name FROM information_schema.statistics WHERE table_schema = DATABASE() "
+                + "AND table_name = '" + table + "' AND index_name = '" + legacyName + "'") != null) {
+            execute(connection, "ALTER TABLE " + table + " RENAME INDEX `" + legacyName + "` TO " + name);
+        }
+        execute(connection, "ALTER TABLE " + table + " ADD CONSTRAINT " + name
+            + " FOREIGN KEY (user_id) REFERENCES users (id)");
+    }
+
+    private static String query(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            return rows.next() ? rows.getString(1) : null;
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "legacy-schema";
+    }
+}
@@ -0,0 +1,52 @@
+package com.fitnessapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so every JDBC execution passes through
+ * {@link SqlExecutionListener}, and counts those executions per API request. Endpoint latency,
+ * Hibernate statistics and HikariCP pool metrics come from Spring Boot's Actuator
+ * auto-configuration (see the management.* properties).
+ */
+@Configuration
+public class ObservabilityConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+    public ObservabilityConfig(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlExecutionProxy(@Value("${app.sql.slow-query.threshold-ms:200}") long thresholdMillis,
+                                                      @Value("${app.sql.slow-query.sample-rate:1.0}") double sampleRate) {
+        SqlExecutionListener listener = new SqlExecutionListener(thresholdMillis, sampleRate);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    // unwrap() still reaches the pool, so Hikari metrics keep working
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new QueryCountInterceptor(registry)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,21 @@
+package com.fitnessapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Hashes user passwords with BCrypt. Each strength step doubles the cost of a hash (10 takes
+ * tens of milliseconds); it is outside {@link SecurityConfig} so registration also works in
+ * contexts without the web security chain, such as the benchmarks.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+}
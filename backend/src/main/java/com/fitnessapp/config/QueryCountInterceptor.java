@@ -0,0 +1,41 @@
+package com.fitnessapp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the number of JDBC executions each API request made, as the
+ * {@code http.server.requests.queries} distribution tagged with the same {@code method} and
+ * {@code uri} template as {@code http.server.requests}.
+ */
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry registry;
+
+    public QueryCountInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlExecutionListener.resetExecutionCount();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.queries")
+            .description("JDBC executions per request")
+            .baseUnit("queries")
+            .tag("method", request.getMethod())
+            .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(SqlExecutionListener.executionCount());
+    }
+}
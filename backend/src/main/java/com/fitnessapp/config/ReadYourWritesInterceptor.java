@@ -0,0 +1,71 @@
+package com.fitnessapp.config;
+
+import com.fitnessapp.service.RecentWriteTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Pins a request to the primary database when it writes, or when it reads data of a user
+ * (the {@code userId} path variable, or {@code id} under /api/users) who wrote within the
+ * read-your-writes window. Successful writes are recorded against that user.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String WRITE_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".write";
+
+    private final RecentWriteTracker recentWrites;
+
+    public ReadYourWritesInterceptor(RecentWriteTracker recentWrites) {
+        this.recentWrites = recentWrites;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+        request.setAttribute(WRITE_ATTRIBUTE, write);
+        Long userId = userIdOf(request);
+        if (write || (userId != null && recentWrites.wroteRecently(userId))) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The rest of an async request (e.g. a streaming export) runs on another thread
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.unpin();
+        if (Boolean.TRUE.equals(request.getAttribute(WRITE_ATTRIBUTE)) && response.getStatus() < 400) {
+            Long userId = userIdOf(request);
+            if (userId != null) {
+                recentWrites.recordWrite(userId);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long userIdOf(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null) {
+            return null;
+        }
+        String value = variables.get("userId");
+        if (value == null && request.getRequestURI().startsWith("/api/users/")) {
+            value = variables.get("id");
+        }
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.fitnessapp.config;
+
+import com.fitnessapp.service.RecentWriteTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Read replica (opt-in): when {@code app.datasource.replica.url} is set, the application
+ * DataSource becomes a {@link ReplicaRoutingDataSource} over two Hikari pools. The primary pool
+ * is configured by {@code spring.datasource.*}; the replica pool takes its own URL and
+ * credentials and inherits {@code spring.datasource.hikari.*}, which
+ * {@code app.datasource.replica.hikari.*} can override.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaDataSourceConfig implements WebMvcConfigurer {
+
+    private final RecentWriteTracker recentWrites;
+
+    public ReplicaDataSourceConfig(RecentWriteTracker recentWrites) {
+        this.recentWrites = recentWrites;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties,
+                                               Environment environment,
+                                               MeterRegistry registry,
+                                               @Value("${app.datasource.replica.url}") String replicaUrl,
+                                               @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                               @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+            .url(replicaUrl)
+            .username(replicaUsername)
+            .password(replicaPassword)
+            .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        binder.bind("app.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        // Actuator only finds the pool the routing DataSource unwraps to (the primary)
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        return new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new ReadYourWritesInterceptor(recentWrites)).addPathPatterns("/api/**");
+    }
+}
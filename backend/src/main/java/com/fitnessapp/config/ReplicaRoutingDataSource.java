@@ -0,0 +1,81 @@
+package com.fitnessapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to
+ * everything else (writes, and work outside a transaction such as Flyway and schema
+ * validation). The routing target sits behind a lazy-connection proxy because the transaction
+ * manager asks for a connection before the read-only flag is bound to the thread; the
+ * physical connection is only fetched at the first statement. A thread can be pinned to the
+ * primary for read-your-writes, see {@link ReadYourWritesInterceptor}.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return useReplica() ? REPLICA : PRIMARY;
+            }
+        };
+        router.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Wraps a task handed to another thread so it runs with the calling thread's primary pin.
+     */
+    public static <T> Callable<T> withCurrentPin(Callable<T> task) {
+        if (PINNED_TO_PRIMARY.get() == null) {
+            return task;
+        }
+        return () -> {
+            pinToPrimary();
+            try {
+                return task.call();
+            } finally {
+                unpin();
+            }
+        };
+    }
+
+    private static boolean useReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PINNED_TO_PRIMARY.get() == null;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,75 @@
+package com.fitnessapp.config;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Representations the profile and history endpoints can answer in, chosen from the request's
+ * Accept header. Smile and CBOR carry the same fields as JSON in binary form; Smile also writes
+ * each repeated field name once and refers back to it afterwards. A binary format is only chosen
+ * when the client names it, so browsers and wildcard clients keep getting JSON.
+ */
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON, null),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile"),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor");
+
+    private final MediaType mediaType;
+    private final String etagSuffix;
+
+    ResponseFormat(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Distinguishes the ETag of this representation from the JSON one, e.g. {@code progress-7-3.cbor}.
+     */
+    public String tag(String opaqueTag) {
+        return etagSuffix == null ? opaqueTag : opaqueTag + "." + etagSuffix;
+    }
+
+    /**
+     * The acceptable format with the highest quality value; on a tie, the one listed first.
+     * Missing, malformed or unsupported Accept headers get JSON.
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+
+        ResponseFormat best = JSON;
+        double bestQuality = 0;
+        for (MediaType accepted : acceptedTypes) {
+            double quality = accepted.getQualityValue();
+            if (quality <= bestQuality) {
+                continue;
+            }
+            for (ResponseFormat format : values()) {
+                // Wildcards such as */* or application/* only ever select JSON
+                boolean matches = format == JSON
+                    ? accepted.includes(format.mediaType)
+                    : accepted.equalsTypeAndSubtype(format.mediaType);
+                if (matches) {
+                    best = format;
+                    bestQuality = quality;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,98 @@
+package com.fitnessapp.config;
+
+import com.fitnessapp.dto.AuthenticatedUser;
+import com.fitnessapp.service.JwtService;
+import com.fitnessapp.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+
+import java.io.IOException;
+
+/**
+ * Stateless bearer-token security for the API. Requests are authenticated by
+ * {@link JwtAuthenticationFilter} and authorized from the token's claims alone: per-user
+ * endpoints require the user id or email in the path to be the caller's own. Registration, login
+ * and the quick BMI calculators are public; so are the health and info endpoints. Bulk import,
+ * cache stats, password resets, role changes and the metrics endpoints are for admins. The admin
+ * role is stored on the user's row, never taken from the token, and is read from the primary on
+ * each admin request, so revoking it or deleting the user takes effect at once. No session is
+ * created and no CSRF token is needed, since browsers do not attach the bearer token on their
+ * own.
+ */
+@Configuration
+@EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SecurityConfig {
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtService jwtService,
+                                                   UserService userService) throws Exception {
+        http
+            .cors(Customizer.withDefaults())
+            .csrf(AbstractHttpConfigurer::disable)
+            .httpBasic(AbstractHttpConfigurer::disable)
+            .formLogin(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable)
+            .requestCache(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService), AnonymousAuthenticationFilter.class)
+            .exceptionHandling(errors -> errors
+                .authenticationEntryPoint((request, response, e) ->
+                    writeError(response, HttpStatus.UNAUTHORIZED, "Missing or invalid access token"))
+                .accessDeniedHandler((request, response, e) ->
+                    writeError(response, HttpStatus.FORBIDDEN, "Access to this resource is not allowed")))
+            .authorizeHttpRequests(requests -> requests
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/users/register", "/api/auth/login", "/api/bmi/quick-calculate",
+                                 "/api/bmi/quick-calculate/batch").permitAll()
+                .requestMatchers("/actuator/health/**", "/actuator/info", "/error").permitAll()
+                .requestMatchers("/api/users/import", "/api/users/cache/stats", "/api/users/{userId}/admin",
+                                 "/api/auth/password/{userId}", "/actuator/**").access(admin(userService))
+                .requestMatchers("/api/users/email/{email}").access(ownEmail())
+                .requestMatchers("/api/users/{userId}", "/api/bmi/*/{userId}", "/api/progress/*/{userId}",
+                                 "/api/progress/*/{userId}/*", "/api/dashboard/{userId}", "/api/export/{userId}",
+                                 "/api/workouts/plan/{userId}", "/api/meals/plan/{userId}").access(ownUserId())
+                .anyRequest().authenticated());
+        return http.build();
+    }
+
+    private static AuthorizationManager<RequestAuthorizationContext> admin(UserService userService) {
+        return (authentication, context) -> new AuthorizationDecision(
+            authentication.get().getPrincipal() instanceof AuthenticatedUser user && userService.isAdmin(user.id()));
+    }
+
+    private static AuthorizationManager<RequestAuthorizationContext> ownUserId() {
+        return (authentication, context) -> new AuthorizationDecision(
+            authentication.get().getPrincipal() instanceof AuthenticatedUser user
+                && user.id().toString().equals(context.getVariables().get("userId")));
+    }
+
+    // Emails are unique regardless of case
+    private static AuthorizationManager<RequestAuthorizationContext> ownEmail() {
+        return (authentication, context) -> new AuthorizationDecision(
+            authentication.get().getPrincipal() instanceof AuthenticatedUser user
+                && user.email() != null && user.email().equalsIgnoreCase(context.getVariables().get("email")));
+    }
+
+    // Same envelope as the controllers' error responses
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"" + message + "\"}");
+    }
+}
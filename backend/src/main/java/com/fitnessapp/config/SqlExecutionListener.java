@@ -0,0 +1,97 @@
+package com.fitnessapp.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Observes every JDBC execution. Counts executions per request for {@link QueryCountInterceptor}
+ * (on the request thread and in tasks it hands off through {@link #withCurrentCount}), and logs
+ * a sample of executions slower than the threshold under a fingerprint of the normalized SQL,
+ * so repeats of the same query shape group together in the log regardless of their literal
+ * values.
+ */
+public class SqlExecutionListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("com.fitnessapp.sql.slow");
+
+    private static final ThreadLocal<AtomicInteger> EXECUTIONS = ThreadLocal.withInitial(AtomicInteger::new);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    public SqlExecutionListener(long thresholdMillis, double sampleRate) {
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+    }
+
+    // A new counter rather than zeroing the old one, which tasks of an earlier request may still be counting on
+    public static void resetExecutionCount() {
+        EXECUTIONS.set(new AtomicInteger());
+    }
+
+    public static int executionCount() {
+        return EXECUTIONS.get().get();
+    }
+
+    /**
+     * Wraps a task handed to another thread so its executions count towards the calling thread's.
+     */
+    public static <T> Callable<T> withCurrentCount(Callable<T> task) {
+        AtomicInteger executions = EXECUTIONS.get();
+        return () -> {
+            AtomicInteger previous = EXECUTIONS.get();
+            EXECUTIONS.set(executions);
+            try {
+                return task.call();
+            } finally {
+                EXECUTIONS.set(previous);
+            }
+        };
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        EXECUTIONS.get().incrementAndGet();
+
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMillis || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            String normalized = normalize(query.getQuery());
+            log.warn("Slow query fingerprint={} took={}ms batch={} success={} sql={}",
+                     fingerprint(normalized), elapsed, execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                     execInfo.isSuccess(), normalized);
+        }
+    }
+
+    // Replaces literals with '?', collapses IN lists and whitespace, and lower-cases the statement
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+    }
+
+    static String fingerprint(String normalizedSql) {
+        return String.format("%08x", normalizedSql.hashCode());
+    }
+}
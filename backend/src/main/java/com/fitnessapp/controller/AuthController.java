@@ -0,0 +1,138 @@
+package com.fitnessapp.controller;
+
+import com.fitnessapp.dto.AuthenticatedUser;
+import com.fitnessapp.dto.LoginRequest;
+import com.fitnessapp.dto.PasswordChange;
+import com.fitnessapp.dto.UserView;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.service.JwtService;
+import com.fitnessapp.service.UserCache;
+import com.fitnessapp.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AuthController {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Issues an access token for an email (in any case) and password. Unknown emails, wrong
+     * passwords and accounts without a password get the same 401.
+     */
+    @PostMapping("/login")
+    public ResponseEntity<Map<String, Object>> login(@RequestBody LoginRequest credentials) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            Optional<User> user = userService.authenticate(credentials.email(), credentials.password());
+            if (user.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Invalid email or password");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
+            
+            response.put("success", true);
+            response.put("user", UserView.from(user.get()));
+            response.put("token", jwtService.issue(user.get().getId(), user.get().getEmail()));
+            response.put("expiresIn", jwtService.getExpirationMillis());
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error signing in: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Sets the caller's password; the current one is required if they already have one. Accounts
+     * created before passwords existed use this (while their token is valid) to enable login.
+     */
+    @PutMapping("/password")
+    public ResponseEntity<Map<String, Object>> changePassword(@AuthenticationPrincipal AuthenticatedUser user,
+                                                              @RequestBody PasswordChange change) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            return passwordResponse(response,
+                userService.changePassword(user.id(), change.currentPassword(), change.newPassword()));
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error changing password: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Sets any user's password without the current one. Admins only (see SecurityConfig).
+     */
+    @PutMapping("/password/{userId}")
+    public ResponseEntity<Map<String, Object>> resetPassword(@PathVariable Long userId,
+                                                             @RequestBody PasswordChange change) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            return passwordResponse(response, userService.resetPassword(userId, change.newPassword()));
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error resetting password: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Exchanges a valid access token for a new one with a fresh expiry. Unlike ordinary
+     * requests this checks that the user still exists, so a deleted user's tokens run out.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refreshToken(@AuthenticationPrincipal AuthenticatedUser user) {
+        Map<String, Object> response = new HashMap<>();
+        
+        if (!userCache.exists(user.id())) {
+            response.put("success", false);
+            response.put("message", "User not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        
+        response.put("success", true);
+        response.put("token", jwtService.issue(user.id(), user.email()));
+        response.put("expiresIn", jwtService.getExpirationMillis());
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> passwordResponse(Map<String, Object> response, boolean found) {
+        if (!found) {
+            response.put("success", false);
+            response.put("message", "User not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("message", "Password updated successfully");
+        return ResponseEntity.ok(response);
+    }
+}
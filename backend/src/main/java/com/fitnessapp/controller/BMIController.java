@@ -1,14 +1,29 @@
 package com.fitnessapp.controller;
 
+import com.fitnessapp.config.ResponseFormat;
+import com.fitnessapp.dto.BMIView;
+import com.fitnessapp.dto.BmiBatchResult;
+import com.fitnessapp.dto.BmiMeasurement;
+import com.fitnessapp.dto.BmiQuickResult;
+import com.fitnessapp.dto.PageCursor;
 import com.fitnessapp.entity.BMI;
-import com.fitnessapp.entity.User;
+import com.fitnessapp.entity.BmiCalculator;
 import com.fitnessapp.repository.BMIRepository;
-import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.service.BmiService;
+import com.fitnessapp.service.DataVersionService;
+import com.fitnessapp.service.UserCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,11 +34,19 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:3000")
 public class BMIController {
 
+    private static final int MAX_BATCH_SIZE = 10000;
+
     @Autowired
     private BMIRepository bmiRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserCache userCache;
+
+    @Autowired
+    private DataVersionService versions;
+
+    @Autowired
+    private BmiService bmiService;
 
     @PostMapping("/calculate/{userId}")
     public ResponseEntity<Map<String, Object>> calculateBMI(@PathVariable Long userId, 
@@ -32,20 +55,16 @@ public class BMIController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Optional<User> userOptional = userRepository.findById(userId);
-            if (!userOptional.isPresent()) {
+            Optional<BMI> savedBMI = bmiService.record(userId, weight, height);
+            if (savedBMI.isEmpty()) {
                 response.put("success", false);
                 response.put("message", "User not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            User user = userOptional.get();
-            BMI bmi = new BMI(user, weight, height);
-            BMI savedBMI = bmiRepository.save(bmi);
-            
             response.put("success", true);
             response.put("message", "BMI calculated successfully");
-            response.put("bmi", savedBMI);
+            response.put("bmi", BMIView.from(savedBMI.get()));
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
         } catch (Exception e) {
@@ -56,23 +75,57 @@ public class BMIController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Map<String, Object>> getUserBMIHistory(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Object>> getUserBMIHistory(@PathVariable Long userId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer limit,
+                                                                 WebRequest webRequest) {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Optional<User> userOptional = userRepository.findById(userId);
-            if (!userOptional.isPresent()) {
+            if (!userCache.exists(userId)) {
                 response.put("success", false);
                 response.put("message", "User not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            User user = userOptional.get();
-            List<BMI> bmiHistory = bmiRepository.findByUserOrderByCalculatedAtDesc(user);
+            ResponseFormat format = ResponseFormat.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+            if (webRequest.checkNotModified(versions.bmiEtag(userId, format))) {
+                return null;
+            }
+            
+            int pageSize = PageCursor.clampLimit(limit);
+            Pageable page = PageRequest.of(0, pageSize + 1);
+            List<BMIView> bmiHistory;
+            if (cursor == null && limit == null) {
+                // Without paging parameters the whole history is returned, as before paging existed
+                bmiHistory = bmiRepository.findPageByUserId(userId, Pageable.unpaged());
+            } else if (cursor == null) {
+                bmiHistory = bmiRepository.findPageByUserId(userId, page);
+            } else {
+                PageCursor after = PageCursor.decode(cursor);
+                bmiHistory = bmiRepository.findPageByUserIdAfter(userId, LocalDateTime.parse(after.getKey()), after.getId(), page);
+            }
+            
+            String nextCursor = null;
+            if ((cursor != null || limit != null) && bmiHistory.size() > pageSize) {
+                bmiHistory = bmiHistory.subList(0, pageSize);
+                BMIView last = bmiHistory.get(pageSize - 1);
+                nextCursor = new PageCursor(last.calculatedAt().toString(), last.id()).encode();
+            }
             
             response.put("success", true);
             response.put("bmiHistory", bmiHistory);
-            return ResponseEntity.ok(response);
+            response.put("nextCursor", nextCursor);
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType())
+                .body(response);
+            
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            response.put("success", false);
+            response.put("message", "Invalid cursor");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
             
         } catch (Exception e) {
             response.put("success", false);
@@ -86,15 +139,13 @@ public class BMIController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Optional<User> userOptional = userRepository.findById(userId);
-            if (!userOptional.isPresent()) {
+            if (!userCache.exists(userId)) {
                 response.put("success", false);
                 response.put("message", "User not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            User user = userOptional.get();
-            Optional<BMI> latestBMI = bmiRepository.findFirstByUserOrderByCalculatedAtDesc(user);
+            Optional<BMIView> latestBMI = bmiRepository.findLatestViewByUserId(userId);
             
             if (latestBMI.isPresent()) {
                 response.put("success", true);
@@ -120,31 +171,49 @@ public class BMIController {
         
         try {
             // Calculate BMI without saving to database
-            double heightInMeters = height / 100.0;
-            double bmiValue = weight / (heightInMeters * heightInMeters);
-            
-            String category;
-            if (bmiValue < 18.5) category = "UNDERWEIGHT";
-            else if (bmiValue < 25.0) category = "NORMAL";
-            else if (bmiValue < 30.0) category = "OVERWEIGHT";
-            else category = "OBESE";
+            response.put("success", true);
+            response.put("bmi", BmiQuickResult.of(weight, height));
+            return ResponseEntity.ok(response);
             
-            double minHealthyWeight = 18.5 * heightInMeters * heightInMeters;
-            double maxHealthyWeight = 24.9 * heightInMeters * heightInMeters;
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error calculating BMI: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Quick-calculates BMI for many weight/height pairs in one request without saving anything.
+     * Results are returned column-wise, in request order.
+     */
+    @PostMapping("/quick-calculate/batch")
+    public ResponseEntity<Map<String, Object>> quickCalculateBatch(@RequestBody List<BmiMeasurement> measurements) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            if (measurements.size() > MAX_BATCH_SIZE) {
+                response.put("success", false);
+                response.put("message", "Batch size exceeds limit of " + MAX_BATCH_SIZE);
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+            }
             
-            Map<String, Object> bmiData = new HashMap<>();
-            bmiData.put("bmiValue", Math.round(bmiValue * 10.0) / 10.0);
-            bmiData.put("category", category);
-            bmiData.put("minHealthyWeight", Math.round(minHealthyWeight * 10.0) / 10.0);
-            bmiData.put("maxHealthyWeight", Math.round(maxHealthyWeight * 10.0) / 10.0);
+            for (int i = 0; i < measurements.size(); i++) {
+                BmiMeasurement measurement = measurements.get(i);
+                if (measurement == null || !BmiCalculator.isValid(measurement.weight(), measurement.height())) {
+                    response.put("success", false);
+                    response.put("message", "Invalid weight or height at index " + i);
+                    return ResponseEntity.badRequest().body(response);
+                }
+            }
             
             response.put("success", true);
-            response.put("bmi", bmiData);
+            response.put("count", measurements.size());
+            response.put("results", BmiBatchResult.of(measurements));
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             response.put("success", false);
-            response.put("message", "Error calculating BMI: " + e.getMessage());
+            response.put("message", "Error calculating BMI batch: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
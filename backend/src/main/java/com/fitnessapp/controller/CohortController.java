@@ -0,0 +1,47 @@
+package com.fitnessapp.controller;
+
+import com.fitnessapp.dto.CohortStats;
+import com.fitnessapp.service.CohortStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cohorts")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CohortController {
+
+    @Autowired
+    private CohortStatsService cohortStats;
+
+    @GetMapping("/{dimension}")
+    public ResponseEntity<Map<String, Object>> getCohortStats(@PathVariable String dimension) {
+        Map<String, Object> response = new HashMap<>();
+        
+        if (!CohortStatsService.DIMENSIONS.contains(dimension)) {
+            response.put("success", false);
+            response.put("message", "Unknown cohort dimension: " + dimension
+                + " (expected one of " + String.join(", ", CohortStatsService.DIMENSIONS) + ")");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        
+        try {
+            List<CohortStats> cohorts = cohortStats.getStats(dimension);
+            
+            response.put("success", true);
+            response.put("dimension", dimension);
+            response.put("cohorts", cohorts);
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error fetching cohort stats: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
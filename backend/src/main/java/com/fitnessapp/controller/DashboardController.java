@@ -0,0 +1,49 @@
+package com.fitnessapp.controller;
+
+import com.fitnessapp.dto.Dashboard;
+import com.fitnessapp.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:3000")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<Map<String, Object>> getDashboard(@PathVariable Long userId) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            Optional<Dashboard> dashboard = dashboardService.load(userId);
+            if (dashboard.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "User not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            
+            response.put("success", true);
+            response.put("user", dashboard.get().user());
+            response.put("bmi", dashboard.get().latestBmi());
+            response.put("todayProgress", dashboard.get().today());
+            response.put("stats", dashboard.get().stats());
+            response.put("partial", !dashboard.get().unavailable().isEmpty());
+            response.put("unavailable", dashboard.get().unavailable());
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error fetching dashboard: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
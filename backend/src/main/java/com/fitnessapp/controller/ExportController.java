@@ -0,0 +1,71 @@
+package com.fitnessapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessapp.service.ExportService;
+import com.fitnessapp.service.UserCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<StreamingResponseBody> exportUserData(@PathVariable Long userId,
+                                            @RequestParam(defaultValue = "ndjson") String format) {
+        Map<String, Object> response = new HashMap<>();
+        
+        if (!userCache.exists(userId)) {
+            response.put("success", false);
+            response.put("message", "User not found");
+            return error(HttpStatus.NOT_FOUND, response);
+        }
+        
+        StreamingResponseBody body;
+        MediaType contentType;
+        String extension;
+        if ("csv".equalsIgnoreCase(format)) {
+            body = out -> exportService.writeCsv(userId, out);
+            contentType = new MediaType("text", "csv");
+            extension = "csv";
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            body = out -> exportService.writeNdjson(userId, out);
+            contentType = MediaType.APPLICATION_NDJSON;
+            extension = "ndjson";
+        } else {
+            response.put("success", false);
+            response.put("message", "Unsupported export format: " + format);
+            return error(HttpStatus.BAD_REQUEST, response);
+        }
+        
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"user-" + userId + "-export." + extension + "\"")
+            .body(body);
+    }
+
+    // Streaming endpoints can only return StreamingResponseBody, so errors are written through one too
+    private ResponseEntity<StreamingResponseBody> error(HttpStatus status, Map<String, Object> response) {
+        return ResponseEntity.status(status)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> objectMapper.writeValue(out, response));
+    }
+}
@@ -0,0 +1,57 @@
+package com.fitnessapp.controller;
+
+import com.fitnessapp.dto.MealPlan;
+import com.fitnessapp.service.MealCatalog;
+import com.fitnessapp.service.MealPlanService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/meals")
+@CrossOrigin(origins = "http://localhost:3000")
+public class MealController {
+
+    @Autowired
+    private MealPlanService planService;
+
+    /**
+     * The user's one-day meal plan for their diet preference and the calorie and macro target
+     * from their latest BMI and fitness goal. The optional {@code preference} (VEG, NON_VEG or
+     * VEGAN) previews the plan for another diet without changing the profile.
+     */
+    @GetMapping("/plan/{userId}")
+    public ResponseEntity<Map<String, Object>> getMealPlan(@PathVariable Long userId,
+                                                           @RequestParam(required = false) String preference) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            if (preference != null && !MealCatalog.DIET_PREFERENCES.contains(preference)) {
+                response.put("success", false);
+                response.put("message", "Diet preference must be VEG, NON_VEG, or VEGAN");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            Optional<MealPlan> plan = planService.planFor(userId, preference);
+            if (plan.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "User not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            
+            response.put("success", true);
+            response.put("plan", plan.get());
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error generating meal plan: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
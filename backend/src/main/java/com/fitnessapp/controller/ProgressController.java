@@ -1,16 +1,34 @@
 package com.fitnessapp.controller;
 
+import com.fitnessapp.config.ResponseFormat;
+import com.fitnessapp.dto.PageCursor;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.dto.ProgressStats;
+import com.fitnessapp.dto.ProgressView;
 import com.fitnessapp.entity.Progress;
 import com.fitnessapp.entity.User;
+import com.fitnessapp.entity.UserProgressRollup;
 import com.fitnessapp.repository.ProgressRepository;
 import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.service.ArchivedProgressException;
+import com.fitnessapp.service.DataVersionService;
+import com.fitnessapp.service.ProgressArchiveStore;
+import com.fitnessapp.service.ProgressHistoryService;
+import com.fitnessapp.service.ProgressRollupService;
+import com.fitnessapp.service.ProgressService;
+import com.fitnessapp.service.ProgressWriteBuffer;
+import com.fitnessapp.service.UserCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +45,27 @@ public class ProgressController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private ProgressWriteBuffer writeBuffer;
+
+    @Autowired
+    private ProgressHistoryService historyService;
+
+    @Autowired
+    private ProgressArchiveStore archiveStore;
+
+    @Autowired
+    private DataVersionService versions;
+
     @PostMapping("/update/{userId}")
     public ResponseEntity<Map<String, Object>> updateProgress(@PathVariable Long userId,
                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
@@ -39,38 +78,38 @@ public class ProgressController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Optional<User> userOptional = userRepository.findById(userId);
-            if (!userOptional.isPresent()) {
+            if (!userCache.exists(userId)) {
                 response.put("success", false);
                 response.put("message", "User not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            User user = userOptional.get();
-            Optional<Progress> existingProgress = progressRepository.findByUserAndDate(user, date);
+            if (archiveStore.isArchived(userId, date)) {
+                response.put("success", false);
+                response.put("message", "Progress for " + date + " is archived and can no longer be changed");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
             
-            Progress progress;
-            if (existingProgress.isPresent()) {
-                progress = existingProgress.get();
+            ProgressEntry entry = new ProgressEntry(date, caloriesConsumed, caloriesBurned,
+                                                    workoutCompleted, waterIntake, mealsCompleted, currentWeight);
+            ProgressView savedProgress;
+            if (writeBuffer.isEnabled()) {
+                savedProgress = writeBuffer.buffer(userId, entry);
             } else {
-                progress = new Progress(user, date);
+                User user = userRepository.getReferenceById(userId);
+                savedProgress = ProgressView.from(progressService.updateProgress(user, entry));
             }
             
-            // Update progress values if provided
-            if (caloriesConsumed != null) progress.setCaloriesConsumed(caloriesConsumed);
-            if (caloriesBurned != null) progress.setCaloriesBurned(caloriesBurned);
-            if (workoutCompleted != null) progress.setWorkoutCompleted(workoutCompleted);
-            if (waterIntake != null) progress.setWaterIntake(waterIntake);
-            if (mealsCompleted != null) progress.setMealsCompleted(mealsCompleted);
-            if (currentWeight != null) progress.setCurrentWeight(currentWeight);
-            
-            Progress savedProgress = progressRepository.save(progress);
-            
             response.put("success", true);
             response.put("message", "Progress updated successfully");
             response.put("progress", savedProgress);
             return ResponseEntity.ok(response);
             
+        } catch (ArchivedProgressException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", "Error updating progress: " + e.getMessage());
@@ -78,24 +117,96 @@ public class ProgressController {
         }
     }
 
+    @PostMapping("/batch/{userId}")
+    public ResponseEntity<Map<String, Object>> batchUpdateProgress(@PathVariable Long userId,
+                                                                  @RequestBody List<ProgressEntry> entries) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            if (entries == null || entries.isEmpty() || entries.stream().anyMatch(e -> e == null || e.getDate() == null)) {
+                response.put("success", false);
+                response.put("message", "Every entry must have a date");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+            
+            if (!userCache.exists(userId)) {
+                response.put("success", false);
+                response.put("message", "User not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            
+            // Buffered single-day updates are older than this batch; they are written first
+            List<Progress> savedProgress = writeBuffer.writeThrough(userId, () ->
+                progressService.saveBatch(userRepository.getReferenceById(userId), entries));
+            
+            response.put("success", true);
+            response.put("message", "Progress batch saved successfully");
+            response.put("count", savedProgress.size());
+            return ResponseEntity.ok(response);
+            
+        } catch (ArchivedProgressException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error saving progress batch: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Map<String, Object>> getUserProgress(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Object>> getUserProgress(@PathVariable Long userId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               WebRequest webRequest) {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Optional<User> userOptional = userRepository.findById(userId);
-            if (!userOptional.isPresent()) {
+            if (!userCache.exists(userId)) {
                 response.put("success", false);
                 response.put("message", "User not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            User user = userOptional.get();
-            List<Progress> progressList = progressRepository.findByUserOrderByDateDesc(user);
+            ResponseFormat format = ResponseFormat.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+            if (webRequest.checkNotModified(versions.progressEtag(userId, format))) {
+                return null;
+            }
+            
+            int pageSize = PageCursor.clampLimit(limit);
+            List<ProgressView> progressList;
+            if (cursor == null && limit == null) {
+                // Without paging parameters the whole history is returned, as before paging existed
+                progressList = historyService.findAll(userId);
+            } else if (cursor == null) {
+                progressList = historyService.findPage(userId, null, null, pageSize + 1);
+            } else {
+                PageCursor after = PageCursor.decode(cursor);
+                progressList = historyService.findPage(userId, LocalDate.parse(after.getKey()), after.getId(), pageSize + 1);
+            }
+            
+            String nextCursor = null;
+            if ((cursor != null || limit != null) && progressList.size() > pageSize) {
+                progressList = progressList.subList(0, pageSize);
+                ProgressView last = progressList.get(pageSize - 1);
+                nextCursor = new PageCursor(last.date().toString(), last.id()).encode();
+            }
             
             response.put("success", true);
             response.put("progress", progressList);
-            return ResponseEntity.ok(response);
+            response.put("nextCursor", nextCursor);
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType())
+                .body(response);
+            
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            response.put("success", false);
+            response.put("message", "Invalid cursor");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
             
         } catch (Exception e) {
             response.put("success", false);
@@ -109,26 +220,19 @@ public class ProgressController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Optional<User> userOptional = userRepository.findById(userId);
-            if (!userOptional.isPresent()) {
+            if (!userCache.exists(userId)) {
                 response.put("success", false);
                 response.put("message", "User not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            User user = userOptional.get();
             LocalDate today = LocalDate.now();
-            Optional<Progress> todayProgress = progressRepository.findByUserAndDate(user, today);
+            Optional<ProgressView> todayProgress = progressRepository.findViewByUserIdAndDate(userId, today);
             
-            if (todayProgress.isPresent()) {
-                response.put("success", true);
-                response.put("progress", todayProgress.get());
-            } else {
-                // Create a new progress entry for today
-                Progress newProgress = new Progress(user, today);
-                response.put("success", true);
-                response.put("progress", newProgress);
-            }
+            response.put("success", true);
+            // Default (unsaved) entry for today if nothing was recorded yet
+            ProgressView stored = todayProgress.orElseGet(() -> ProgressView.from(new Progress(null, today)));
+            response.put("progress", writeBuffer.overlay(userId, today, stored));
             
             return ResponseEntity.ok(response);
             
@@ -146,7 +250,7 @@ public class ProgressController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            List<Progress> progressList = progressRepository.findProgressByUserIdAndDateRange(userId, startDate, endDate);
+            List<ProgressView> progressList = historyService.findRange(userId, startDate, endDate);
             
             response.put("success", true);
             response.put("progress", progressList);
@@ -164,34 +268,10 @@ public class ProgressController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            long completedWorkouts = progressRepository.countCompletedWorkoutsByUserId(userId);
-            List<Progress> last30Days = progressRepository.findLast30DaysProgressByUserId(userId);
-            
-            // Calculate averages for the last 30 days
-            double avgCaloriesConsumed = last30Days.stream()
-                .filter(p -> p.getCaloriesConsumed() != null)
-                .mapToInt(Progress::getCaloriesConsumed)
-                .average()
-                .orElse(0.0);
-                
-            double avgCaloriesBurned = last30Days.stream()
-                .filter(p -> p.getCaloriesBurned() != null)
-                .mapToInt(Progress::getCaloriesBurned)
-                .average()
-                .orElse(0.0);
-                
-            long workoutStreak = last30Days.stream()
-                .filter(p -> p.getWorkoutCompleted() != null && p.getWorkoutCompleted())
-                .count();
-            
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalCompletedWorkouts", completedWorkouts);
-            stats.put("avgCaloriesConsumed", Math.round(avgCaloriesConsumed));
-            stats.put("avgCaloriesBurned", Math.round(avgCaloriesBurned));
-            stats.put("workoutStreakLast30Days", workoutStreak);
+            UserProgressRollup rollup = rollupService.getRollup(userId);
             
             response.put("success", true);
-            response.put("stats", stats);
+            response.put("stats", ProgressStats.of(rollup, LocalDate.now()));
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -1,13 +1,30 @@
 package com.fitnessapp.controller;
 
+import com.fitnessapp.config.ResponseFormat;
+import com.fitnessapp.dto.AdminChange;
+import com.fitnessapp.dto.UserImportReport;
+import com.fitnessapp.dto.UserView;
 import com.fitnessapp.entity.User;
 import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.service.DataVersionService;
+import com.fitnessapp.service.JwtService;
+import com.fitnessapp.service.RecentWriteTracker;
+import com.fitnessapp.service.UserImportService;
+import com.fitnessapp.service.UserCache;
+import com.fitnessapp.service.UserService;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -17,26 +34,55 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:3000")
 public class UserController {
 
+    private static final String EMAIL_CONSTRAINT = "uk_users_email_normalized";
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private RecentWriteTracker recentWrites;
+
+    @Autowired
+    private DataVersionService versions;
+
+    @Autowired
+    private UserImportService importService;
+
+    @Autowired
+    private JwtService jwtService;
+
     @PostMapping("/register")
     public ResponseEntity<Map<String, Object>> registerUser(@Valid @RequestBody User user) {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            if (userRepository.existsByEmail(user.getEmail())) {
-                response.put("success", false);
-                response.put("message", "User with this email already exists");
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
-            }
-            
-            User savedUser = userRepository.save(user);
+            // One INSERT: a taken email (in any case) is rejected by the unique index on email_normalized
+            User savedUser = userService.register(user);
+            // The new id is not in this request's path, so the read-your-writes interceptor cannot record it
+            recentWrites.recordWrite(savedUser.getId());
             response.put("success", true);
             response.put("message", "User registered successfully");
-            response.put("user", savedUser);
+            response.put("user", UserView.from(savedUser));
+            response.put("token", jwtService.issue(savedUser.getId(), savedUser.getEmail()));
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
+        } catch (DataIntegrityViolationException e) {
+            if (!violates(e, EMAIL_CONSTRAINT)) {
+                throw e;
+            }
+            response.put("success", false);
+            response.put("message", "User with this email already exists");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", "Error registering user: " + e.getMessage());
@@ -44,15 +90,56 @@ public class UserController {
         }
     }
 
+    /**
+     * Registers users in bulk from a streamed CSV (text/csv) or NDJSON (application/x-ndjson)
+     * body. Valid rows are imported even if others are rejected; the report lists the rejected
+     * rows by line number.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Map<String, Object>> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            UserImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? UserImportService.Format.NDJSON : UserImportService.Format.CSV;
+            UserImportReport report = importService.importUsers(body, format);
+            response.put("success", true);
+            response.put("message", "Imported " + report.imported() + " of " + report.rows() + " users");
+            response.put("report", report);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error importing users: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getUserById(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> getUserById(@PathVariable Long id, WebRequest webRequest) {
         Map<String, Object> response = new HashMap<>();
         
-        Optional<User> user = userRepository.findById(id);
+        ResponseFormat format = ResponseFormat.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+        // Existence first: a deleted user's version row is gone, so its old ETag must not yield a 304
+        if (userCache.exists(id) && webRequest.checkNotModified(versions.profileEtag(id, format))) {
+            return null;
+        }
+        
+        Optional<User> user = userRepository.findWithFocusAreasById(id);
         if (user.isPresent()) {
             response.put("success", true);
-            response.put("user", user.get());
-            return ResponseEntity.ok(response);
+            response.put("user", UserView.from(user.get()));
+            // Revalidated with the ETag on every use; "private" because the profile is personal
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType())
+                .body(response);
         } else {
             response.put("success", false);
             response.put("message", "User not found");
@@ -60,14 +147,26 @@ public class UserController {
         }
     }
 
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getUserCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stats", userCache.stats());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Looks the user up by email, ignoring case.
+     */
     @GetMapping("/email/{email}")
     public ResponseEntity<Map<String, Object>> getUserByEmail(@PathVariable String email) {
         Map<String, Object> response = new HashMap<>();
         
-        Optional<User> user = userRepository.findByEmail(email);
+        String emailNormalized = User.normalizeEmail(email);
+        Optional<User> user = userRepository.findWithFocusAreasByEmailNormalized(emailNormalized);
         if (user.isPresent()) {
             response.put("success", true);
-            response.put("user", user.get());
+            response.put("user", UserView.from(user.get()));
             return ResponseEntity.ok(response);
         } else {
             response.put("success", false);
@@ -81,25 +180,12 @@ public class UserController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Optional<User> optionalUser = userRepository.findById(id);
-            if (optionalUser.isPresent()) {
-                User user = optionalUser.get();
-                
-                // Update user details
-                user.setName(userDetails.getName());
-                user.setAge(userDetails.getAge());
-                user.setGender(userDetails.getGender());
-                user.setWeight(userDetails.getWeight());
-                user.setHeight(userDetails.getHeight());
-                user.setFitnessGoal(userDetails.getFitnessGoal());
-                user.setWorkoutPreference(userDetails.getWorkoutPreference());
-                user.setDietPreference(userDetails.getDietPreference());
-                user.setFocusAreas(userDetails.getFocusAreas());
-                
-                User updatedUser = userRepository.save(user);
+            Optional<User> updatedUser = userService.update(id, userDetails);
+            if (updatedUser.isPresent()) {
+                userCache.invalidate(id);
                 response.put("success", true);
                 response.put("message", "User updated successfully");
-                response.put("user", updatedUser);
+                response.put("user", UserView.from(updatedUser.get()));
                 return ResponseEntity.ok(response);
             } else {
                 response.put("success", false);
@@ -118,8 +204,8 @@ public class UserController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            if (userRepository.existsById(id)) {
-                userRepository.deleteById(id);
+            if (userService.delete(id)) {
+                userCache.invalidate(id);
                 response.put("success", true);
                 response.put("message", "User deleted successfully");
                 return ResponseEntity.ok(response);
@@ -134,4 +220,45 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Grants or revokes a user's admin role. Admins only (see SecurityConfig); this is the only
+     * way to the role besides SQL.
+     */
+    @PutMapping("/{id}/admin")
+    public ResponseEntity<Map<String, Object>> setAdmin(@PathVariable Long id, @RequestBody AdminChange change) {
+        Map<String, Object> response = new HashMap<>();
+        
+        if (change.admin() == null) {
+            response.put("success", false);
+            response.put("message", "admin is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            if (userService.setAdmin(id, change.admin())) {
+                response.put("success", true);
+                response.put("message", change.admin() ? "Admin role granted" : "Admin role revoked");
+                return ResponseEntity.ok(response);
+            } else {
+                response.put("success", false);
+                response.put("message", "User not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error changing admin role: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    // True if the violated constraint, as reported by Hibernate, is the named one
+    static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                return name != null && name.toLowerCase().contains(constraint);
+            }
+        }
+        return false;
+    }
 }
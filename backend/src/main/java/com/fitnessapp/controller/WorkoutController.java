@@ -0,0 +1,57 @@
+package com.fitnessapp.controller;
+
+import com.fitnessapp.dto.WorkoutPlan;
+import com.fitnessapp.service.ExerciseCatalog;
+import com.fitnessapp.service.WorkoutPlanService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/workouts")
+@CrossOrigin(origins = "http://localhost:3000")
+public class WorkoutController {
+
+    @Autowired
+    private WorkoutPlanService planService;
+
+    /**
+     * The user's weekly plan for their goal, workout preference and focus areas. The optional
+     * {@code preference} (HOME, GYM or BOTH) previews the plan for another location without
+     * changing the profile.
+     */
+    @GetMapping("/plan/{userId}")
+    public ResponseEntity<Map<String, Object>> getWorkoutPlan(@PathVariable Long userId,
+                                                              @RequestParam(required = false) String preference) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            if (preference != null && !ExerciseCatalog.WORKOUT_PREFERENCES.contains(preference)) {
+                response.put("success", false);
+                response.put("message", "Workout preference must be HOME, GYM, or BOTH");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            Optional<WorkoutPlan> plan = planService.planFor(userId, preference);
+            if (plan.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "User not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            
+            response.put("success", true);
+            response.put("plan", plan.get());
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error generating workout plan: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
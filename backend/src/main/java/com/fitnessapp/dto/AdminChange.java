@@ -0,0 +1,7 @@
+package com.fitnessapp.dto;
+
+/**
+ * Body of the admin role endpoint: whether the user should be an admin.
+ */
+public record AdminChange(Boolean admin) {
+}
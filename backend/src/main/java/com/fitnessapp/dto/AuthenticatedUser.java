@@ -0,0 +1,8 @@
+package com.fitnessapp.dto;
+
+/**
+ * The caller of an API request, taken from the claims of their access token. Both fields are
+ * immutable profile data, so a token can be trusted for them until it expires.
+ */
+public record AuthenticatedUser(Long id, String email) {
+}
@@ -0,0 +1,23 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.BMI;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for a BMI record, selected directly by repository queries so responses never
+ * touch the lazy {@code user} association.
+ */
+public record BMIView(Long id,
+                      Double weight,
+                      Double height,
+                      Double bmiValue,
+                      String category,
+                      Double minHealthyWeight,
+                      Double maxHealthyWeight,
+                      LocalDateTime calculatedAt) {
+
+    public static BMIView from(BMI bmi) {
+        return new BMIView(bmi.getId(), bmi.getWeight(), bmi.getHeight(), bmi.getBmiValue(), bmi.getCategory(),
+                           bmi.getMinHealthyWeight(), bmi.getMaxHealthyWeight(), bmi.getCalculatedAt());
+    }
+}
@@ -0,0 +1,30 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.BmiCalculator;
+import java.util.List;
+
+/**
+ * Column-oriented results for a bulk quick-calculate request: entry {@code i} of every array
+ * belongs to measurement {@code i} of the request. Serializes to four flat JSON arrays instead
+ * of one object per measurement.
+ */
+public record BmiBatchResult(double[] bmiValue,
+                             String[] category,
+                             double[] minHealthyWeight,
+                             double[] maxHealthyWeight) {
+
+    public static BmiBatchResult of(List<BmiMeasurement> measurements) {
+        int count = measurements.size();
+        double[] weights = new double[count];
+        double[] heights = new double[count];
+        for (int i = 0; i < count; i++) {
+            BmiMeasurement measurement = measurements.get(i);
+            weights[i] = measurement.weight();
+            heights[i] = measurement.height();
+        }
+        BmiBatchResult result = new BmiBatchResult(new double[count], new String[count], new double[count], new double[count]);
+        BmiCalculator.calculateAll(weights, heights, count, result.bmiValue, result.category,
+                                   result.minHealthyWeight, result.maxHealthyWeight);
+        return result;
+    }
+}
@@ -0,0 +1,7 @@
+package com.fitnessapp.dto;
+
+/**
+ * One weight (kg) / height (cm) pair in a bulk quick-calculate request.
+ */
+public record BmiMeasurement(double weight, double height) {
+}
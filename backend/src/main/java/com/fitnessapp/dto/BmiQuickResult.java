@@ -0,0 +1,19 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.BmiCalculator;
+
+/**
+ * Unsaved BMI result returned by quick-calculate, rounded to one decimal place.
+ */
+public record BmiQuickResult(double bmiValue,
+                             String category,
+                             double minHealthyWeight,
+                             double maxHealthyWeight) {
+
+    public static BmiQuickResult of(double weight, double height) {
+        double bmi = BmiCalculator.bmi(weight, height);
+        return new BmiQuickResult(BmiCalculator.round1(bmi), BmiCalculator.category(bmi),
+                                  BmiCalculator.round1(BmiCalculator.minHealthyWeight(height)),
+                                  BmiCalculator.round1(BmiCalculator.maxHealthyWeight(height)));
+    }
+}
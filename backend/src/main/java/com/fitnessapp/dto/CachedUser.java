@@ -0,0 +1,57 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.FocusArea;
+import com.fitnessapp.entity.User;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a user's core profile, safe to share across requests and threads.
+ */
+public class CachedUser {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final Integer age;
+    private final String gender;
+    private final Double weight;
+    private final Double height;
+    private final String fitnessGoal;
+    private final String workoutPreference;
+    private final String dietPreference;
+    private final List<FocusArea> focusAreas;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public CachedUser(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.name = user.getName();
+        this.age = user.getAge();
+        this.gender = user.getGender();
+        this.weight = user.getWeight();
+        this.height = user.getHeight();
+        this.fitnessGoal = user.getFitnessGoal();
+        this.workoutPreference = user.getWorkoutPreference();
+        this.dietPreference = user.getDietPreference();
+        this.focusAreas = user.getFocusAreas() == null ? List.of() : List.copyOf(user.getFocusAreas());
+        this.createdAt = user.getCreatedAt();
+        this.updatedAt = user.getUpdatedAt();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+    public String getName() { return name; }
+    public Integer getAge() { return age; }
+    public String getGender() { return gender; }
+    public Double getWeight() { return weight; }
+    public Double getHeight() { return height; }
+    public String getFitnessGoal() { return fitnessGoal; }
+    public String getWorkoutPreference() { return workoutPreference; }
+    public String getDietPreference() { return dietPreference; }
+    public List<FocusArea> getFocusAreas() { return focusAreas; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,14 @@
+package com.fitnessapp.dto;
+
+/**
+ * Change to apply to one cohort counter shard.
+ */
+public record CohortDelta(String dimension,
+                          String cohort,
+                          int shard,
+                          long users,
+                          long bmiCount,
+                          double bmiSum,
+                          long progressEntries,
+                          long completedWorkouts) {
+}
@@ -0,0 +1,26 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.BmiCalculator;
+
+/**
+ * Aggregates for one cohort, summed over its counter shards. {@code avgBmi} averages each
+ * member's latest BMI and is null when no member has recorded one.
+ */
+public record CohortStats(String cohort,
+                          long users,
+                          Double avgBmi,
+                          double avgCompletedWorkouts,
+                          double workoutCompletionRate) {
+
+    // Used by the JPQL constructor expression over the summed counters
+    public CohortStats(String cohort, Long users, Long bmiCount, Double bmiSum, Long progressEntries, Long completedWorkouts) {
+        this(cohort, users,
+             bmiCount == 0 ? null : BmiCalculator.round1(bmiSum / bmiCount),
+             users == 0 ? 0.0 : round2((double) completedWorkouts / users),
+             progressEntries == 0 ? 0.0 : round2((double) completedWorkouts / progressEntries));
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.fitnessapp.dto;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard page shows for one user. Parts that could not be loaded in time
+ * are null and named in {@code unavailable}; {@code latestBmi} is also null for a user without
+ * BMI records.
+ */
+public record Dashboard(UserView user,
+                        BMIView latestBmi,
+                        ProgressView today,
+                        ProgressStats stats,
+                        List<String> unavailable) {
+}
@@ -0,0 +1,22 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.FocusArea;
+
+/**
+ * One entry of the exercise catalog ({@code catalog/exercises.json}). {@code gym} marks
+ * exercises that need gym equipment; {@code cardio} marks conditioning work used as finishers
+ * in weight-loss plans. Calories are an estimate for all sets.
+ */
+public record Exercise(int id,
+                       String name,
+                       FocusArea focusArea,
+                       String bodyPart,
+                       int sets,
+                       String reps,
+                       String difficulty,
+                       int calories,
+                       String emoji,
+                       String description,
+                       boolean gym,
+                       boolean cardio) {
+}
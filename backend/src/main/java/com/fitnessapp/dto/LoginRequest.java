@@ -0,0 +1,7 @@
+package com.fitnessapp.dto;
+
+/**
+ * Credentials for {@code POST /api/auth/login}.
+ */
+public record LoginRequest(String email, String password) {
+}
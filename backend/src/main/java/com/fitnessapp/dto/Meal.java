@@ -0,0 +1,17 @@
+package com.fitnessapp.dto;
+
+/**
+ * One entry of the meal catalog ({@code catalog/meals.json}), per serving. {@code diet} is the
+ * strictest diet preference the meal fits: VEGAN meals are offered to everyone, VEG meals to
+ * VEG and NON_VEG, NON_VEG meals only to NON_VEG.
+ */
+public record Meal(int id,
+                   String name,
+                   String mealType,
+                   String diet,
+                   int calories,
+                   int protein,
+                   int carbs,
+                   int fat,
+                   String emoji) {
+}
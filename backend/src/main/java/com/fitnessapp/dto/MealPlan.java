@@ -0,0 +1,28 @@
+package com.fitnessapp.dto;
+
+import java.util.List;
+
+/**
+ * A solved one-day meal plan with its totals. Plans depend only on the diet preference, fitness
+ * goal and calorie band, so one instance is shared by every user with the same three.
+ */
+public record MealPlan(String dietPreference,
+                       String fitnessGoal,
+                       NutritionTarget target,
+                       List<PlannedMeal> meals,
+                       int calories,
+                       int protein,
+                       int carbs,
+                       int fat) {
+
+    public static MealPlan of(String dietPreference, String fitnessGoal, NutritionTarget target, List<PlannedMeal> meals) {
+        int calories = 0, protein = 0, carbs = 0, fat = 0;
+        for (PlannedMeal meal : meals) {
+            calories += meal.calories();
+            protein += meal.protein();
+            carbs += meal.carbs();
+            fat += meal.fat();
+        }
+        return new MealPlan(dietPreference, fitnessGoal, target, List.copyOf(meals), calories, protein, carbs, fat);
+    }
+}
@@ -0,0 +1,20 @@
+package com.fitnessapp.dto;
+
+/**
+ * Daily calories and macros (grams) for a meal plan. Targets are built from a calorie band, so
+ * every user in the same band with the same fitness goal shares one target and one plan.
+ */
+public record NutritionTarget(int calories, int protein, int carbs, int fat) {
+
+    /**
+     * The target for a daily calorie band, split into macros by fitness goal: weight loss and
+     * muscle building get 30% protein, weight loss also the lower carb share.
+     */
+    public static NutritionTarget of(int calories, String fitnessGoal) {
+        double proteinShare = "STAY_FIT".equals(fitnessGoal) ? 0.25 : 0.30;
+        double fatShare = "BUILD_MUSCLE".equals(fitnessGoal) ? 0.25 : 0.30;
+        double carbShare = 1 - proteinShare - fatShare;
+        return new NutritionTarget(calories, (int) Math.round(calories * proteinShare / 4),
+                                   (int) Math.round(calories * carbShare / 4), (int) Math.round(calories * fatShare / 9));
+    }
+}
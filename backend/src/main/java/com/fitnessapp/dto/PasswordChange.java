@@ -0,0 +1,8 @@
+package com.fitnessapp.dto;
+
+/**
+ * Body of the password endpoints. {@code currentPassword} is required when a user changes a
+ * password they already have, and ignored for admin resets.
+ */
+public record PasswordChange(String currentPassword, String newPassword) {
+}
@@ -0,0 +1,20 @@
+package com.fitnessapp.dto;
+
+/**
+ * One meal of a {@link MealPlan}: a catalog meal with its servings and the nutrition values
+ * scaled to them.
+ */
+public record PlannedMeal(String mealType,
+                          Meal meal,
+                          double servings,
+                          int calories,
+                          int protein,
+                          int carbs,
+                          int fat) {
+
+    public static PlannedMeal of(String mealType, Meal meal, double servings) {
+        return new PlannedMeal(mealType, meal, servings,
+                               (int) Math.round(meal.calories() * servings), (int) Math.round(meal.protein() * servings),
+                               (int) Math.round(meal.carbs() * servings), (int) Math.round(meal.fat() * servings));
+    }
+}
@@ -0,0 +1,85 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.Progress;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+public class ProgressEntry {
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    private Integer caloriesConsumed;
+
+    private Integer caloriesBurned;
+
+    private Boolean workoutCompleted;
+
+    private Integer waterIntake;
+
+    private Integer mealsCompleted;
+
+    private Double currentWeight;
+
+    // Constructors
+    public ProgressEntry() {}
+
+    public ProgressEntry(LocalDate date, Integer caloriesConsumed, Integer caloriesBurned,
+                         Boolean workoutCompleted, Integer waterIntake, Integer mealsCompleted,
+                         Double currentWeight) {
+        this.date = date;
+        this.caloriesConsumed = caloriesConsumed;
+        this.caloriesBurned = caloriesBurned;
+        this.workoutCompleted = workoutCompleted;
+        this.waterIntake = waterIntake;
+        this.mealsCompleted = mealsCompleted;
+        this.currentWeight = currentWeight;
+    }
+
+    // Copies the provided (non-null) values onto the given progress record
+    public void applyTo(Progress progress) {
+        if (caloriesConsumed != null) progress.setCaloriesConsumed(caloriesConsumed);
+        if (caloriesBurned != null) progress.setCaloriesBurned(caloriesBurned);
+        if (workoutCompleted != null) progress.setWorkoutCompleted(workoutCompleted);
+        if (waterIntake != null) progress.setWaterIntake(waterIntake);
+        if (mealsCompleted != null) progress.setMealsCompleted(mealsCompleted);
+        if (currentWeight != null) progress.setCurrentWeight(currentWeight);
+    }
+
+    // Overwrites this entry's values with the (non-null) values of a later entry for the same date
+    public void mergeFrom(ProgressEntry later) {
+        if (later.caloriesConsumed != null) caloriesConsumed = later.caloriesConsumed;
+        if (later.caloriesBurned != null) caloriesBurned = later.caloriesBurned;
+        if (later.workoutCompleted != null) workoutCompleted = later.workoutCompleted;
+        if (later.waterIntake != null) waterIntake = later.waterIntake;
+        if (later.mealsCompleted != null) mealsCompleted = later.mealsCompleted;
+        if (later.currentWeight != null) currentWeight = later.currentWeight;
+    }
+
+    public ProgressEntry copy() {
+        return new ProgressEntry(date, caloriesConsumed, caloriesBurned, workoutCompleted,
+                                 waterIntake, mealsCompleted, currentWeight);
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public Integer getCaloriesConsumed() { return caloriesConsumed; }
+    public void setCaloriesConsumed(Integer caloriesConsumed) { this.caloriesConsumed = caloriesConsumed; }
+
+    public Integer getCaloriesBurned() { return caloriesBurned; }
+    public void setCaloriesBurned(Integer caloriesBurned) { this.caloriesBurned = caloriesBurned; }
+
+    public Boolean getWorkoutCompleted() { return workoutCompleted; }
+    public void setWorkoutCompleted(Boolean workoutCompleted) { this.workoutCompleted = workoutCompleted; }
+
+    public Integer getWaterIntake() { return waterIntake; }
+    public void setWaterIntake(Integer waterIntake) { this.waterIntake = waterIntake; }
+
+    public Integer getMealsCompleted() { return mealsCompleted; }
+    public void setMealsCompleted(Integer mealsCompleted) { this.mealsCompleted = mealsCompleted; }
+
+    public Double getCurrentWeight() { return currentWeight; }
+    public void setCurrentWeight(Double currentWeight) { this.currentWeight = currentWeight; }
+}
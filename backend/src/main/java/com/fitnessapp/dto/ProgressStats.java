@@ -0,0 +1,25 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.UserProgressRollup;
+import java.time.LocalDate;
+
+/**
+ * Stats figures derived from a user's {@link UserProgressRollup}, as returned by the stats and
+ * dashboard endpoints.
+ */
+public record ProgressStats(long totalCompletedWorkouts,
+                            long avgCaloriesConsumed,
+                            long avgCaloriesBurned,
+                            long workoutStreakLast30Days,
+                            int currentWorkoutStreak,
+                            int longestWorkoutStreak) {
+
+    public static ProgressStats of(UserProgressRollup rollup, LocalDate today) {
+        return new ProgressStats(rollup.getTotalCompletedWorkouts(),
+                                 Math.round(rollup.getAvgCaloriesConsumed()),
+                                 Math.round(rollup.getAvgCaloriesBurned()),
+                                 rollup.getWindowCompletedWorkouts(),
+                                 rollup.getCurrentStreak(today),
+                                 rollup.getLongestStreak());
+    }
+}
@@ -0,0 +1,40 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.Progress;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for a progress record, selected directly by repository queries so responses never
+ * touch the lazy {@code user} association.
+ */
+public record ProgressView(Long id,
+                           LocalDate date,
+                           Integer caloriesConsumed,
+                           Integer caloriesBurned,
+                           Boolean workoutCompleted,
+                           Integer waterIntake,
+                           Integer mealsCompleted,
+                           Double currentWeight,
+                           LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+
+    public static ProgressView from(Progress progress) {
+        return new ProgressView(progress.getId(), progress.getDate(), progress.getCaloriesConsumed(),
+                                progress.getCaloriesBurned(), progress.getWorkoutCompleted(), progress.getWaterIntake(),
+                                progress.getMealsCompleted(), progress.getCurrentWeight(), progress.getCreatedAt(),
+                                progress.getUpdatedAt());
+    }
+
+    // Copy with the entry's provided (non-null) values applied, e.g. for buffered updates not yet written
+    public ProgressView withEntry(ProgressEntry entry) {
+        return new ProgressView(id, date,
+                                entry.getCaloriesConsumed() != null ? entry.getCaloriesConsumed() : caloriesConsumed,
+                                entry.getCaloriesBurned() != null ? entry.getCaloriesBurned() : caloriesBurned,
+                                entry.getWorkoutCompleted() != null ? entry.getWorkoutCompleted() : workoutCompleted,
+                                entry.getWaterIntake() != null ? entry.getWaterIntake() : waterIntake,
+                                entry.getMealsCompleted() != null ? entry.getMealsCompleted() : mealsCompleted,
+                                entry.getCurrentWeight() != null ? entry.getCurrentWeight() : currentWeight,
+                                createdAt, updatedAt);
+    }
+}
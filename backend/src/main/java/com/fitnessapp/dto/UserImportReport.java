@@ -0,0 +1,17 @@
+package com.fitnessapp.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk user import. {@code errors} lists rejected rows by line number, up to a
+ * limit; {@code errorsTruncated} is set when more rows failed than are listed.
+ */
+public record UserImportReport(long rows,
+                               long imported,
+                               long failed,
+                               List<RowError> errors,
+                               boolean errorsTruncated) {
+
+    public record RowError(long line, String email, String message) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.User;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read model for a user profile. Carries the focus areas but never the BMI or progress
+ * collections, so serializing it cannot trigger lazy loading.
+ */
+public record UserView(Long id,
+                       String email,
+                       String name,
+                       Integer age,
+                       String gender,
+                       Double weight,
+                       Double height,
+                       String fitnessGoal,
+                       String workoutPreference,
+                       String dietPreference,
+                       List<String> focusAreas,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt) {
+
+    public static UserView from(User user) {
+        List<String> focusAreas = user.getFocusAreas() == null ? List.of()
+            : user.getFocusAreas().stream().map(Enum::name).toList();
+        return new UserView(user.getId(), user.getEmail(), user.getName(), user.getAge(), user.getGender(),
+                            user.getWeight(), user.getHeight(), user.getFitnessGoal(), user.getWorkoutPreference(),
+                            user.getDietPreference(), focusAreas, user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    public static UserView from(CachedUser user) {
+        return new UserView(user.getId(), user.getEmail(), user.getName(), user.getAge(), user.getGender(),
+                            user.getWeight(), user.getHeight(), user.getFitnessGoal(), user.getWorkoutPreference(),
+                            user.getDietPreference(), user.getFocusAreas().stream().map(Enum::name).toList(),
+                            user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
@@ -0,0 +1,23 @@
+package com.fitnessapp.dto;
+
+import com.fitnessapp.entity.FocusArea;
+import java.util.List;
+
+/**
+ * One training day of a {@link WorkoutPlan}.
+ */
+public record WorkoutDay(String day,
+                         FocusArea focusArea,
+                         String focus,
+                         String emoji,
+                         List<Exercise> exercises,
+                         int calories) {
+
+    public static WorkoutDay of(String day, FocusArea focusArea, String focus, String emoji, List<Exercise> exercises) {
+        int calories = 0;
+        for (Exercise exercise : exercises) {
+            calories += exercise.calories();
+        }
+        return new WorkoutDay(day, focusArea, focus, emoji, List.copyOf(exercises), calories);
+    }
+}
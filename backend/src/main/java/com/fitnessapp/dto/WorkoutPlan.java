@@ -0,0 +1,14 @@
+package com.fitnessapp.dto;
+
+import java.util.List;
+
+/**
+ * A generated weekly workout plan. Plans depend only on the profile fields they were generated
+ * for, so one instance is shared by every user with the same goal, preference and focus areas.
+ */
+public record WorkoutPlan(String fitnessGoal,
+                          String workoutPreference,
+                          List<String> focusAreas,
+                          List<WorkoutDay> days,
+                          int weeklyCalories) {
+}
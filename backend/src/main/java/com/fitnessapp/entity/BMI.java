@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bmi_records")
+@Table(name = "bmi_records",
+       indexes = @Index(name = "idx_bmi_user_calculated_at", columnList = "user_id, calculated_at"))
 public class BMI {
     
     @Id
@@ -43,36 +44,14 @@ public class BMI {
         this.user = user;
         this.weight = weight;
         this.height = height;
-        this.bmiValue = calculateBMI(weight, height);
-        this.category = determineBMICategory(this.bmiValue);
-        this.minHealthyWeight = calculateMinHealthyWeight(height);
-        this.maxHealthyWeight = calculateMaxHealthyWeight(height);
+        double bmi = BmiCalculator.bmi(weight, height);
+        this.bmiValue = bmi;
+        this.category = BmiCalculator.category(bmi);
+        this.minHealthyWeight = BmiCalculator.minHealthyWeight(height);
+        this.maxHealthyWeight = BmiCalculator.maxHealthyWeight(height);
         this.calculatedAt = LocalDateTime.now();
     }
     
-    // BMI calculation methods
-    private Double calculateBMI(Double weight, Double height) {
-        double heightInMeters = height / 100.0; // Convert cm to meters
-        return weight / (heightInMeters * heightInMeters);
-    }
-    
-    private String determineBMICategory(Double bmi) {
-        if (bmi < 18.5) return "UNDERWEIGHT";
-        else if (bmi < 25.0) return "NORMAL";
-        else if (bmi < 30.0) return "OVERWEIGHT";
-        else return "OBESE";
-    }
-    
-    private Double calculateMinHealthyWeight(Double height) {
-        double heightInMeters = height / 100.0;
-        return 18.5 * heightInMeters * heightInMeters;
-    }
-    
-    private Double calculateMaxHealthyWeight(Double height) {
-        double heightInMeters = height / 100.0;
-        return 24.9 * heightInMeters * heightInMeters;
-    }
-    
     @PrePersist
     protected void onCreate() {
         calculatedAt = LocalDateTime.now();
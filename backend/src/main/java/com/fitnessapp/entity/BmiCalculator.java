@@ -0,0 +1,67 @@
+package com.fitnessapp.entity;
+
+/**
+ * Stateless BMI math on primitives, shared by the {@link BMI} entity, the quick-calculate
+ * endpoints and the cohort statistics. Nothing here allocates: categories are constant strings
+ * and batch results are written into caller-supplied arrays.
+ */
+public final class BmiCalculator {
+
+    public static final String UNDERWEIGHT = "UNDERWEIGHT";
+    public static final String NORMAL = "NORMAL";
+    public static final String OVERWEIGHT = "OVERWEIGHT";
+    public static final String OBESE = "OBESE";
+
+    public static final double MIN_HEALTHY_BMI = 18.5;
+    public static final double MAX_HEALTHY_BMI = 24.9;
+
+    private BmiCalculator() {}
+
+    // Weight in kg, height in cm
+    public static double bmi(double weight, double height) {
+        double heightInMeters = height / 100.0;
+        return weight / (heightInMeters * heightInMeters);
+    }
+
+    public static String category(double bmi) {
+        if (bmi < 18.5) return UNDERWEIGHT;
+        else if (bmi < 25.0) return NORMAL;
+        else if (bmi < 30.0) return OVERWEIGHT;
+        else return OBESE;
+    }
+
+    public static double minHealthyWeight(double height) {
+        double heightInMeters = height / 100.0;
+        return MIN_HEALTHY_BMI * heightInMeters * heightInMeters;
+    }
+
+    public static double maxHealthyWeight(double height) {
+        double heightInMeters = height / 100.0;
+        return MAX_HEALTHY_BMI * heightInMeters * heightInMeters;
+    }
+
+    public static boolean isValid(double weight, double height) {
+        return weight > 0 && height > 0 && Double.isFinite(weight) && Double.isFinite(height);
+    }
+
+    // Rounds to one decimal place, as shown to users
+    public static double round1(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    /**
+     * Calculates rounded results for {@code count} weight/height pairs into the given column
+     * arrays, which must each hold at least {@code count} entries.
+     */
+    public static void calculateAll(double[] weights, double[] heights, int count,
+                                    double[] bmiValues, String[] categories,
+                                    double[] minHealthyWeights, double[] maxHealthyWeights) {
+        for (int i = 0; i < count; i++) {
+            double bmi = bmi(weights[i], heights[i]);
+            bmiValues[i] = round1(bmi);
+            categories[i] = category(bmi);
+            minHealthyWeights[i] = round1(minHealthyWeight(heights[i]));
+            maxHealthyWeights[i] = round1(maxHealthyWeight(heights[i]));
+        }
+    }
+}
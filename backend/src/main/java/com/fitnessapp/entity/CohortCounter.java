@@ -0,0 +1,122 @@
+package com.fitnessapp.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One shard of the running totals for a cohort: the users sharing a value of one profile
+ * dimension (e.g. fitnessGoal = LOSE_WEIGHT). A cohort's totals are the sum over its shards;
+ * users are assigned to shards by id so concurrent updates rarely touch the same row.
+ */
+@Entity
+@Table(name = "cohort_counters")
+@IdClass(CohortCounter.Key.class)
+public class CohortCounter {
+    
+    @Id
+    @Column(length = 32)
+    private String dimension;
+    
+    @Id
+    private String cohort;
+    
+    @Id
+    private int shard;
+    
+    @Column(name = "user_count", nullable = false)
+    private long userCount;
+    
+    // Users with at least one BMI record, and the sum of their latest BMI values
+    @Column(name = "bmi_count", nullable = false)
+    private long bmiCount;
+    
+    @Column(name = "bmi_sum", nullable = false)
+    private double bmiSum;
+    
+    @Column(name = "progress_entries", nullable = false)
+    private long progressEntries;
+    
+    @Column(name = "completed_workouts", nullable = false)
+    private long completedWorkouts;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public CohortCounter() {}
+    
+    public CohortCounter(String dimension, String cohort, int shard) {
+        this.dimension = dimension;
+        this.cohort = cohort;
+        this.shard = shard;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public void add(long users, long bmiCount, double bmiSum, long progressEntries, long completedWorkouts) {
+        this.userCount += users;
+        this.bmiCount += bmiCount;
+        this.bmiSum += bmiSum;
+        this.progressEntries += progressEntries;
+        this.completedWorkouts += completedWorkouts;
+    }
+    
+    public boolean isZero() {
+        return userCount == 0 && bmiCount == 0 && bmiSum == 0 && progressEntries == 0 && completedWorkouts == 0;
+    }
+    
+    // Getters and Setters
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+    
+    public String getCohort() { return cohort; }
+    public void setCohort(String cohort) { this.cohort = cohort; }
+    
+    public int getShard() { return shard; }
+    public void setShard(int shard) { this.shard = shard; }
+    
+    public long getUserCount() { return userCount; }
+    public void setUserCount(long userCount) { this.userCount = userCount; }
+    
+    public long getBmiCount() { return bmiCount; }
+    public void setBmiCount(long bmiCount) { this.bmiCount = bmiCount; }
+    
+    public double getBmiSum() { return bmiSum; }
+    public void setBmiSum(double bmiSum) { this.bmiSum = bmiSum; }
+    
+    public long getProgressEntries() { return progressEntries; }
+    public void setProgressEntries(long progressEntries) { this.progressEntries = progressEntries; }
+    
+    public long getCompletedWorkouts() { return completedWorkouts; }
+    public void setCompletedWorkouts(long completedWorkouts) { this.completedWorkouts = completedWorkouts; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public static class Key implements Serializable {
+        private String dimension;
+        private String cohort;
+        private int shard;
+        
+        public Key() {}
+        
+        public Key(String dimension, String cohort, int shard) {
+            this.dimension = dimension;
+            this.cohort = cohort;
+            this.shard = shard;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return shard == key.shard && dimension.equals(key.dimension) && cohort.equals(key.cohort);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, cohort, shard);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.fitnessapp.entity;
+
+public enum FocusArea {
+    ABS, ARMS, CHEST, BACK, LEGS, FULL_BODY
+}
@@ -5,11 +5,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "progress_records")
+@Table(name = "progress_records",
+       uniqueConstraints = @UniqueConstraint(name = "uk_progress_user_date", columnNames = {"user_id", "date"}))
 public class Progress {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progress_seq")
+    @SequenceGenerator(name = "progress_seq", sequenceName = "progress_records_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
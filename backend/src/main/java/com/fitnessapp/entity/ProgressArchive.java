@@ -0,0 +1,90 @@
+package com.fitnessapp.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Describes a user's archived progress: the current segment file version, the last archived
+ * day and totals over the archived records, so recomputations do not need to read the file.
+ */
+@Entity
+@Table(name = "progress_archives")
+public class ProgressArchive {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "archived_through", nullable = false)
+    private LocalDate archivedThrough;
+    
+    @Column(name = "segment_version", nullable = false)
+    private int segmentVersion;
+    
+    @Column(name = "segment_bytes", nullable = false)
+    private long segmentBytes;
+    
+    @Column(name = "record_count", nullable = false)
+    private long recordCount;
+    
+    @Column(name = "completed_workouts", nullable = false)
+    private long completedWorkouts;
+    
+    @Column(name = "calories_consumed", nullable = false)
+    private long caloriesConsumed;
+    
+    @Column(name = "calories_burned", nullable = false)
+    private long caloriesBurned;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public ProgressArchive() {}
+    
+    public ProgressArchive(Long userId) {
+        this.userId = userId;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public void add(Progress progress) {
+        recordCount++;
+        if (progress.getWorkoutCompleted() != null && progress.getWorkoutCompleted()) completedWorkouts++;
+        if (progress.getCaloriesConsumed() != null) caloriesConsumed += progress.getCaloriesConsumed();
+        if (progress.getCaloriesBurned() != null) caloriesBurned += progress.getCaloriesBurned();
+    }
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public LocalDate getArchivedThrough() { return archivedThrough; }
+    public void setArchivedThrough(LocalDate archivedThrough) { this.archivedThrough = archivedThrough; }
+    
+    public int getSegmentVersion() { return segmentVersion; }
+    public void setSegmentVersion(int segmentVersion) { this.segmentVersion = segmentVersion; }
+    
+    public long getSegmentBytes() { return segmentBytes; }
+    public void setSegmentBytes(long segmentBytes) { this.segmentBytes = segmentBytes; }
+    
+    public long getRecordCount() { return recordCount; }
+    public void setRecordCount(long recordCount) { this.recordCount = recordCount; }
+    
+    public long getCompletedWorkouts() { return completedWorkouts; }
+    public void setCompletedWorkouts(long completedWorkouts) { this.completedWorkouts = completedWorkouts; }
+    
+    public long getCaloriesConsumed() { return caloriesConsumed; }
+    public void setCaloriesConsumed(long caloriesConsumed) { this.caloriesConsumed = caloriesConsumed; }
+    
+    public long getCaloriesBurned() { return caloriesBurned; }
+    public void setCaloriesBurned(long caloriesBurned) { this.caloriesBurned = caloriesBurned; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,23 +1,48 @@
 package com.fitnessapp.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+       uniqueConstraints = @UniqueConstraint(name = "uk_users_email_normalized", columnNames = "email_normalized"),
+       indexes = @Index(name = "idx_users_fitness_goal", columnList = "fitness_goal"))
 public class User {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
     private String email;
     
+    // Case-folded copy of email that carries the unique index; kept in step by setEmail
+    @Column(name = "email_normalized", nullable = false)
+    private String emailNormalized;
+    
+    // BCrypt hash; null for accounts created before passwords existed until one is set
+    @Column(name = "password_hash")
+    @JsonIgnore
+    private String passwordHash;
+    
+    // Plain password as sent at registration; only its hash is stored
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    @Size(min = 8, max = 72, message = "Password must be 8 to 72 characters")
+    private String password;
+    
+    // Set only through the admin endpoint; never read from or written to JSON
+    @Column(name = "is_admin", nullable = false)
+    @JsonIgnore
+    private boolean admin;
+    
     @Column(nullable = false)
     @NotBlank(message = "Name is required")
     private String name;
@@ -78,7 +103,7 @@ public class User {
     public User(String email, String name, Integer age, String gender, 
                 Double weight, Double height, String fitnessGoal, 
                 String workoutPreference, String dietPreference) {
-        this.email = email;
+        setEmail(email);
         this.name = name;
         this.age = age;
         this.gender = gender;
@@ -108,7 +133,29 @@ public class User {
     public void setId(Long id) { this.id = id; }
     
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+    
+    public String getEmailNormalized() { return emailNormalized; }
+    
+    /**
+     * The form emails are compared and indexed in: two addresses differing only in case belong
+     * to the same user.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+    
+    public String getPasswordHash() { return passwordHash; }
+    public void setPasswordHash(String passwordHash) { this.passwordHash = passwordHash; }
+    
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    
+    public boolean isAdmin() { return admin; }
+    public void setAdmin(boolean admin) { this.admin = admin; }
     
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
@@ -149,7 +196,3 @@ public class User {
     public List<Progress> getProgressRecords() { return progressRecords; }
     public void setProgressRecords(List<Progress> progressRecords) { this.progressRecords = progressRecords; }
 }
-
-enum FocusArea {
-    ABS, ARMS, CHEST, BACK, LEGS, FULL_BODY
-}
@@ -0,0 +1,39 @@
+package com.fitnessapp.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Per-user counters bumped by every write to the user's profile, progress history or BMI
+ * history. They stamp the ETags of the corresponding GET endpoints, so a conditional request
+ * is answered from this one row. A missing row means nothing was written since the counters
+ * were introduced (version 0).
+ */
+@Entity
+@Table(name = "user_data_versions")
+public class UserDataVersion {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "profile_version", nullable = false)
+    private long profileVersion;
+    
+    @Column(name = "progress_version", nullable = false)
+    private long progressVersion;
+    
+    @Column(name = "bmi_version", nullable = false)
+    private long bmiVersion;
+    
+    // Constructors
+    public UserDataVersion() {}
+    
+    // Getters
+    public Long getUserId() { return userId; }
+    
+    public long getProfileVersion() { return profileVersion; }
+    
+    public long getProgressVersion() { return progressVersion; }
+    
+    public long getBmiVersion() { return bmiVersion; }
+}
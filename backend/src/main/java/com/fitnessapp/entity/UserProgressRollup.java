@@ -0,0 +1,156 @@
+package com.fitnessapp.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Entity
+@Table(name = "user_progress_rollup")
+public class UserProgressRollup {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    // All-time running totals
+    @Column(name = "total_entries", nullable = false)
+    private long totalEntries;
+    
+    @Column(name = "total_completed_workouts", nullable = false)
+    private long totalCompletedWorkouts;
+    
+    @Column(name = "total_calories_consumed", nullable = false)
+    private long totalCaloriesConsumed;
+    
+    @Column(name = "total_calories_burned", nullable = false)
+    private long totalCaloriesBurned;
+    
+    // Sums and counts over the 30 most recent progress records
+    @Column(name = "window_start_date")
+    private LocalDate windowStartDate;
+    
+    @Column(name = "window_entries", nullable = false)
+    private int windowEntries;
+    
+    @Column(name = "window_completed_workouts", nullable = false)
+    private int windowCompletedWorkouts;
+    
+    @Column(name = "window_calories_consumed_sum", nullable = false)
+    private long windowCaloriesConsumedSum;
+    
+    @Column(name = "window_calories_consumed_count", nullable = false)
+    private int windowCaloriesConsumedCount;
+    
+    @Column(name = "window_calories_burned_sum", nullable = false)
+    private long windowCaloriesBurnedSum;
+    
+    @Column(name = "window_calories_burned_count", nullable = false)
+    private int windowCaloriesBurnedCount;
+    
+    // Latest run of consecutive completed workout days, and the longest run ever
+    @Column(name = "current_streak_start")
+    private LocalDate currentStreakStart;
+    
+    @Column(name = "current_streak_end")
+    private LocalDate currentStreakEnd;
+    
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak;
+    
+    // Last day moved to the user's archived segment; progress up to and including it is read-only
+    @Column(name = "archived_through")
+    private LocalDate archivedThrough;
+    
+    // Set on placeholder rows that still need a full recompute
+    @Column(nullable = false)
+    private boolean stale;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public UserProgressRollup() {}
+    
+    public UserProgressRollup(Long userId) {
+        this.userId = userId;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public double getAvgCaloriesConsumed() {
+        return windowCaloriesConsumedCount == 0 ? 0.0 : (double) windowCaloriesConsumedSum / windowCaloriesConsumedCount;
+    }
+    
+    public double getAvgCaloriesBurned() {
+        return windowCaloriesBurnedCount == 0 ? 0.0 : (double) windowCaloriesBurnedSum / windowCaloriesBurnedCount;
+    }
+    
+    // Length of the latest streak, or 0 once a full day has passed since it ended
+    public int getCurrentStreak(LocalDate today) {
+        if (currentStreakEnd == null || currentStreakEnd.isBefore(today.minusDays(1))) {
+            return 0;
+        }
+        return (int) ChronoUnit.DAYS.between(currentStreakStart, currentStreakEnd) + 1;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public long getTotalEntries() { return totalEntries; }
+    public void setTotalEntries(long totalEntries) { this.totalEntries = totalEntries; }
+    
+    public long getTotalCompletedWorkouts() { return totalCompletedWorkouts; }
+    public void setTotalCompletedWorkouts(long totalCompletedWorkouts) { this.totalCompletedWorkouts = totalCompletedWorkouts; }
+    
+    public long getTotalCaloriesConsumed() { return totalCaloriesConsumed; }
+    public void setTotalCaloriesConsumed(long totalCaloriesConsumed) { this.totalCaloriesConsumed = totalCaloriesConsumed; }
+    
+    public long getTotalCaloriesBurned() { return totalCaloriesBurned; }
+    public void setTotalCaloriesBurned(long totalCaloriesBurned) { this.totalCaloriesBurned = totalCaloriesBurned; }
+    
+    public LocalDate getWindowStartDate() { return windowStartDate; }
+    public void setWindowStartDate(LocalDate windowStartDate) { this.windowStartDate = windowStartDate; }
+    
+    public int getWindowEntries() { return windowEntries; }
+    public void setWindowEntries(int windowEntries) { this.windowEntries = windowEntries; }
+    
+    public int getWindowCompletedWorkouts() { return windowCompletedWorkouts; }
+    public void setWindowCompletedWorkouts(int windowCompletedWorkouts) { this.windowCompletedWorkouts = windowCompletedWorkouts; }
+    
+    public long getWindowCaloriesConsumedSum() { return windowCaloriesConsumedSum; }
+    public void setWindowCaloriesConsumedSum(long windowCaloriesConsumedSum) { this.windowCaloriesConsumedSum = windowCaloriesConsumedSum; }
+    
+    public int getWindowCaloriesConsumedCount() { return windowCaloriesConsumedCount; }
+    public void setWindowCaloriesConsumedCount(int windowCaloriesConsumedCount) { this.windowCaloriesConsumedCount = windowCaloriesConsumedCount; }
+    
+    public long getWindowCaloriesBurnedSum() { return windowCaloriesBurnedSum; }
+    public void setWindowCaloriesBurnedSum(long windowCaloriesBurnedSum) { this.windowCaloriesBurnedSum = windowCaloriesBurnedSum; }
+    
+    public int getWindowCaloriesBurnedCount() { return windowCaloriesBurnedCount; }
+    public void setWindowCaloriesBurnedCount(int windowCaloriesBurnedCount) { this.windowCaloriesBurnedCount = windowCaloriesBurnedCount; }
+    
+    public LocalDate getCurrentStreakStart() { return currentStreakStart; }
+    public void setCurrentStreakStart(LocalDate currentStreakStart) { this.currentStreakStart = currentStreakStart; }
+    
+    public LocalDate getCurrentStreakEnd() { return currentStreakEnd; }
+    public void setCurrentStreakEnd(LocalDate currentStreakEnd) { this.currentStreakEnd = currentStreakEnd; }
+    
+    public int getLongestStreak() { return longestStreak; }
+    public void setLongestStreak(int longestStreak) { this.longestStreak = longestStreak; }
+    
+    public LocalDate getArchivedThrough() { return archivedThrough; }
+    public void setArchivedThrough(LocalDate archivedThrough) { this.archivedThrough = archivedThrough; }
+    
+    public boolean isStale() { return stale; }
+    public void setStale(boolean stale) { this.stale = stale; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
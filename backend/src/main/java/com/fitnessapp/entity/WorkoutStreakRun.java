@@ -0,0 +1,65 @@
+package com.fitnessapp.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A maximal run of consecutive days with a completed workout for one user.
+ */
+@Entity
+@Table(name = "workout_streak_runs",
+       uniqueConstraints = @UniqueConstraint(name = "uk_streak_runs_user_start", columnNames = {"user_id", "start_date"}),
+       indexes = @Index(name = "idx_streak_runs_user_end", columnList = "user_id, end_date"))
+public class WorkoutStreakRun {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+    
+    // Number of days from start to end inclusive, kept in sync by the setters
+    @Column(nullable = false)
+    private int days;
+    
+    // Constructors
+    public WorkoutStreakRun() {}
+    
+    public WorkoutStreakRun(Long userId, LocalDate startDate, LocalDate endDate) {
+        this.userId = userId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        resize();
+    }
+    
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+    
+    private void resize() {
+        days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; resize(); }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; resize(); }
+    
+    public int getDays() { return days; }
+}
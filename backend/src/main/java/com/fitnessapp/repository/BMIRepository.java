@@ -1,14 +1,22 @@
 package com.fitnessapp.repository;
 
+import com.fitnessapp.dto.BMIView;
 import com.fitnessapp.entity.BMI;
 import com.fitnessapp.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BMIRepository extends JpaRepository<BMI, Long> {
@@ -17,9 +25,36 @@ public interface BMIRepository extends JpaRepository<BMI, Long> {
     
     Optional<BMI> findFirstByUserOrderByCalculatedAtDesc(User user);
     
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.fitnessapp.dto.BMIView(b.id, b.weight, b.height, b.bmiValue, b.category, " +
+           "b.minHealthyWeight, b.maxHealthyWeight, b.calculatedAt) " +
+           "FROM BMI b WHERE b.user.id = :userId ORDER BY b.calculatedAt DESC, b.id DESC")
+    List<BMIView> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.fitnessapp.dto.BMIView(b.id, b.weight, b.height, b.bmiValue, b.category, " +
+           "b.minHealthyWeight, b.maxHealthyWeight, b.calculatedAt) " +
+           "FROM BMI b WHERE b.user.id = :userId " +
+           "AND (b.calculatedAt < :calculatedAt OR (b.calculatedAt = :calculatedAt AND b.id < :id)) " +
+           "ORDER BY b.calculatedAt DESC, b.id DESC")
+    List<BMIView> findPageByUserIdAfter(@Param("userId") Long userId, 
+                                        @Param("calculatedAt") LocalDateTime calculatedAt, 
+                                        @Param("id") Long id, 
+                                        Pageable pageable);
+    
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.fitnessapp.dto.BMIView(b.id, b.weight, b.height, b.bmiValue, b.category, " +
+           "b.minHealthyWeight, b.maxHealthyWeight, b.calculatedAt) " +
+           "FROM BMI b WHERE b.user.id = :userId ORDER BY b.calculatedAt DESC, b.id DESC LIMIT 1")
+    Optional<BMIView> findLatestViewByUserId(@Param("userId") Long userId);
+    
     @Query("SELECT b FROM BMI b WHERE b.user.id = :userId ORDER BY b.calculatedAt DESC")
     List<BMI> findBMIHistoryByUserId(@Param("userId") Long userId);
     
     @Query("SELECT b FROM BMI b WHERE b.user.id = :userId ORDER BY b.calculatedAt DESC LIMIT 1")
     Optional<BMI> findLatestBMIByUserId(@Param("userId") Long userId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM BMI b WHERE b.user.id = :userId ORDER BY b.calculatedAt, b.id")
+    Stream<BMI> streamByUserId(@Param("userId") Long userId);
 }
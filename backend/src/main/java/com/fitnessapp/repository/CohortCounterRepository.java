@@ -0,0 +1,27 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.dto.CohortStats;
+import com.fitnessapp.entity.CohortCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface CohortCounterRepository extends JpaRepository<CohortCounter, CohortCounter.Key>, CohortCounterRepositoryCustom {
+    
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.fitnessapp.dto.CohortStats(c.cohort, SUM(c.userCount), SUM(c.bmiCount), SUM(c.bmiSum), " +
+           "SUM(c.progressEntries), SUM(c.completedWorkouts)) " +
+           "FROM CohortCounter c WHERE c.dimension = :dimension " +
+           "GROUP BY c.cohort HAVING SUM(c.userCount) > 0 ORDER BY c.cohort")
+    List<CohortStats> findStatsByDimension(@Param("dimension") String dimension);
+    
+    @Modifying
+    @Query("DELETE FROM CohortCounter c")
+    int deleteAllCounters();
+}
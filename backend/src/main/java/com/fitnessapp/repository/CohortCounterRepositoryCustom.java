@@ -0,0 +1,21 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.dto.CohortDelta;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CohortCounterRepositoryCustom {
+    
+    /**
+     * Adds the deltas to their counter rows in one statement, creating missing rows. Rows are
+     * written in key order so concurrent callers lock them in the same order.
+     */
+    void addAll(List<CohortDelta> deltas);
+    
+    /**
+     * Streams one row per user for reconciliation: id, fitness goal, workout preference, diet
+     * preference, latest BMI value (or null), progress entry count and completed workout count.
+     */
+    Stream<Object[]> streamUserCohortTotals();
+}
@@ -0,0 +1,95 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.dto.CohortDelta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Native statements for {@link CohortCounterRepository}. The increment uses MySQL's
+ * INSERT ... ON DUPLICATE KEY UPDATE, which H2 also accepts in MODE=MySQL.
+ */
+public class CohortCounterRepositoryImpl implements CohortCounterRepositoryCustom {
+    
+    private static final String ADD_SQL_PREFIX =
+        "INSERT INTO cohort_counters (dimension, cohort, shard, user_count, bmi_count, bmi_sum, " +
+        "progress_entries, completed_workouts, updated_at) VALUES ";
+    
+    private static final String ADD_SQL_SUFFIX =
+        " ON DUPLICATE KEY UPDATE " +
+        "user_count = user_count + VALUES(user_count), " +
+        "bmi_count = bmi_count + VALUES(bmi_count), " +
+        "bmi_sum = bmi_sum + VALUES(bmi_sum), " +
+        "progress_entries = progress_entries + VALUES(progress_entries), " +
+        "completed_workouts = completed_workouts + VALUES(completed_workouts), " +
+        "updated_at = VALUES(updated_at)";
+    
+    // Correlated lookups ride the (user_id, calculated_at) and (user_id, date) indexes once per
+    // user; a derived table with a window function is re-evaluated per row by some engines (H2).
+    // Progress totals include the user's archived records (progress_archives).
+    private static final String USER_TOTALS_SQL =
+        "SELECT u.id, u.fitness_goal, u.workout_preference, u.diet_preference, " +
+        "(SELECT b.bmi_value FROM bmi_records b WHERE b.user_id = u.id " +
+        " ORDER BY b.calculated_at DESC, b.id DESC LIMIT 1), " +
+        "(SELECT COUNT(*) FROM progress_records p WHERE p.user_id = u.id) " +
+        " + COALESCE((SELECT a.record_count FROM progress_archives a WHERE a.user_id = u.id), 0), " +
+        "(SELECT COALESCE(SUM(CASE WHEN p.workout_completed = TRUE THEN 1 ELSE 0 END), 0) " +
+        " FROM progress_records p WHERE p.user_id = u.id) " +
+        " + COALESCE((SELECT a.completed_workouts FROM progress_archives a WHERE a.user_id = u.id), 0) " +
+        "FROM users u";
+    
+    private static final Comparator<CohortDelta> KEY_ORDER = Comparator.comparing(CohortDelta::dimension)
+        .thenComparing(CohortDelta::cohort)
+        .thenComparingInt(CohortDelta::shard);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public void addAll(List<CohortDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<CohortDelta> ordered = new ArrayList<>(deltas);
+        ordered.sort(KEY_ORDER);
+        
+        StringBuilder sql = new StringBuilder(ADD_SQL_PREFIX);
+        for (int i = 0; i < ordered.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(:dimension").append(i).append(", :cohort").append(i).append(", :shard").append(i)
+               .append(", :users").append(i).append(", :bmiCount").append(i).append(", :bmiSum").append(i)
+               .append(", :entries").append(i).append(", :completed").append(i).append(", :now)");
+        }
+        sql.append(ADD_SQL_SUFFIX);
+        
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < ordered.size(); i++) {
+            CohortDelta delta = ordered.get(i);
+            query.setParameter("dimension" + i, delta.dimension());
+            query.setParameter("cohort" + i, delta.cohort());
+            query.setParameter("shard" + i, delta.shard());
+            query.setParameter("users" + i, delta.users());
+            query.setParameter("bmiCount" + i, delta.bmiCount());
+            query.setParameter("bmiSum" + i, delta.bmiSum());
+            query.setParameter("entries" + i, delta.progressEntries());
+            query.setParameter("completed" + i, delta.completedWorkouts());
+        }
+        query.setParameter("now", LocalDateTime.now());
+        query.executeUpdate();
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<Object[]> streamUserCohortTotals() {
+        return entityManager.createNativeQuery(USER_TOTALS_SQL)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+            .getResultStream();
+    }
+}
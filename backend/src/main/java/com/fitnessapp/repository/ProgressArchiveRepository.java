@@ -0,0 +1,9 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.entity.ProgressArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProgressArchiveRepository extends JpaRepository<ProgressArchive, Long> {
+}
@@ -1,31 +1,109 @@
 package com.fitnessapp.repository;
 
+import com.fitnessapp.dto.ProgressView;
 import com.fitnessapp.entity.Progress;
 import com.fitnessapp.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProgressRepository extends JpaRepository<Progress, Long> {
+public interface ProgressRepository extends JpaRepository<Progress, Long>, ProgressRepositoryCustom {
     
     Optional<Progress> findByUserAndDate(User user, LocalDate date);
     
     List<Progress> findByUserOrderByDateDesc(User user);
     
+    @Query("SELECT p FROM Progress p WHERE p.user.id = :userId AND p.date = :date")
+    Optional<Progress> findByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+    
+    // A user has one record per day, so the date alone orders and seeks pages; adding the id
+    // would make MySQL sort all of the user's rows instead of reading them off uk_progress_user_date
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.fitnessapp.dto.ProgressView(p.id, p.date, p.caloriesConsumed, p.caloriesBurned, p.workoutCompleted, " +
+           "p.waterIntake, p.mealsCompleted, p.currentWeight, p.createdAt, p.updatedAt) " +
+           "FROM Progress p WHERE p.user.id = :userId ORDER BY p.date DESC")
+    List<ProgressView> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.fitnessapp.dto.ProgressView(p.id, p.date, p.caloriesConsumed, p.caloriesBurned, p.workoutCompleted, " +
+           "p.waterIntake, p.mealsCompleted, p.currentWeight, p.createdAt, p.updatedAt) " +
+           "FROM Progress p WHERE p.user.id = :userId " +
+           "AND p.date < :date ORDER BY p.date DESC")
+    List<ProgressView> findPageByUserIdAfter(@Param("userId") Long userId, 
+                                             @Param("date") LocalDate date, 
+                                             Pageable pageable);
+    
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.fitnessapp.dto.ProgressView(p.id, p.date, p.caloriesConsumed, p.caloriesBurned, p.workoutCompleted, " +
+           "p.waterIntake, p.mealsCompleted, p.currentWeight, p.createdAt, p.updatedAt) " +
+           "FROM Progress p WHERE p.user.id = :userId AND p.date = :date")
+    Optional<ProgressView> findViewByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+    
+    @Query("SELECT p FROM Progress p WHERE p.user.id = :userId AND p.date IN :dates")
+    List<Progress> findByUserIdAndDateIn(@Param("userId") Long userId, 
+                                         @Param("dates") Collection<LocalDate> dates);
+    
     @Query("SELECT p FROM Progress p WHERE p.user.id = :userId AND p.date BETWEEN :startDate AND :endDate ORDER BY p.date DESC")
     List<Progress> findProgressByUserIdAndDateRange(@Param("userId") Long userId, 
                                                    @Param("startDate") LocalDate startDate, 
                                                    @Param("endDate") LocalDate endDate);
     
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.fitnessapp.dto.ProgressView(p.id, p.date, p.caloriesConsumed, p.caloriesBurned, p.workoutCompleted, " +
+           "p.waterIntake, p.mealsCompleted, p.currentWeight, p.createdAt, p.updatedAt) " +
+           "FROM Progress p WHERE p.user.id = :userId AND p.date BETWEEN :startDate AND :endDate ORDER BY p.date DESC")
+    List<ProgressView> findProgressViewsByUserIdAndDateRange(@Param("userId") Long userId, 
+                                                             @Param("startDate") LocalDate startDate, 
+                                                             @Param("endDate") LocalDate endDate);
+    
     @Query("SELECT p FROM Progress p WHERE p.user.id = :userId ORDER BY p.date DESC LIMIT 30")
     List<Progress> findLast30DaysProgressByUserId(@Param("userId") Long userId);
     
     @Query("SELECT COUNT(p) FROM Progress p WHERE p.user.id = :userId AND p.workoutCompleted = true")
     long countCompletedWorkoutsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT p.date FROM Progress p WHERE p.user.id = :userId AND p.workoutCompleted = true ORDER BY p.date")
+    List<LocalDate> findCompletedWorkoutDatesByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT COUNT(p) AS entries, " +
+           "COALESCE(SUM(CASE WHEN p.workoutCompleted = true THEN 1 ELSE 0 END), 0) AS completedWorkouts, " +
+           "COALESCE(SUM(p.caloriesConsumed), 0) AS caloriesConsumed, " +
+           "COALESCE(SUM(p.caloriesBurned), 0) AS caloriesBurned " +
+           "FROM Progress p WHERE p.user.id = :userId")
+    ProgressTotals sumProgressTotalsByUserId(@Param("userId") Long userId);
+    
+    interface ProgressTotals {
+        long getEntries();
+        long getCompletedWorkouts();
+        long getCaloriesConsumed();
+        long getCaloriesBurned();
+    }
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Progress p WHERE p.user.id = :userId ORDER BY p.date, p.id")
+    Stream<Progress> streamByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT DISTINCT p.user.id FROM Progress p WHERE p.date < :cutoff")
+    List<Long> findUserIdsWithProgressBefore(@Param("cutoff") LocalDate cutoff);
+    
+    @Query("SELECT p FROM Progress p WHERE p.user.id = :userId AND p.date < :cutoff ORDER BY p.date")
+    List<Progress> findByUserIdAndDateBefore(@Param("userId") Long userId, @Param("cutoff") LocalDate cutoff);
+    
+    @Modifying
+    @Query("DELETE FROM Progress p WHERE p.user.id = :userId AND p.date < :cutoff")
+    int deleteByUserIdAndDateBefore(@Param("userId") Long userId, @Param("cutoff") LocalDate cutoff);
 }
@@ -0,0 +1,21 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.dto.ProgressEntry;
+
+import java.time.LocalDateTime;
+
+public interface ProgressRepositoryCustom {
+    
+    /**
+     * Allocates an id from the progress_records sequence for rows written outside of JPA.
+     */
+    Long nextProgressId();
+    
+    /**
+     * Inserts the (userId, entry.date) row, or merges the entry's non-null fields into the
+     * existing row, in a single statement. Relies on the unique (user_id, date) index.
+     * The id is only used when a new row is inserted; if it belongs to another row the
+     * statement fails rather than touching that row.
+     */
+    int upsertProgress(Long id, Long userId, ProgressEntry entry, LocalDateTime now);
+}
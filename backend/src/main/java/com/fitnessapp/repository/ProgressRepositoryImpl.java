@@ -0,0 +1,68 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.entity.Progress;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Native statements for {@link ProgressRepository}. The upsert uses MySQL's
+ * INSERT ... ON DUPLICATE KEY UPDATE, which H2 also accepts in MODE=MySQL.
+ */
+public class ProgressRepositoryImpl implements ProgressRepositoryCustom {
+    
+    private static final String UPSERT_SQL =
+        "INSERT INTO progress_records (id, user_id, date, calories_consumed, calories_burned, workout_completed, " +
+        "water_intake, meals_completed, current_weight, created_at, updated_at) " +
+        "VALUES (:id, :userId, :date, COALESCE(:caloriesConsumed, 0), COALESCE(:caloriesBurned, 0), " +
+        "COALESCE(:workoutCompleted, FALSE), COALESCE(:waterIntake, 0), COALESCE(:mealsCompleted, 0), " +
+        ":currentWeight, :now, :now) " +
+        "ON DUPLICATE KEY UPDATE " +
+        // An id clashing with another user's or day's row fails the statement (user_id is NOT NULL)
+        // instead of overwriting that row; assigned first, so it compares the row's own values
+        "user_id = CASE WHEN user_id = :userId AND date = :date THEN user_id END, " +
+        "calories_consumed = COALESCE(:caloriesConsumed, calories_consumed), " +
+        "calories_burned = COALESCE(:caloriesBurned, calories_burned), " +
+        "workout_completed = COALESCE(:workoutCompleted, workout_completed), " +
+        "water_intake = COALESCE(:waterIntake, water_intake), " +
+        "meals_completed = COALESCE(:mealsCompleted, meals_completed), " +
+        "current_weight = COALESCE(:currentWeight, current_weight), " +
+        "updated_at = :now";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Long nextProgressId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        // The entity's pooled sequence generator: only one in allocationSize calls reaches the database
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+            .getEntityDescriptor(Progress.class)
+            .getGenerator();
+        return (Long) generator.generate(session, null, null, EventType.INSERT);
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public int upsertProgress(Long id, Long userId, ProgressEntry entry, LocalDateTime now) {
+        NativeQuery<?> query = entityManager.createNativeQuery(UPSERT_SQL).unwrap(NativeQuery.class);
+        query.setParameter("id", id, StandardBasicTypes.LONG);
+        query.setParameter("userId", userId, StandardBasicTypes.LONG);
+        query.setParameter("date", entry.getDate(), StandardBasicTypes.LOCAL_DATE);
+        query.setParameter("caloriesConsumed", entry.getCaloriesConsumed(), StandardBasicTypes.INTEGER);
+        query.setParameter("caloriesBurned", entry.getCaloriesBurned(), StandardBasicTypes.INTEGER);
+        query.setParameter("workoutCompleted", entry.getWorkoutCompleted(), StandardBasicTypes.BOOLEAN);
+        query.setParameter("waterIntake", entry.getWaterIntake(), StandardBasicTypes.INTEGER);
+        query.setParameter("mealsCompleted", entry.getMealsCompleted(), StandardBasicTypes.INTEGER);
+        query.setParameter("currentWeight", entry.getCurrentWeight(), StandardBasicTypes.DOUBLE);
+        query.setParameter("now", now, StandardBasicTypes.LOCAL_DATE_TIME);
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,38 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.entity.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+    
+    @Transactional(readOnly = true)
+    @Query("SELECT v FROM UserDataVersion v WHERE v.userId = :userId")
+    Optional<UserDataVersion> findByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_data_versions (user_id, profile_version, progress_version, bmi_version) " +
+                   "VALUES (:userId, 1, 0, 0) ON DUPLICATE KEY UPDATE profile_version = profile_version + 1", nativeQuery = true)
+    int incrementProfileVersion(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_data_versions (user_id, profile_version, progress_version, bmi_version) " +
+                   "VALUES (:userId, 0, 1, 0) ON DUPLICATE KEY UPDATE progress_version = progress_version + 1", nativeQuery = true)
+    int incrementProgressVersion(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_data_versions (user_id, profile_version, progress_version, bmi_version) " +
+                   "VALUES (:userId, 0, 0, 1) ON DUPLICATE KEY UPDATE bmi_version = bmi_version + 1", nativeQuery = true)
+    int incrementBmiVersion(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM UserDataVersion v WHERE v.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,36 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.entity.UserProgressRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserProgressRollupRepository extends JpaRepository<UserProgressRollup, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM UserProgressRollup r WHERE r.userId = :userId")
+    Optional<UserProgressRollup> findByUserIdForUpdate(@Param("userId") Long userId);
+    
+    // The locked rollup paired with the user's progress record for the date (null if there is none)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r, p FROM UserProgressRollup r LEFT JOIN Progress p ON p.user.id = r.userId AND p.date = :date " +
+           "WHERE r.userId = :userId")
+    List<Object[]> findByUserIdForUpdateWithDay(@Param("userId") Long userId, @Param("date") LocalDate date);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_progress_rollup (user_id, total_entries, total_completed_workouts, " +
+                   "total_calories_consumed, total_calories_burned, window_entries, window_completed_workouts, " +
+                   "window_calories_consumed_sum, window_calories_consumed_count, window_calories_burned_sum, " +
+                   "window_calories_burned_count, longest_streak, stale) VALUES (:userId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, TRUE) " +
+                   "ON DUPLICATE KEY UPDATE user_id = user_id", nativeQuery = true)
+    int insertStaleIfAbsent(@Param("userId") Long userId);
+}
@@ -1,23 +1,45 @@
 package com.fitnessapp.repository;
 
 import com.fitnessapp.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
-    Optional<User> findByEmail(String email);
+    @Transactional(readOnly = true)
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.focusAreas WHERE u.id = :id")
+    Optional<User> findWithFocusAreasById(@Param("id") Long id);
     
-    boolean existsByEmail(String email);
+    @Transactional(readOnly = true)
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.focusAreas WHERE u.emailNormalized = :emailNormalized")
+    Optional<User> findWithFocusAreasByEmailNormalized(@Param("emailNormalized") String emailNormalized);
     
-    @Query("SELECT u FROM User u WHERE u.email = :email")
-    Optional<User> findUserByEmail(@Param("email") String email);
+    // Serializes a user's BMI writes, see BmiService
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT u.emailNormalized FROM User u WHERE u.emailNormalized IN :emailsNormalized")
+    List<String> findExistingEmailsNormalized(@Param("emailsNormalized") Collection<String> emailsNormalized);
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.fitnessGoal = :goal")
     long countByFitnessGoal(@Param("goal") String goal);
+    
+    // Not read-only, so it runs on the primary: a demotion or deletion takes effect at once
+    @Transactional
+    @Query("SELECT u.admin FROM User u WHERE u.id = :id")
+    Optional<Boolean> findAdminById(@Param("id") Long id);
+    
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,16 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.entity.User;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+    
+    /**
+     * Inserts new users and their focus areas as JDBC batches, bypassing the persistence
+     * context (IDENTITY ids keep Hibernate from batching user inserts). Generated ids and
+     * timestamps are set on the given instances, which stay detached. Fails with a
+     * DataIntegrityViolationException if any email already exists.
+     */
+    void insertAll(List<User> users);
+}
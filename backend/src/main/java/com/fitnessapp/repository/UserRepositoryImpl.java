@@ -0,0 +1,88 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.entity.FocusArea;
+import com.fitnessapp.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batched inserts for {@link UserRepository}. With rewriteBatchedStatements the MySQL driver
+ * sends each batch as one multi-row INSERT and still returns every generated key.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (email, email_normalized, name, age, gender, weight, height, fitness_goal, " +
+        "workout_preference, diet_preference, created_at, updated_at, is_admin) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)";
+    
+    private static final String INSERT_FOCUS_AREA_SQL =
+        "INSERT INTO user_focus_areas (user_id, focus_areas) VALUES (?, ?)";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public void insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (User user : users) {
+                    insert.setString(1, user.getEmail());
+                    insert.setString(2, user.getEmailNormalized());
+                    insert.setString(3, user.getName());
+                    insert.setInt(4, user.getAge());
+                    insert.setString(5, user.getGender());
+                    insert.setDouble(6, user.getWeight());
+                    insert.setDouble(7, user.getHeight());
+                    insert.setString(8, user.getFitnessGoal());
+                    insert.setString(9, user.getWorkoutPreference());
+                    insert.setString(10, user.getDietPreference());
+                    insert.setTimestamp(11, Timestamp.valueOf(now));
+                    insert.setTimestamp(12, Timestamp.valueOf(now));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    for (User user : users) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated key for " + user.getEmail());
+                        }
+                        user.setId(keys.getLong(1));
+                        user.setCreatedAt(now);
+                        user.setUpdatedAt(now);
+                    }
+                }
+            }
+            
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_FOCUS_AREA_SQL)) {
+                int rows = 0;
+                for (User user : users) {
+                    if (user.getFocusAreas() == null) {
+                        continue;
+                    }
+                    for (FocusArea area : user.getFocusAreas()) {
+                        insert.setLong(1, user.getId());
+                        insert.setString(2, area.name());
+                        insert.addBatch();
+                        rows++;
+                    }
+                }
+                if (rows > 0) {
+                    insert.executeBatch();
+                }
+            }
+        });
+    }
+}
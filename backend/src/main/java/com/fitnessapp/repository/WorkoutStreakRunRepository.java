@@ -0,0 +1,31 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.entity.WorkoutStreakRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface WorkoutStreakRunRepository extends JpaRepository<WorkoutStreakRun, Long> {
+    
+    // Runs never overlap, so only the first run ending on or after a date can contain it
+    Optional<WorkoutStreakRun> findFirstByUserIdAndEndDateGreaterThanEqualOrderByEndDateAsc(Long userId, LocalDate date);
+    
+    Optional<WorkoutStreakRun> findByUserIdAndEndDate(Long userId, LocalDate endDate);
+    
+    Optional<WorkoutStreakRun> findByUserIdAndStartDate(Long userId, LocalDate startDate);
+    
+    Optional<WorkoutStreakRun> findFirstByUserIdOrderByEndDateDesc(Long userId);
+    
+    @Query("SELECT COALESCE(MAX(r.days), 0) FROM WorkoutStreakRun r WHERE r.userId = :userId")
+    int findLongestDaysByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM WorkoutStreakRun r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,21 @@
+package com.fitnessapp.service;
+
+import java.time.LocalDate;
+
+/**
+ * Thrown when a progress write targets a day that has already been moved to the user's
+ * archived segment; archived history is read-only.
+ */
+public class ArchivedProgressException extends RuntimeException {
+
+    private final LocalDate archivedThrough;
+
+    public ArchivedProgressException(LocalDate archivedThrough) {
+        super("Progress up to " + archivedThrough + " is archived and can no longer be changed");
+        this.archivedThrough = archivedThrough;
+    }
+
+    public LocalDate getArchivedThrough() {
+        return archivedThrough;
+    }
+}
@@ -0,0 +1,49 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.BMIView;
+import com.fitnessapp.entity.BMI;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.BMIRepository;
+import com.fitnessapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * BMI writes. Recording a measurement locks the user's row first, so concurrent measurements of
+ * one user are applied one after another and each sees the one before it as the latest. The
+ * BMI row, the data version and the cohort counters change in the same transaction.
+ */
+@Service
+public class BmiService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BMIRepository bmiRepository;
+
+    @Autowired
+    private DataVersionService versions;
+
+    @Autowired
+    private CohortStatsService cohortStats;
+
+    /**
+     * Saves a measurement for the user, or returns empty if there is no such user.
+     */
+    @Transactional
+    public Optional<BMI> record(Long userId, Double weight, Double height) {
+        Optional<User> user = userRepository.findByIdForUpdate(userId);
+        if (user.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<BMIView> previous = bmiRepository.findLatestViewByUserId(userId);
+        BMI savedBMI = bmiRepository.save(new BMI(user.get(), weight, height));
+        versions.bmiChanged(userId);
+        cohortStats.bmiRecorded(userId, previous.map(BMIView::bmiValue).orElse(null), savedBMI.getBmiValue());
+        return Optional.of(savedBMI);
+    }
+}
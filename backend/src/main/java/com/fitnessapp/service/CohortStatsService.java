@@ -0,0 +1,325 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.BMIView;
+import com.fitnessapp.dto.CachedUser;
+import com.fitnessapp.dto.CohortDelta;
+import com.fitnessapp.dto.CohortStats;
+import com.fitnessapp.entity.CohortCounter;
+import com.fitnessapp.entity.ProgressArchive;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.BMIRepository;
+import com.fitnessapp.repository.CohortCounterRepository;
+import com.fitnessapp.repository.ProgressArchiveRepository;
+import com.fitnessapp.repository.ProgressRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps per-cohort user counts, average latest BMI and workout totals for the fitnessGoal,
+ * workoutPreference and dietPreference dimensions in {@link CohortCounter} rows, so reads sum
+ * a few shard rows instead of scanning users. Writers call the hooks below with the change
+ * they made; each hook is one upsert. Counters can drift (e.g. an increment racing with a
+ * reconciliation, or rounding in the BMI sums), so they are periodically recomputed from the
+ * source tables ({@code app.cohorts.reconcile-interval-ms}, 0 disables).
+ */
+@Service
+public class CohortStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CohortStatsService.class);
+
+    public static final String FITNESS_GOAL = "fitnessGoal";
+    public static final String WORKOUT_PREFERENCE = "workoutPreference";
+    public static final String DIET_PREFERENCE = "dietPreference";
+    public static final List<String> DIMENSIONS = List.of(FITNESS_GOAL, WORKOUT_PREFERENCE, DIET_PREFERENCE);
+
+    // Cohort value for users who left a dimension empty
+    public static final String UNSPECIFIED = "UNSPECIFIED";
+
+    private static final int SHARDS = 16;
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    @Autowired
+    private CohortCounterRepository counterRepository;
+
+    @Autowired
+    private BMIRepository bmiRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private ProgressArchiveRepository archiveRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final long reconcileIntervalMillis;
+    private ScheduledExecutorService reconciler;
+
+    public CohortStatsService(@Value("${app.cohorts.reconcile-interval-ms:3600000}") long reconcileIntervalMillis) {
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        if (reconcileIntervalMillis <= 0) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cohort-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalMillis, reconcileIntervalMillis,
+                                          TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    public List<CohortStats> getStats(String dimension) {
+        return counterRepository.findStatsByDimension(dimension);
+    }
+
+    @Transactional
+    public void userAdded(User user) {
+        add(user.getId(), Cohorts.of(user), 1, 0, 0, 0, 0);
+    }
+
+    /**
+     * Adds many new users in one counter statement, inside the caller's insert transaction.
+     */
+    public void usersAdded(List<User> users) {
+        Map<CohortCounter.Key, CohortDelta> deltas = new HashMap<>();
+        for (User user : users) {
+            collect(deltas, user.getId(), Cohorts.of(user), 1, 0, 0, 0, 0);
+        }
+        counterRepository.addAll(nonZero(deltas));
+    }
+
+    /**
+     * Removes a user and everything they contributed. Call before the user's BMI and progress
+     * rows are deleted.
+     */
+    @Transactional
+    public void userRemoved(Long userId, Cohorts cohorts) {
+        UserTotals totals = totalsOf(userId);
+        add(userId, cohorts, -1, -totals.bmiCount, -totals.bmiSum, -totals.progressEntries, -totals.completedWorkouts);
+    }
+
+    /**
+     * Moves a user and their current totals between cohorts after a profile change.
+     */
+    @Transactional
+    public void userMoved(Long userId, Cohorts from, Cohorts to) {
+        if (from.equals(to)) {
+            return;
+        }
+        UserTotals totals = totalsOf(userId);
+        Map<CohortCounter.Key, CohortDelta> deltas = new HashMap<>();
+        collect(deltas, userId, from, -1, -totals.bmiCount, -totals.bmiSum, -totals.progressEntries, -totals.completedWorkouts);
+        collect(deltas, userId, to, 1, totals.bmiCount, totals.bmiSum, totals.progressEntries, totals.completedWorkouts);
+        counterRepository.addAll(nonZero(deltas));
+    }
+
+    /**
+     * Records a new latest BMI for a user whose previous latest value was {@code previousBmi}
+     * (null if this is their first).
+     */
+    @Transactional
+    public void bmiRecorded(Long userId, Double previousBmi, double bmi) {
+        Optional<CachedUser> user = userCache.get(userId);
+        if (user.isEmpty()) {
+            return;
+        }
+        if (previousBmi == null) {
+            add(userId, Cohorts.of(user.get()), 0, 1, bmi, 0, 0);
+        } else {
+            add(userId, Cohorts.of(user.get()), 0, 0, bmi - previousBmi, 0, 0);
+        }
+    }
+
+    /**
+     * Adds progress deltas inside the caller's progress transaction.
+     */
+    public void progressChanged(Long userId, long entries, long completedWorkouts) {
+        if (entries == 0 && completedWorkouts == 0) {
+            return;
+        }
+        userCache.get(userId).ifPresent(user -> add(userId, Cohorts.of(user), 0, 0, 0, entries, completedWorkouts));
+    }
+
+    /**
+     * Recomputes every counter from users, bmi_records and progress_records and replaces the
+     * stored rows. Returns the number of counter rows that had drifted.
+     */
+    public int reconcile() {
+        Integer drifted = transactionTemplate.execute(status -> {
+            Map<CohortCounter.Key, CohortCounter> fresh = new HashMap<>();
+            try (Stream<Object[]> rows = counterRepository.streamUserCohortTotals()) {
+                rows.forEach(row -> {
+                    Long userId = ((Number) row[0]).longValue();
+                    Cohorts cohorts = new Cohorts((String) row[1], (String) row[2], (String) row[3]);
+                    Double bmi = row[4] == null ? null : ((Number) row[4]).doubleValue();
+                    long entries = ((Number) row[5]).longValue();
+                    long completed = ((Number) row[6]).longValue();
+                    for (String dimension : DIMENSIONS) {
+                        int shard = shardOf(userId);
+                        String cohort = cohorts.get(dimension);
+                        fresh.computeIfAbsent(new CohortCounter.Key(dimension, cohort, shard),
+                                              key -> new CohortCounter(dimension, cohort, shard))
+                             .add(1, bmi == null ? 0 : 1, bmi == null ? 0 : bmi, entries, completed);
+                    }
+                });
+            }
+
+            int changed = 0;
+            for (CohortCounter stored : counterRepository.findAll()) {
+                CohortCounter expected = fresh.get(new CohortCounter.Key(stored.getDimension(), stored.getCohort(), stored.getShard()));
+                if (expected == null ? !stored.isZero() : !sameTotals(stored, expected)) {
+                    changed++;
+                }
+            }
+
+            counterRepository.deleteAllCounters();
+            List<CohortDelta> chunk = new ArrayList<>(RECONCILE_CHUNK_SIZE);
+            for (CohortCounter counter : fresh.values()) {
+                chunk.add(new CohortDelta(counter.getDimension(), counter.getCohort(), counter.getShard(),
+                                          counter.getUserCount(), counter.getBmiCount(), counter.getBmiSum(),
+                                          counter.getProgressEntries(), counter.getCompletedWorkouts()));
+                if (chunk.size() == RECONCILE_CHUNK_SIZE) {
+                    counterRepository.addAll(chunk);
+                    chunk.clear();
+                }
+            }
+            counterRepository.addAll(chunk);
+            return changed;
+        });
+        return drifted == null ? 0 : drifted;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            int drifted = reconcile();
+            if (drifted > 0) {
+                log.info("Cohort reconciliation corrected {} counter rows", drifted);
+            }
+        } catch (Exception e) {
+            log.warn("Cohort reconciliation failed", e);
+        }
+    }
+
+    private void add(Long userId, Cohorts cohorts, long users, long bmiCount, double bmiSum,
+                     long progressEntries, long completedWorkouts) {
+        Map<CohortCounter.Key, CohortDelta> deltas = new HashMap<>();
+        collect(deltas, userId, cohorts, users, bmiCount, bmiSum, progressEntries, completedWorkouts);
+        counterRepository.addAll(nonZero(deltas));
+    }
+
+    // Merges deltas per counter row, so a move within the same cohort cancels out
+    private void collect(Map<CohortCounter.Key, CohortDelta> deltas, Long userId, Cohorts cohorts, long users,
+                         long bmiCount, double bmiSum, long progressEntries, long completedWorkouts) {
+        int shard = shardOf(userId);
+        for (String dimension : DIMENSIONS) {
+            String cohort = cohorts.get(dimension);
+            deltas.merge(new CohortCounter.Key(dimension, cohort, shard),
+                         new CohortDelta(dimension, cohort, shard, users, bmiCount, bmiSum, progressEntries, completedWorkouts),
+                         (a, b) -> new CohortDelta(dimension, cohort, shard, a.users() + b.users(),
+                                                   a.bmiCount() + b.bmiCount(), a.bmiSum() + b.bmiSum(),
+                                                   a.progressEntries() + b.progressEntries(),
+                                                   a.completedWorkouts() + b.completedWorkouts()));
+        }
+    }
+
+    private static List<CohortDelta> nonZero(Map<CohortCounter.Key, CohortDelta> deltas) {
+        List<CohortDelta> result = new ArrayList<>(deltas.size());
+        for (CohortDelta delta : deltas.values()) {
+            if (delta.users() != 0 || delta.bmiCount() != 0 || delta.bmiSum() != 0
+                    || delta.progressEntries() != 0 || delta.completedWorkouts() != 0) {
+                result.add(delta);
+            }
+        }
+        return result;
+    }
+
+    private UserTotals totalsOf(Long userId) {
+        Optional<BMIView> latest = bmiRepository.findLatestViewByUserId(userId);
+        ProgressRepository.ProgressTotals progress = progressRepository.sumProgressTotalsByUserId(userId);
+        Optional<ProgressArchive> archive = archiveRepository.findById(userId);
+        return new UserTotals(latest.isPresent() ? 1 : 0,
+                              latest.map(BMIView::bmiValue).orElse(0.0),
+                              progress.getEntries() + archive.map(ProgressArchive::getRecordCount).orElse(0L),
+                              progress.getCompletedWorkouts() + archive.map(ProgressArchive::getCompletedWorkouts).orElse(0L));
+    }
+
+    private static boolean sameTotals(CohortCounter a, CohortCounter b) {
+        return a.getUserCount() == b.getUserCount()
+            && a.getBmiCount() == b.getBmiCount()
+            && Math.abs(a.getBmiSum() - b.getBmiSum()) < 1e-6
+            && a.getProgressEntries() == b.getProgressEntries()
+            && a.getCompletedWorkouts() == b.getCompletedWorkouts();
+    }
+
+    private static int shardOf(Long userId) {
+        return (int) Math.floorMod(userId, (long) SHARDS);
+    }
+
+    private record UserTotals(long bmiCount, double bmiSum, long progressEntries, long completedWorkouts) {}
+
+    /**
+     * A user's cohort in each dimension.
+     */
+    public record Cohorts(String fitnessGoal, String workoutPreference, String dietPreference) {
+
+        public Cohorts {
+            fitnessGoal = normalize(fitnessGoal);
+            workoutPreference = normalize(workoutPreference);
+            dietPreference = normalize(dietPreference);
+        }
+
+        public static Cohorts of(User user) {
+            return new Cohorts(user.getFitnessGoal(), user.getWorkoutPreference(), user.getDietPreference());
+        }
+
+        public static Cohorts of(CachedUser user) {
+            return new Cohorts(user.getFitnessGoal(), user.getWorkoutPreference(), user.getDietPreference());
+        }
+
+        String get(String dimension) {
+            return switch (dimension) {
+                case FITNESS_GOAL -> fitnessGoal;
+                case WORKOUT_PREFERENCE -> workoutPreference;
+                case DIET_PREFERENCE -> dietPreference;
+                default -> throw new IllegalArgumentException("Unknown cohort dimension: " + dimension);
+            };
+        }
+
+        private static String normalize(String value) {
+            return value == null || value.isBlank() ? UNSPECIFIED : value;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.config.ReplicaRoutingDataSource;
+import com.fitnessapp.config.SqlExecutionListener;
+import com.fitnessapp.dto.BMIView;
+import com.fitnessapp.dto.CachedUser;
+import com.fitnessapp.dto.Dashboard;
+import com.fitnessapp.dto.ProgressStats;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.dto.UserView;
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.repository.BMIRepository;
+import com.fitnessapp.repository.ProgressRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Composes the dashboard for one user: the profile is read through {@link UserCache} on the
+ * request thread, then the latest BMI, today's progress and the stats rollup are read
+ * concurrently on a bounded pool ({@code app.dashboard.threads}). All parts share one deadline
+ * ({@code app.dashboard.part-timeout-ms}); a part that misses it or fails is left out and
+ * reported as unavailable instead of failing the whole response. When the pool and its queue
+ * are full, further parts are rejected and reported as unavailable too: run on the request
+ * thread, the deadline could not stop them.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    public static final String LATEST_BMI = "latestBmi";
+    public static final String TODAY = "today";
+    public static final String STATS = "stats";
+
+    private static final int QUEUED_TASKS_PER_THREAD = 8;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private BMIRepository bmiRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private ProgressWriteBuffer writeBuffer;
+
+    private final long partTimeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry registry;
+
+    public DashboardService(@Value("${app.dashboard.threads:8}") int threads,
+                            @Value("${app.dashboard.part-timeout-ms:1000}") long partTimeoutMillis,
+                            MeterRegistry registry) {
+        this.partTimeoutMillis = partTimeoutMillis;
+        this.registry = registry;
+        AtomicInteger created = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * QUEUED_TASKS_PER_THREAD),
+            runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-" + created.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Loads the dashboard, or returns empty if the user does not exist.
+     */
+    public Optional<Dashboard> load(Long userId) {
+        Optional<CachedUser> user = userCache.get(userId);
+        if (user.isEmpty()) {
+            return Optional.empty();
+        }
+
+        LocalDate today = LocalDate.now();
+        Future<Optional<BMIView>> latestBmi = submit(() -> bmiRepository.findLatestViewByUserId(userId));
+        Future<ProgressView> todayProgress = submit(() -> {
+            ProgressView stored = progressRepository.findViewByUserIdAndDate(userId, today)
+                .orElseGet(() -> ProgressView.from(new Progress(null, today)));
+            return writeBuffer.overlay(userId, today, stored);
+        });
+        Future<ProgressStats> stats = submit(() -> ProgressStats.of(rollupService.getRollup(userId), today));
+
+        List<Future<?>> parts = Stream.<Future<?>>of(latestBmi, todayProgress, stats).filter(Objects::nonNull).toList();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(partTimeoutMillis);
+        List<String> unavailable = new ArrayList<>();
+        Optional<BMIView> bmi = await(LATEST_BMI, latestBmi, parts, deadline, unavailable);
+        return Optional.of(new Dashboard(UserView.from(user.get()),
+                                         bmi == null ? null : bmi.orElse(null),
+                                         await(TODAY, todayProgress, parts, deadline, unavailable),
+                                         await(STATS, stats, parts, deadline, unavailable),
+                                         unavailable));
+    }
+
+    // Runs the part with the request thread's primary pin, and counts its queries towards the
+    // request; null if the pool and its queue are full
+    private <T> Future<T> submit(Callable<T> part) {
+        try {
+            return executor.submit(SqlExecutionListener.withCurrentCount(ReplicaRoutingDataSource.withCurrentPin(part)));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    // Interrupted, the request is being abandoned: every part still running or queued is
+    // cancelled, and the parts after this one are reported unavailable without waiting
+    private <T> T await(String part, Future<T> future, List<Future<?>> parts, long deadline, List<String> unavailable) {
+        if (future == null) {
+            failure(part, "rejected").increment();
+            unavailable.add(part);
+            return null;
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            failure(part, "timeout").increment();
+        } catch (ExecutionException e) {
+            log.warn("Loading dashboard part {} failed", part, e.getCause());
+            failure(part, "error").increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            parts.forEach(other -> other.cancel(true));
+        } catch (CancellationException e) {
+            // Cancelled when an earlier part was interrupted
+        }
+        unavailable.add(part);
+        return null;
+    }
+
+    private Counter failure(String part, String reason) {
+        return Counter.builder("dashboard.part.failures")
+            .description("Dashboard parts left out of the response")
+            .tag("part", part)
+            .tag("reason", reason)
+            .register(registry);
+    }
+}
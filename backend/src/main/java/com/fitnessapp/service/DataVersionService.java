@@ -0,0 +1,67 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.config.ResponseFormat;
+import com.fitnessapp.entity.UserDataVersion;
+import com.fitnessapp.repository.UserDataVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * ETags for a user's profile, progress history and BMI history, stamped from the counters in
+ * {@link UserDataVersion}. Writers bump the matching counter after (or in the same transaction
+ * as) the data they change; readers fetch the ETag before reading the data. A response can then
+ * only carry an ETag that is older than its content, which costs at most one extra full
+ * response, never a 304 for changed data.
+ * <p>
+ * Each {@link ResponseFormat} gets its own tag. Tags are weak because the same representation
+ * may also be sent gzip-compressed (Tomcat does not compress responses with a strong ETag).
+ */
+@Service
+public class DataVersionService {
+
+    @Autowired
+    private UserDataVersionRepository versionRepository;
+
+    @Transactional
+    public void profileChanged(Long userId) {
+        versionRepository.incrementProfileVersion(userId);
+    }
+
+    @Transactional
+    public void progressChanged(Long userId) {
+        versionRepository.incrementProgressVersion(userId);
+    }
+
+    @Transactional
+    public void bmiChanged(Long userId) {
+        versionRepository.incrementBmiVersion(userId);
+    }
+
+    @Transactional
+    public void delete(Long userId) {
+        versionRepository.deleteByUserId(userId);
+    }
+
+    public String profileEtag(Long userId, ResponseFormat format) {
+        return etag("profile", userId, find(userId).map(UserDataVersion::getProfileVersion).orElse(0L), format);
+    }
+
+    public String progressEtag(Long userId, ResponseFormat format) {
+        return etag("progress", userId, find(userId).map(UserDataVersion::getProgressVersion).orElse(0L), format);
+    }
+
+    public String bmiEtag(Long userId, ResponseFormat format) {
+        return etag("bmi", userId, find(userId).map(UserDataVersion::getBmiVersion).orElse(0L), format);
+    }
+
+    private Optional<UserDataVersion> find(Long userId) {
+        return versionRepository.findByUserId(userId);
+    }
+
+    private static String etag(String resource, Long userId, long version, ResponseFormat format) {
+        return "W/\"" + format.tag(resource + "-" + userId + "-" + version) + "\"";
+    }
+}
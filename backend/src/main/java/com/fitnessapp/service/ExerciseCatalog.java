@@ -0,0 +1,129 @@
+package com.fitnessapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessapp.dto.Exercise;
+import com.fitnessapp.entity.FocusArea;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The exercise catalog, loaded once from {@code catalog/exercises.json} and indexed by focus
+ * area for each workout preference: HOME only offers exercises without gym equipment, GYM
+ * lists gym exercises ahead of bodyweight ones, and BOTH alternates between the two. Within
+ * each group catalog order is kept. Lookups return shared immutable lists.
+ */
+@Service
+public class ExerciseCatalog {
+
+    public static final List<String> WORKOUT_PREFERENCES = List.of("HOME", "GYM", "BOTH");
+
+    private static final String CATALOG = "catalog/exercises.json";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Map<FocusArea, List<Exercise>>> byPreference = new HashMap<>();
+    private final Map<String, List<Exercise>> cardioByPreference = new HashMap<>();
+    private List<Exercise> exercises;
+
+    @PostConstruct
+    void load() throws IOException {
+        try (InputStream in = new ClassPathResource(CATALOG).getInputStream()) {
+            exercises = List.of(objectMapper.readValue(in, Exercise[].class));
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (Exercise exercise : exercises) {
+            if (!ids.add(exercise.id()) || exercise.focusArea() == null) {
+                throw new IllegalStateException("Invalid exercise catalog entry: " + exercise);
+            }
+        }
+
+        List<Exercise> gymCardio = new ArrayList<>();
+        List<Exercise> bodyweightCardio = new ArrayList<>();
+        Map<FocusArea, List<Exercise>> gymByArea = new EnumMap<>(FocusArea.class);
+        Map<FocusArea, List<Exercise>> bodyweightByArea = new EnumMap<>(FocusArea.class);
+        for (FocusArea area : FocusArea.values()) {
+            gymByArea.put(area, new ArrayList<>());
+            bodyweightByArea.put(area, new ArrayList<>());
+        }
+        for (Exercise exercise : exercises) {
+            (exercise.gym() ? gymByArea : bodyweightByArea).get(exercise.focusArea()).add(exercise);
+            if (exercise.cardio()) {
+                (exercise.gym() ? gymCardio : bodyweightCardio).add(exercise);
+            }
+        }
+
+        for (String preference : WORKOUT_PREFERENCES) {
+            Map<FocusArea, List<Exercise>> byArea = new EnumMap<>(FocusArea.class);
+            for (FocusArea area : FocusArea.values()) {
+                byArea.put(area, offered(preference, gymByArea.get(area), bodyweightByArea.get(area)));
+            }
+            byPreference.put(preference, byArea);
+            cardioByPreference.put(preference, offered(preference, gymCardio, bodyweightCardio));
+        }
+    }
+
+    private static List<Exercise> offered(String preference, List<Exercise> gym, List<Exercise> bodyweight) {
+        List<Exercise> result = new ArrayList<>(gym.size() + bodyweight.size());
+        switch (preference) {
+            case "HOME" -> result.addAll(bodyweight);
+            case "GYM" -> {
+                result.addAll(gym);
+                result.addAll(bodyweight);
+            }
+            default -> {
+                for (int i = 0; i < Math.max(gym.size(), bodyweight.size()); i++) {
+                    if (i < gym.size()) {
+                        result.add(gym.get(i));
+                    }
+                    if (i < bodyweight.size()) {
+                        result.add(bodyweight.get(i));
+                    }
+                }
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    public List<Exercise> all() {
+        return exercises;
+    }
+
+    /**
+     * Exercises for the focus area that suit the workout preference, in preference order.
+     */
+    public List<Exercise> find(FocusArea area, String workoutPreference) {
+        Map<FocusArea, List<Exercise>> byArea = byPreference.get(workoutPreference);
+        if (byArea == null) {
+            throw unknownPreference(workoutPreference);
+        }
+        return byArea.get(area);
+    }
+
+    /**
+     * Conditioning exercises of any focus area that suit the workout preference.
+     */
+    public List<Exercise> cardio(String workoutPreference) {
+        List<Exercise> cardio = cardioByPreference.get(workoutPreference);
+        if (cardio == null) {
+            throw unknownPreference(workoutPreference);
+        }
+        return cardio;
+    }
+
+    private static IllegalArgumentException unknownPreference(String workoutPreference) {
+        return new IllegalArgumentException("Unknown workout preference: " + workoutPreference);
+    }
+}
@@ -0,0 +1,155 @@
+package com.fitnessapp.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.BMI;
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.entity.ProgressArchive;
+import com.fitnessapp.repository.BMIRepository;
+import com.fitnessapp.repository.ProgressRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's full progress and BMI history straight from a database cursor to the
+ * response stream. Each entity is detached once written, so heap use does not grow with the
+ * length of the history. Archived progress is decoded from the user's segment block by block
+ * and written ahead of the hot rows.
+ */
+@Service
+public class ExportService {
+
+    private static final String CSV_HEADER = "record_type,date,calories_consumed,calories_burned,workout_completed,"
+        + "water_intake,meals_completed,current_weight,calculated_at,weight,height,bmi_value,category,"
+        + "min_healthy_weight,max_healthy_weight";
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private BMIRepository bmiRepository;
+
+    @Autowired
+    private ProgressArchiveStore archiveStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(Long userId, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // Records are newline-delimited below, so no separator between root values
+            json.setRootValueSeparator(null);
+            RowWriter<ProgressView> progressWriter = p -> {
+                json.writeStartObject();
+                json.writeStringField("type", "progress");
+                json.writeStringField("date", p.date().toString());
+                writeNumber(json, "caloriesConsumed", p.caloriesConsumed());
+                writeNumber(json, "caloriesBurned", p.caloriesBurned());
+                if (p.workoutCompleted() != null) json.writeBooleanField("workoutCompleted", p.workoutCompleted());
+                writeNumber(json, "waterIntake", p.waterIntake());
+                writeNumber(json, "mealsCompleted", p.mealsCompleted());
+                if (p.currentWeight() != null) json.writeNumberField("currentWeight", p.currentWeight());
+                json.writeEndObject();
+                json.writeRaw('\n');
+            };
+            writeArchived(userId, progressWriter);
+            try (Stream<Progress> progress = progressRepository.streamByUserId(userId)) {
+                forEachDetached(progress, p -> progressWriter.write(ProgressView.from(p)));
+            }
+            try (Stream<BMI> bmis = bmiRepository.streamByUserId(userId)) {
+                forEachDetached(bmis, b -> {
+                    json.writeStartObject();
+                    json.writeStringField("type", "bmi");
+                    json.writeStringField("calculatedAt", String.valueOf(b.getCalculatedAt()));
+                    json.writeNumberField("weight", b.getWeight());
+                    json.writeNumberField("height", b.getHeight());
+                    json.writeNumberField("bmiValue", b.getBmiValue());
+                    json.writeStringField("category", b.getCategory());
+                    json.writeNumberField("minHealthyWeight", b.getMinHealthyWeight());
+                    json.writeNumberField("maxHealthyWeight", b.getMaxHealthyWeight());
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                });
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeCsv(Long userId, OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.write(CSV_HEADER);
+        csv.write('\n');
+        RowWriter<ProgressView> progressWriter = p -> {
+            csv.write("progress," + p.date() + ',' + cell(p.caloriesConsumed()) + ','
+                + cell(p.caloriesBurned()) + ',' + cell(p.workoutCompleted()) + ','
+                + cell(p.waterIntake()) + ',' + cell(p.mealsCompleted()) + ','
+                + cell(p.currentWeight()) + ",,,,,,,\n");
+        };
+        writeArchived(userId, progressWriter);
+        try (Stream<Progress> progress = progressRepository.streamByUserId(userId)) {
+            forEachDetached(progress, p -> progressWriter.write(ProgressView.from(p)));
+        }
+        try (Stream<BMI> bmis = bmiRepository.streamByUserId(userId)) {
+            forEachDetached(bmis, b -> {
+                csv.write("bmi,,,,,,,," + cell(b.getCalculatedAt()) + ',' + cell(b.getWeight()) + ','
+                    + cell(b.getHeight()) + ',' + cell(b.getBmiValue()) + ',' + cell(b.getCategory()) + ','
+                    + cell(b.getMinHealthyWeight()) + ',' + cell(b.getMaxHealthyWeight()) + '\n');
+            });
+        }
+        csv.flush();
+    }
+
+    // Archived records precede the hot ones, so they are written first to keep the export in date order
+    private void writeArchived(Long userId, RowWriter<ProgressView> writer) throws IOException {
+        Optional<ProgressArchive> archive = archiveStore.find(userId);
+        if (archive.isPresent()) {
+            archiveStore.forEach(archive.get(), writer::write);
+        }
+    }
+
+    private <T> void forEachDetached(Stream<T> stream, RowWriter<T> writer) {
+        Iterator<T> rows = stream.iterator();
+        while (rows.hasNext()) {
+            T row = rows.next();
+            try {
+                writer.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            entityManager.detach(row);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator json, String field, Integer value) throws IOException {
+        if (value != null) json.writeNumberField(field, value);
+    }
+
+    private static String cell(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
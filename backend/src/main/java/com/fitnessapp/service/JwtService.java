@@ -0,0 +1,124 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and verifies the HMAC-signed access tokens the API is authenticated with. A token's
+ * subject is the user id and it carries the email, which is all authorization needs, so
+ * verifying a request never touches the database. The key and parser are built once from
+ * {@code app.jwt.secret} and shared by all requests.
+ * <p>
+ * Clients send the same token with every request until it expires, so verified tokens are
+ * remembered (up to {@code app.jwt.cache.max-size}) until their own expiry. A repeat request
+ * then costs a hash lookup instead of a signature check and claims parsing. Only the exact
+ * token string that was verified can hit the cache.
+ */
+@Service
+public class JwtService {
+
+    private static final String EMAIL_CLAIM = "email";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationMillis;
+    private final Cache<String, Verified> verified;
+
+    public JwtService(@Value("${app.jwt.secret}") String secret,
+                      @Value("${app.jwt.expiration}") long expirationMillis,
+                      @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize) {
+        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.jwt.secret must be at least " + MIN_SECRET_BYTES
+                + " bytes (256 bits) for HMAC-SHA signing");
+        }
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.expirationMillis = expirationMillis;
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfter(new Expiry<String, Verified>() {
+                @Override
+                public long expireAfterCreate(String token, Verified entry, long currentTime) {
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.expiresAt() - System.currentTimeMillis()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String token, Verified entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String token, Verified entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    public String issue(Long userId, String email) {
+        Date now = new Date();
+        return Jwts.builder()
+            .setSubject(userId.toString())
+            .claim(EMAIL_CLAIM, email)
+            .setIssuedAt(now)
+            .setExpiration(new Date(now.getTime() + expirationMillis))
+            .signWith(signingKey)
+            .compact();
+    }
+
+    /**
+     * The token's user if it is well-formed, correctly signed and not expired.
+     */
+    public Optional<AuthenticatedUser> verify(String token) {
+        Verified cached = verified.getIfPresent(token);
+        // The cache may hold an entry for a moment past its expiry
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return Optional.of(cached.user());
+        }
+        Optional<Verified> parsed = parse(token);
+        parsed.ifPresent(entry -> verified.put(token, entry));
+        return parsed.map(Verified::user);
+    }
+
+    /**
+     * Verifies the token's signature and claims without consulting the cache.
+     */
+    public Optional<AuthenticatedUser> verifyUncached(String token) {
+        return parse(token).map(Verified::user);
+    }
+
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    private Optional<Verified> parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            AuthenticatedUser user = new AuthenticatedUser(Long.valueOf(claims.getSubject()),
+                                                           claims.get(EMAIL_CLAIM, String.class));
+            Date expiration = claims.getExpiration();
+            return Optional.of(new Verified(user, expiration != null ? expiration.getTime() : Long.MAX_VALUE));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private record Verified(AuthenticatedUser user, long expiresAt) {}
+}
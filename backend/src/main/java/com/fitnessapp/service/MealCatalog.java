@@ -0,0 +1,156 @@
+package com.fitnessapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessapp.dto.Meal;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The meal catalog, loaded once from {@code catalog/meals.json} and indexed by diet preference
+ * and meal type. Each index is sorted by calories per serving and split into 100 kcal bands,
+ * so a calorie range lookup jumps straight to its first band instead of scanning the type.
+ * Lookups return shared immutable lists.
+ */
+@Service
+public class MealCatalog {
+
+    public static final List<String> DIET_PREFERENCES = List.of("VEG", "NON_VEG", "VEGAN");
+
+    public static final List<String> MEAL_TYPES = List.of("BREAKFAST", "LUNCH", "DINNER", "SNACK");
+
+    static final int BAND_WIDTH = 100;
+
+    private static final String CATALOG = "catalog/meals.json";
+
+    // Diet preferences each catalog diet is offered to
+    private static final Map<String, List<String>> OFFERED_TO = Map.of(
+        "VEGAN", DIET_PREFERENCES,
+        "VEG", List.of("VEG", "NON_VEG"),
+        "NON_VEG", List.of("NON_VEG"));
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Map<String, Index>> byPreference = new HashMap<>();
+    private List<Meal> meals;
+
+    @PostConstruct
+    void load() throws IOException {
+        try (InputStream in = new ClassPathResource(CATALOG).getInputStream()) {
+            meals = List.of(objectMapper.readValue(in, Meal[].class));
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (Meal meal : meals) {
+            if (!ids.add(meal.id()) || !MEAL_TYPES.contains(meal.mealType()) || !OFFERED_TO.containsKey(meal.diet())
+                    || meal.calories() <= 0) {
+                throw new IllegalStateException("Invalid meal catalog entry: " + meal);
+            }
+        }
+
+        for (String preference : DIET_PREFERENCES) {
+            Map<String, Index> byType = new HashMap<>();
+            for (String mealType : MEAL_TYPES) {
+                List<Meal> offered = new ArrayList<>();
+                for (Meal meal : meals) {
+                    if (meal.mealType().equals(mealType) && OFFERED_TO.get(meal.diet()).contains(preference)) {
+                        offered.add(meal);
+                    }
+                }
+                offered.sort(Comparator.comparingInt(Meal::calories).thenComparingInt(Meal::id));
+                byType.put(mealType, new Index(offered));
+            }
+            byPreference.put(preference, byType);
+        }
+    }
+
+    public List<Meal> all() {
+        return meals;
+    }
+
+    /**
+     * Meals of the type that suit the diet preference, by ascending calories per serving.
+     */
+    public List<Meal> find(String dietPreference, String mealType) {
+        return index(dietPreference, mealType).meals;
+    }
+
+    /**
+     * Meals of the type that suit the diet preference with {@code minCalories} to
+     * {@code maxCalories} (inclusive) per serving, by ascending calories.
+     */
+    public List<Meal> find(String dietPreference, String mealType, int minCalories, int maxCalories) {
+        return index(dietPreference, mealType).range(minCalories, maxCalories);
+    }
+
+    private Index index(String dietPreference, String mealType) {
+        Map<String, Index> byType = byPreference.get(dietPreference);
+        if (byType == null) {
+            throw new IllegalArgumentException("Unknown diet preference: " + dietPreference);
+        }
+        Index index = byType.get(mealType);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown meal type: " + mealType);
+        }
+        return index;
+    }
+
+    /**
+     * Meals sorted by calories; {@code bandStart[b]} is the position of the first meal with at
+     * least {@code b * BAND_WIDTH} kcal, and the last entry is the list size.
+     */
+    private static final class Index {
+
+        private final List<Meal> meals;
+        private final int[] bandStart;
+
+        Index(List<Meal> sorted) {
+            meals = List.copyOf(sorted);
+            int bands = meals.isEmpty() ? 1 : meals.get(meals.size() - 1).calories() / BAND_WIDTH + 2;
+            bandStart = new int[bands];
+            int position = 0;
+            for (int band = 0; band < bands; band++) {
+                while (position < meals.size() && meals.get(position).calories() < band * BAND_WIDTH) {
+                    position++;
+                }
+                bandStart[band] = position;
+            }
+        }
+
+        List<Meal> range(int minCalories, int maxCalories) {
+            if (maxCalories < minCalories) {
+                return List.of();
+            }
+            int from = start(minCalories);
+            int to = start(maxCalories + 1);
+            return meals.subList(from, to);
+        }
+
+        // Position of the first meal with at least the given calories
+        private int start(int calories) {
+            if (calories <= 0) {
+                return 0;
+            }
+            int band = calories / BAND_WIDTH;
+            if (band >= bandStart.length) {
+                return meals.size();
+            }
+            int position = bandStart[band];
+            while (position < meals.size() && meals.get(position).calories() < calories) {
+                position++;
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.BMIView;
+import com.fitnessapp.dto.CachedUser;
+import com.fitnessapp.dto.Meal;
+import com.fitnessapp.dto.MealPlan;
+import com.fitnessapp.dto.NutritionTarget;
+import com.fitnessapp.dto.PlannedMeal;
+import com.fitnessapp.repository.BMIRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Solves one-day meal plans from the {@link MealCatalog}. A user's daily calories come from the
+ * Mifflin-St Jeor estimate for the latest BMI record's weight and height (the profile values
+ * before the first one), adjusted for the fitness goal and rounded to a 100 kcal band; the goal
+ * also fixes the macro split. A plan depends only on diet preference, goal and band, so plans
+ * are cached per combination and shared by every user who has it. There are only 3 × 3 × 29
+ * combinations, so all plans are solved at startup.
+ * <p>
+ * The solver fills breakfast, lunch and dinner with one meal each at 1, 1.5 or 2 servings and
+ * the snack slot with nothing, one snack or two, minimizing the relative distance to the target
+ * with calories weighted triple. Each slot only considers the meals closest to its share of the
+ * day, the search drops branches that already overshoot the calories, and the best completion
+ * is memoized per slot and bucketed running totals, so a solve visits a few thousand states.
+ */
+@Service
+public class MealPlanService {
+
+    public static final int MIN_CALORIES = 1200;
+    public static final int MAX_CALORIES = 4000;
+
+    private static final int BAND = 100;
+    private static final double ACTIVITY_FACTOR = 1.45;
+
+    private static final Map<String, Integer> GOAL_ADJUSTMENTS = Map.of(
+        "LOSE_WEIGHT", -500, "BUILD_MUSCLE", 300, "STAY_FIT", 0);
+
+    private static final List<String> MAIN_MEALS = List.of("BREAKFAST", "LUNCH", "DINNER");
+    private static final double[] MAIN_SHARES = {0.25, 0.35, 0.30};
+    private static final double SNACK_SHARE = 0.10;
+    private static final double[] SERVINGS = {1.0, 1.5, 2.0};
+
+    private static final int CANDIDATES = 12;
+    private static final double CALORIE_WEIGHT = 3;
+    private static final double MAX_OVERSHOOT = 1.2;
+
+    @Autowired
+    private MealCatalog catalog;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private BMIRepository bmiRepository;
+
+    private final Map<Key, MealPlan> plans = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void warm() {
+        for (String preference : MealCatalog.DIET_PREFERENCES) {
+            for (String goal : WorkoutPlanService.FITNESS_GOALS) {
+                for (int calories = MIN_CALORIES; calories <= MAX_CALORIES; calories += BAND) {
+                    plan(preference, goal, calories);
+                }
+            }
+        }
+    }
+
+    /**
+     * The user's plan, optionally for another diet preference than the stored one; empty if the
+     * user does not exist.
+     */
+    public Optional<MealPlan> planFor(Long userId, String dietPreference) {
+        Optional<CachedUser> cached = userCache.get(userId);
+        if (cached.isEmpty()) {
+            return Optional.empty();
+        }
+        CachedUser user = cached.get();
+        Optional<BMIView> latest = bmiRepository.findLatestViewByUserId(userId);
+        double weight = latest.map(BMIView::weight).orElse(user.getWeight());
+        double height = latest.map(BMIView::height).orElse(user.getHeight());
+        int calories = dailyCalories(weight, height, user.getAge(), user.getGender(), user.getFitnessGoal());
+        return Optional.of(plan(dietPreference != null ? dietPreference : user.getDietPreference(),
+                                user.getFitnessGoal(), calories));
+    }
+
+    public MealPlan plan(String dietPreference, String fitnessGoal, int calories) {
+        return plans.computeIfAbsent(new Key(dietPreference, fitnessGoal, band(calories)),
+                                     key -> solve(key.dietPreference(), key.fitnessGoal(), key.calories()));
+    }
+
+    /**
+     * Estimated daily calories for the goal: Mifflin-St Jeor resting energy (kg, cm, years)
+     * times a light-activity factor, plus the goal's surplus or deficit.
+     */
+    public static int dailyCalories(double weight, double height, int age, String gender, String fitnessGoal) {
+        double offset = switch (gender) {
+            case "MALE" -> 5;
+            case "FEMALE" -> -161;
+            default -> -78;
+        };
+        double restingCalories = 10 * weight + 6.25 * height - 5 * age + offset;
+        return (int) Math.round(restingCalories * ACTIVITY_FACTOR) + GOAL_ADJUSTMENTS.getOrDefault(fitnessGoal, 0);
+    }
+
+    /**
+     * The calorie band a plan is solved for: rounded to 100 kcal and clamped to a safe range.
+     */
+    public static int band(int calories) {
+        int rounded = Math.round(calories / (float) BAND) * BAND;
+        return Math.max(MIN_CALORIES, Math.min(MAX_CALORIES, rounded));
+    }
+
+    /**
+     * Solves the plan for a calorie band without consulting the cache.
+     */
+    public MealPlan solve(String dietPreference, String fitnessGoal, int calories) {
+        NutritionTarget target = NutritionTarget.of(calories, fitnessGoal);
+
+        List<List<Option>> slots = new ArrayList<>(MAIN_MEALS.size() + 1);
+        for (int i = 0; i < MAIN_MEALS.size(); i++) {
+            slots.add(mainOptions(dietPreference, MAIN_MEALS.get(i), target.calories() * MAIN_SHARES[i]));
+        }
+        slots.add(snackOptions(dietPreference, target.calories() * SNACK_SHARE));
+
+        List<PlannedMeal> meals = new ArrayList<>();
+        for (Node node = new Solver(slots, target).best(0, 0, 0, 0, 0); node.option() != null; node = node.next()) {
+            meals.addAll(node.option().meals());
+        }
+        return MealPlan.of(dietPreference, fitnessGoal, target, meals);
+    }
+
+    // The meals and servings closest to the slot's ideal calories
+    private List<Option> mainOptions(String dietPreference, String mealType, double ideal) {
+        List<Option> options = new ArrayList<>();
+        for (double servings : SERVINGS) {
+            int low = (int) (ideal * 0.6 / servings);
+            int high = (int) Math.ceil(ideal * 1.5 / servings);
+            for (Meal meal : catalog.find(dietPreference, mealType, low, high)) {
+                options.add(Option.of(List.of(PlannedMeal.of(mealType, meal, servings))));
+            }
+        }
+        if (options.isEmpty()) {
+            for (Meal meal : catalog.find(dietPreference, mealType)) {
+                options.add(Option.of(List.of(PlannedMeal.of(mealType, meal, 1.0))));
+            }
+        }
+        return closest(options, ideal);
+    }
+
+    // No snack, one snack or two different ones, closest to the slot's ideal calories
+    private List<Option> snackOptions(String dietPreference, double ideal) {
+        List<Meal> snacks = catalog.find(dietPreference, "SNACK", 0, (int) Math.ceil(ideal * 2));
+        List<Option> options = new ArrayList<>();
+        options.add(Option.of(List.of()));
+        for (int i = 0; i < snacks.size(); i++) {
+            PlannedMeal first = PlannedMeal.of("SNACK", snacks.get(i), 1.0);
+            options.add(Option.of(List.of(first)));
+            for (int j = i + 1; j < snacks.size(); j++) {
+                options.add(Option.of(List.of(first, PlannedMeal.of("SNACK", snacks.get(j), 1.0))));
+            }
+        }
+        return closest(options, ideal);
+    }
+
+    private static List<Option> closest(List<Option> options, double ideal) {
+        options.sort(Comparator.comparingDouble(option -> Math.abs(option.calories() - ideal)));
+        return List.copyOf(options.subList(0, Math.min(CANDIDATES, options.size())));
+    }
+
+    /**
+     * One way to fill a slot, with its summed nutrition values.
+     */
+    private record Option(List<PlannedMeal> meals, int calories, int protein, int carbs, int fat) {
+
+        static Option of(List<PlannedMeal> meals) {
+            int calories = 0, protein = 0, carbs = 0, fat = 0;
+            for (PlannedMeal meal : meals) {
+                calories += meal.calories();
+                protein += meal.protein();
+                carbs += meal.carbs();
+                fat += meal.fat();
+            }
+            return new Option(meals, calories, protein, carbs, fat);
+        }
+    }
+
+    /**
+     * The best completion from a slot on: the option for this slot and the node for the next,
+     * with the score of the whole plan; the last node has no option.
+     */
+    private record Node(double score, Option option, Node next) {
+    }
+
+    private static final class Solver {
+
+        private static final Node PRUNED = new Node(Double.POSITIVE_INFINITY, null, null);
+
+        private final List<List<Option>> slots;
+        private final NutritionTarget target;
+        private final int calorieLimit;
+        private final Map<Long, Node> memo = new HashMap<>();
+
+        Solver(List<List<Option>> slots, NutritionTarget target) {
+            this.slots = slots;
+            this.target = target;
+            this.calorieLimit = (int) (target.calories() * MAX_OVERSHOOT);
+        }
+
+        Node best(int slot, int calories, int protein, int carbs, int fat) {
+            if (calories > calorieLimit) {
+                return PRUNED;
+            }
+            if (slot == slots.size()) {
+                return new Node(score(calories, protein, carbs, fat), null, null);
+            }
+            // Running totals within a bucket complete almost identically
+            long key = (long) slot << 48 | (long) (calories / 10) << 32 | (long) (protein / 2) << 20
+                | (long) (carbs / 4) << 8 | fat / 2;
+            Node cached = memo.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            Node best = PRUNED;
+            for (Option option : slots.get(slot)) {
+                Node next = best(slot + 1, calories + option.calories(), protein + option.protein(),
+                                 carbs + option.carbs(), fat + option.fat());
+                if (next.score() < best.score()) {
+                    best = new Node(next.score(), option, next);
+                }
+            }
+            memo.put(key, best);
+            return best;
+        }
+
+        private double score(int calories, int protein, int carbs, int fat) {
+            return CALORIE_WEIGHT * Math.abs(calories - target.calories()) / target.calories()
+                + Math.abs(protein - target.protein()) / (double) target.protein()
+                + Math.abs(carbs - target.carbs()) / (double) target.carbs()
+                + Math.abs(fat - target.fat()) / (double) target.fat();
+        }
+    }
+
+    private record Key(String dietPreference, String fitnessGoal, int calories) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.entity.ProgressArchive;
+import com.fitnessapp.entity.UserProgressRollup;
+import com.fitnessapp.repository.ProgressArchiveRepository;
+import com.fitnessapp.repository.ProgressRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves progress records older than {@code app.progress.archive.horizon-days} out of
+ * progress_records into the user's compressed segment ({@link ProgressArchiveStore}), so the hot
+ * table only holds recent history. Each user is archived in one transaction under their rollup
+ * lock: the segment is rewritten as a new version with the old records, the archive row and
+ * {@link UserProgressRollup#getArchivedThrough()} are advanced, and the rows are deleted.
+ * Totals, streaks and cohort counters already include the records and do not change. Archived
+ * days are read-only from then on. A user's 30 most recent records are never archived, however
+ * old, so the rollup's window is always read from progress_records. Opt-in with
+ * {@code app.progress.archive.enabled}.
+ */
+@Service
+public class ProgressArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressArchiveService.class);
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private ProgressArchiveRepository archiveRepository;
+
+    @Autowired
+    private ProgressArchiveStore archiveStore;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int horizonDays;
+    private final long intervalMillis;
+    private final Counter archivedRows;
+    private ScheduledExecutorService archiver;
+
+    public ProgressArchiveService(@Value("${app.progress.archive.enabled:false}") boolean enabled,
+                                  @Value("${app.progress.archive.horizon-days:365}") int horizonDays,
+                                  @Value("${app.progress.archive.interval-ms:86400000}") long intervalMillis,
+                                  MeterRegistry registry) {
+        if (horizonDays < ProgressArchiveStore.MIN_HORIZON_DAYS) {
+            throw new IllegalArgumentException("app.progress.archive.horizon-days must be at least "
+                + ProgressArchiveStore.MIN_HORIZON_DAYS);
+        }
+        this.enabled = enabled;
+        this.horizonDays = horizonDays;
+        this.intervalMillis = intervalMillis;
+        this.archivedRows = Counter.builder("progress.archive.rows")
+            .description("Progress rows moved from progress_records to archived segments")
+            .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled || intervalMillis <= 0) {
+            return;
+        }
+        archiver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        archiver.scheduleWithFixedDelay(this::archiveQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (archiver != null) {
+            archiver.shutdownNow();
+        }
+    }
+
+    /**
+     * Archives every user's records older than the horizon, one transaction per user. Returns
+     * the number of records moved.
+     */
+    public long archiveAll() {
+        LocalDate cutoff = LocalDate.now().minusDays(horizonDays);
+        long archived = 0;
+        for (Long userId : progressRepository.findUserIdsWithProgressBefore(cutoff)) {
+            Integer moved = transactionTemplate.execute(status -> archive(userId, cutoff));
+            archived += moved == null ? 0 : moved;
+        }
+        return archived;
+    }
+
+    /**
+     * Drops the user's archive row, and their segment files once the transaction commits.
+     */
+    @Transactional
+    public void deleteUser(Long userId) {
+        if (archiveRepository.existsById(userId)) {
+            archiveRepository.deleteById(userId);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                archiveStore.deleteAll(userId);
+            }
+        });
+    }
+
+    private int archive(Long userId, LocalDate cutoff) {
+        UserProgressRollup rollup = rollupService.lock(userId);
+        List<Progress> recent = progressRepository.findLast30DaysProgressByUserId(userId);
+        if (recent.size() < ProgressRollupService.WINDOW_SIZE) {
+            return 0;
+        }
+        LocalDate keepFrom = recent.get(recent.size() - 1).getDate();
+        if (keepFrom.isBefore(cutoff)) {
+            cutoff = keepFrom;
+        }
+        List<Progress> rows = progressRepository.findByUserIdAndDateBefore(userId, cutoff);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        ProgressArchive archive = archiveRepository.findById(userId).orElseGet(() -> new ProgressArchive(userId));
+        // Archived days are frozen, so every row here is newer than the existing segment
+        List<ProgressView> segment = archive.getSegmentVersion() == 0
+            ? new ArrayList<>(rows.size()) : new ArrayList<>(archiveStore.read(archive));
+        for (Progress progress : rows) {
+            segment.add(ProgressView.from(progress));
+            archive.add(progress);
+        }
+
+        int version = archive.getSegmentVersion() + 1;
+        archive.setSegmentBytes(archiveStore.write(userId, version, segment));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    // Keep the previous version for readers still on the old archive row
+                    archiveStore.deleteVersionsBefore(userId, version - 1);
+                } else {
+                    archiveStore.deleteVersion(userId, version);
+                }
+            }
+        });
+
+        LocalDate archivedThrough = cutoff.minusDays(1);
+        if (archive.getArchivedThrough() != null && archive.getArchivedThrough().isAfter(archivedThrough)) {
+            // The horizon was raised since the last run; already archived days stay archived
+            archivedThrough = archive.getArchivedThrough();
+        }
+        archive.setSegmentVersion(version);
+        archive.setArchivedThrough(archivedThrough);
+        archiveRepository.save(archive);
+        rollup.setArchivedThrough(archivedThrough);
+        progressRepository.deleteByUserIdAndDateBefore(userId, cutoff);
+        return rows.size();
+    }
+
+    private void archiveQuietly() {
+        try {
+            long archived = archiveAll();
+            archivedRows.increment(archived);
+            if (archived > 0) {
+                log.info("Archived {} progress records older than {} days", archived, horizonDays);
+            }
+        } catch (Exception e) {
+            log.warn("Progress archiving failed", e);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.ProgressArchive;
+import com.fitnessapp.repository.ProgressArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads and writes archived progress segments: one file per user and segment version under
+ * {@code app.progress.archive.dir}, described by the user's {@link ProgressArchive} row. A new
+ * archive run writes the next version instead of replacing the file, so readers holding the
+ * previous row (an older snapshot or a lagging replica) can still open the file it names.
+ */
+@Service
+public class ProgressArchiveStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressArchiveStore.class);
+
+    // Lower bound for the archive horizon; anything more recent is never archived
+    public static final int MIN_HORIZON_DAYS = 30;
+
+    private static final int DIRECTORY_FANOUT = 1000;
+    private static final String SUFFIX = ".pseg";
+
+    @Autowired
+    private ProgressArchiveRepository archiveRepository;
+
+    private final Path directory;
+
+    public ProgressArchiveStore(@Value("${app.progress.archive.dir:data/progress-archive}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    public Optional<ProgressArchive> find(Long userId) {
+        return archiveRepository.findById(userId);
+    }
+
+    /**
+     * Cheap pre-check for readers and writers: false means the day is too recent to have been
+     * archived, so the archive row does not need to be looked up.
+     */
+    public boolean mayBeArchived(LocalDate date) {
+        return date.isBefore(LocalDate.now().minusDays(MIN_HORIZON_DAYS));
+    }
+
+    public boolean isArchived(Long userId, LocalDate date) {
+        return mayBeArchived(date)
+            && find(userId).map(archive -> !date.isAfter(archive.getArchivedThrough())).orElse(false);
+    }
+
+    /**
+     * All archived records of the user, oldest first.
+     */
+    public List<ProgressView> read(ProgressArchive archive) {
+        try (ProgressSegmentCodec.Reader reader = open(archive)) {
+            return reader.readAll();
+        } catch (IOException e) {
+            throw readFailed(archive, e);
+        }
+    }
+
+    /**
+     * Hands all archived records of the user to the consumer, oldest first, decoding one block at
+     * a time so that memory use does not grow with the segment. Exceptions thrown by the consumer
+     * propagate unchanged.
+     */
+    public void forEach(ProgressArchive archive, RowConsumer consumer) throws IOException {
+        ProgressSegmentCodec.Reader reader;
+        try {
+            reader = open(archive);
+        } catch (IOException e) {
+            throw readFailed(archive, e);
+        }
+        try (reader) {
+            for (int block = 0; block < reader.blockCount(); block++) {
+                List<ProgressView> rows;
+                try {
+                    rows = reader.readBlock(block);
+                } catch (IOException e) {
+                    throw readFailed(archive, e);
+                }
+                for (ProgressView row : rows) {
+                    consumer.accept(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Up to {@code limit} archived records, newest first, strictly before the (date, id) cursor
+     * if given. Only the blocks holding them are read.
+     */
+    public List<ProgressView> readPage(ProgressArchive archive, LocalDate cursorDate, Long cursorId, int limit) {
+        List<ProgressView> page = new ArrayList<>(Math.min(limit, ProgressSegmentCodec.BLOCK_SIZE));
+        try (ProgressSegmentCodec.Reader reader = open(archive)) {
+            for (int block = reader.blockCount() - 1; block >= 0 && page.size() < limit; block--) {
+                if (cursorDate != null && reader.firstDate(block).isAfter(cursorDate)) {
+                    continue;
+                }
+                List<ProgressView> rows = reader.readBlock(block);
+                for (int i = rows.size() - 1; i >= 0 && page.size() < limit; i--) {
+                    ProgressView row = rows.get(i);
+                    if (cursorDate == null || row.date().isBefore(cursorDate)
+                            || (row.date().equals(cursorDate) && row.id() < cursorId)) {
+                        page.add(row);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw readFailed(archive, e);
+        }
+        return page;
+    }
+
+    /**
+     * Archived records between the two dates (inclusive), newest first. Only the blocks
+     * overlapping the range are read.
+     */
+    public List<ProgressView> readRange(ProgressArchive archive, LocalDate startDate, LocalDate endDate) {
+        List<ProgressView> range = new ArrayList<>();
+        try (ProgressSegmentCodec.Reader reader = open(archive)) {
+            for (int block = reader.blockCount() - 1; block >= 0; block--) {
+                if (reader.lastDate(block).isBefore(startDate)) {
+                    break;
+                }
+                if (reader.firstDate(block).isAfter(endDate)) {
+                    continue;
+                }
+                List<ProgressView> rows = reader.readBlock(block);
+                for (int i = rows.size() - 1; i >= 0; i--) {
+                    ProgressView row = rows.get(i);
+                    if (!row.date().isBefore(startDate) && !row.date().isAfter(endDate)) {
+                        range.add(row);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw readFailed(archive, e);
+        }
+        return range;
+    }
+
+    /**
+     * Writes a segment version (records sorted by date) and returns its size in bytes. The file
+     * appears atomically, complete or not at all.
+     */
+    long write(Long userId, int version, List<ProgressView> rows) {
+        Path target = pathOf(userId, version);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), userId + "-", ".tmp");
+            try {
+                byte[] segment = ProgressSegmentCodec.encode(rows);
+                Files.write(temp, segment);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                return segment.length;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write progress archive of user " + userId, e);
+        }
+    }
+
+    void deleteVersion(Long userId, int version) {
+        delete(pathOf(userId, version));
+    }
+
+    // Removes the user's segment files older than the given version
+    void deleteVersionsBefore(Long userId, int version) {
+        for (Path file : filesOf(userId)) {
+            if (versionOf(userId, file) < version) {
+                delete(file);
+            }
+        }
+    }
+
+    void deleteAll(Long userId) {
+        for (Path file : filesOf(userId)) {
+            delete(file);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(ProgressView row) throws IOException;
+    }
+
+    private ProgressSegmentCodec.Reader open(ProgressArchive archive) throws IOException {
+        return ProgressSegmentCodec.open(pathOf(archive.getUserId(), archive.getSegmentVersion()));
+    }
+
+    private static UncheckedIOException readFailed(ProgressArchive archive, IOException e) {
+        return new UncheckedIOException("Cannot read progress archive of user " + archive.getUserId(), e);
+    }
+
+    private Path pathOf(Long userId, int version) {
+        return directory.resolve(String.valueOf(Math.floorMod(userId, (long) DIRECTORY_FANOUT)))
+            .resolve(userId + "-v" + version + SUFFIX);
+    }
+
+    private List<Path> filesOf(Long userId) {
+        Path parent = pathOf(userId, 0).getParent();
+        if (!Files.isDirectory(parent)) {
+            return List.of();
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(parent, userId + "-v*" + SUFFIX)) {
+            List<Path> result = new ArrayList<>();
+            files.forEach(result::add);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int versionOf(Long userId, Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring((userId + "-v").length(), name.length() - SUFFIX.length()));
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete progress archive file {}", file, e);
+        }
+    }
+}
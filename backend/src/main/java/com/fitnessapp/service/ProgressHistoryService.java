@@ -0,0 +1,80 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.ProgressArchive;
+import com.fitnessapp.repository.ProgressRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Progress history reads over both tiers: recent rows from progress_records, followed by the
+ * user's archived segment once a read reaches past the archive boundary. Archived days all
+ * precede the hot ones, so results are concatenated without re-sorting. Each call is one
+ * read-only transaction, so the hot rows and the archive row come from the same snapshot.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProgressHistoryService {
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private ProgressArchiveStore archiveStore;
+
+    /**
+     * Up to {@code limit} records, newest first, strictly after the (date, id) cursor if given.
+     */
+    public List<ProgressView> findPage(Long userId, LocalDate cursorDate, Long cursorId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<ProgressView> result = new ArrayList<>(cursorDate == null
+            ? progressRepository.findPageByUserId(userId, page)
+            : progressRepository.findPageByUserIdAfter(userId, cursorDate, page));
+        if (result.size() == limit) {
+            return result;
+        }
+
+        Optional<ProgressArchive> archive = archiveStore.find(userId);
+        if (archive.isPresent()) {
+            result.addAll(archiveStore.readPage(archive.get(), cursorDate, cursorId, limit - result.size()));
+        }
+        return result;
+    }
+
+    /**
+     * All of the user's records, newest first.
+     */
+    public List<ProgressView> findAll(Long userId) {
+        List<ProgressView> result = new ArrayList<>(progressRepository.findPageByUserId(userId, Pageable.unpaged()));
+        Optional<ProgressArchive> archive = archiveStore.find(userId);
+        if (archive.isPresent()) {
+            result.addAll(archiveStore.readPage(archive.get(), null, null, Integer.MAX_VALUE));
+        }
+        return result;
+    }
+
+    /**
+     * Records between the two dates (inclusive), newest first.
+     */
+    public List<ProgressView> findRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<ProgressView> result = new ArrayList<>(
+            progressRepository.findProgressViewsByUserIdAndDateRange(userId, startDate, endDate));
+        if (!archiveStore.mayBeArchived(startDate)) {
+            return result;
+        }
+
+        Optional<ProgressArchive> archive = archiveStore.find(userId);
+        if (archive.isPresent() && !startDate.isAfter(archive.get().getArchivedThrough())) {
+            result.addAll(archiveStore.readRange(archive.get(), startDate, endDate));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.fitnessapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds every user's stats rollup and workout streaks from progress_records when the
+ * application is started with {@code --rebuild-rollups}, e.g. after a bulk import or to repair
+ * drift.
+ */
+@Component
+public class ProgressRollupRebuildRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressRollupRebuildRunner.class);
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("rebuild-rollups")) {
+            return;
+        }
+        int rebuilt = rollupService.rebuildAll();
+        log.info("Rebuilt progress rollups for {} users", rebuilt);
+    }
+}
@@ -0,0 +1,355 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.entity.UserProgressRollup;
+import com.fitnessapp.repository.ProgressRepository;
+import com.fitnessapp.repository.UserProgressRollupRepository;
+import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.repository.WorkoutStreakRunRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains the per-user {@link UserProgressRollup} row that backs the stats endpoint,
+ * including the workout streaks kept by {@link WorkoutStreakService}.
+ * Writers call {@link #applyChanges} inside their own transaction so the rollup always
+ * commits (or rolls back) together with the progress rows it summarizes.
+ */
+@Service
+public class ProgressRollupService {
+
+    // Records averaged by the stats endpoint: the user's most recent ones
+    static final int WINDOW_SIZE = 30;
+    private static final int MAX_INCREMENTAL_STREAK_FLIPS = 8;
+
+    @Autowired
+    private UserProgressRollupRepository rollupRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private WorkoutStreakRunRepository streakRunRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WorkoutStreakService streakService;
+
+    @Autowired
+    private CohortStatsService cohortStats;
+
+    @Autowired
+    private ProgressArchiveStore archiveStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Locks the user's rollup row for the rest of the transaction. Writers take this lock
+     * before reading the progress rows they modify, which serializes concurrent writers for
+     * the same user and keeps the deltas in {@link #applyChanges} exact. Users get their row
+     * when they are created ({@link #usersAdded}); a missing row (a user from before that) is
+     * created as a stale placeholder first.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UserProgressRollup lock(Long userId) {
+        Optional<UserProgressRollup> rollup = rollupRepository.findByUserIdForUpdate(userId);
+        if (rollup.isPresent()) {
+            return rollup.get();
+        }
+        rollupRepository.insertStaleIfAbsent(userId);
+        return rollupRepository.findByUserIdForUpdate(userId).orElseThrow();
+    }
+
+    /**
+     * Creates the empty rollup of newly inserted users in the caller's transaction, so their
+     * first writes lock an existing row. A locking read of a missing row takes a gap lock,
+     * and concurrent first writers holding one deadlock when they insert the placeholder.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void usersAdded(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            entityManager.persist(new UserProgressRollup(userId));
+        }
+    }
+
+    /**
+     * {@link #lock} for a write to one day: the same statement also reads the user's progress
+     * record for that date, which is null in the result if there is none.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public LockedDay lockDay(Long userId, LocalDate date) {
+        List<Object[]> rows = rollupRepository.findByUserIdForUpdateWithDay(userId, date);
+        if (rows.isEmpty()) {
+            rollupRepository.insertStaleIfAbsent(userId);
+            rows = rollupRepository.findByUserIdForUpdateWithDay(userId, date);
+        }
+        Object[] row = rows.get(0);
+        return new LockedDay((UserProgressRollup) row[0], (Progress) row[1]);
+    }
+
+    /**
+     * Folds a set of progress writes for one user into the rollup returned by {@link #lock}.
+     * Each change pairs the record's values before the write (null for a new record) with
+     * the saved record.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyChanges(UserProgressRollup rollup, List<Change> changes) {
+        // Cohort counters take the row deltas directly; they do not depend on the rollup being built
+        long addedEntries = 0;
+        long completedDelta = 0;
+        for (Change change : changes) {
+            if (change.before == null) {
+                addedEntries++;
+            }
+            completedDelta += flag(change.after.getWorkoutCompleted())
+                - (change.before == null ? 0 : flag(change.before.workoutCompleted));
+        }
+        cohortStats.progressChanged(rollup.getUserId(), addedEntries, completedDelta);
+
+        if (rollup.isStale()) {
+            // Placeholder (or rollup never built): compute from scratch, including these writes
+            computeInto(rollup);
+            streakService.rebuild(rollup);
+            return;
+        }
+
+        boolean rescanWindow = false;
+        List<Progress> flipped = new ArrayList<>();
+        for (Change change : changes) {
+            Snapshot before = change.before;
+            Progress after = change.after;
+
+            if (before == null) {
+                rollup.setTotalEntries(rollup.getTotalEntries() + 1);
+            }
+            rollup.setTotalCompletedWorkouts(rollup.getTotalCompletedWorkouts()
+                + flag(after.getWorkoutCompleted()) - (before == null ? 0 : flag(before.workoutCompleted)));
+            rollup.setTotalCaloriesConsumed(rollup.getTotalCaloriesConsumed()
+                + value(after.getCaloriesConsumed()) - (before == null ? 0 : value(before.caloriesConsumed)));
+            rollup.setTotalCaloriesBurned(rollup.getTotalCaloriesBurned()
+                + value(after.getCaloriesBurned()) - (before == null ? 0 : value(before.caloriesBurned)));
+
+            if (flag(after.getWorkoutCompleted()) != (before == null ? 0 : flag(before.workoutCompleted))) {
+                flipped.add(after);
+            }
+
+            if (!rescanWindow) {
+                rescanWindow = !applyToWindow(rollup, before, after);
+            }
+        }
+
+        if (rescanWindow) {
+            refreshWindow(rollup);
+        }
+
+        if (flipped.size() > MAX_INCREMENTAL_STREAK_FLIPS && rollup.getArchivedThrough() == null) {
+            // One rescan is cheaper than a few run lookups for each of many flipped days (unless
+            // it has to decode the archived segment)
+            streakService.rebuild(rollup);
+        } else {
+            for (Progress progress : flipped) {
+                if (flag(progress.getWorkoutCompleted()) == 1) {
+                    streakService.markCompleted(rollup, progress.getDate());
+                } else {
+                    streakService.markMissed(rollup, progress.getDate());
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public UserProgressRollup getRollup(Long userId) {
+        return rollupRepository.findById(userId)
+            .filter(rollup -> !rollup.isStale())
+            .orElseGet(() -> compute(userId));
+    }
+
+    /**
+     * Recomputes one user's rollup and workout streak runs from progress_records and the user's
+     * archived segment.
+     */
+    @Transactional
+    public UserProgressRollup rebuild(Long userId) {
+        UserProgressRollup rollup = lock(userId);
+        computeInto(rollup);
+        streakService.rebuild(rollup);
+        return rollup;
+    }
+
+    /**
+     * Recomputes every user's rollup and streak runs from progress_records, one transaction per
+     * user. Returns the number of users rebuilt.
+     */
+    public int rebuildAll() {
+        int rebuilt = 0;
+        for (Long userId : userRepository.findAllIds()) {
+            // Through the template: a direct call to rebuild() would bypass its @Transactional proxy
+            transactionTemplate.executeWithoutResult(status -> rebuild(userId));
+            rebuilt++;
+        }
+        return rebuilt;
+    }
+
+    @Transactional
+    public void delete(Long userId) {
+        if (rollupRepository.existsById(userId)) {
+            rollupRepository.deleteById(userId);
+        }
+        streakRunRepository.deleteByUserId(userId);
+    }
+
+    // Unsaved rollup for a user whose row is missing or stale
+    private UserProgressRollup compute(Long userId) {
+        UserProgressRollup rollup = new UserProgressRollup(userId);
+        computeInto(rollup);
+        streakService.compute(rollup);
+        return rollup;
+    }
+
+    private void computeInto(UserProgressRollup rollup) {
+        Long userId = rollup.getUserId();
+        ProgressRepository.ProgressTotals totals = progressRepository.sumProgressTotalsByUserId(userId);
+        rollup.setTotalEntries(totals.getEntries());
+        rollup.setTotalCompletedWorkouts(totals.getCompletedWorkouts());
+        rollup.setTotalCaloriesConsumed(totals.getCaloriesConsumed());
+        rollup.setTotalCaloriesBurned(totals.getCaloriesBurned());
+        rollup.setArchivedThrough(null);
+        archiveStore.find(userId).ifPresent(archive -> {
+            rollup.setTotalEntries(rollup.getTotalEntries() + archive.getRecordCount());
+            rollup.setTotalCompletedWorkouts(rollup.getTotalCompletedWorkouts() + archive.getCompletedWorkouts());
+            rollup.setTotalCaloriesConsumed(rollup.getTotalCaloriesConsumed() + archive.getCaloriesConsumed());
+            rollup.setTotalCaloriesBurned(rollup.getTotalCaloriesBurned() + archive.getCaloriesBurned());
+            rollup.setArchivedThrough(archive.getArchivedThrough());
+        });
+        refreshWindow(rollup);
+        rollup.setStale(false);
+    }
+
+    /**
+     * Updates the window sums for one changed record without a query. Returns false if the
+     * window has to be rescanned instead: a new record among the 30 most recent pushes the
+     * oldest one out, and its values are not on the rollup.
+     */
+    private static boolean applyToWindow(UserProgressRollup rollup, Snapshot before, Progress after) {
+        boolean full = rollup.getWindowEntries() >= WINDOW_SIZE;
+        if (full && after.getDate().isBefore(rollup.getWindowStartDate())) {
+            return true;
+        }
+        if (before == null) {
+            if (full) {
+                return false;
+            }
+            rollup.setWindowEntries(rollup.getWindowEntries() + 1);
+            if (rollup.getWindowStartDate() == null || after.getDate().isBefore(rollup.getWindowStartDate())) {
+                rollup.setWindowStartDate(after.getDate());
+            }
+        }
+        rollup.setWindowCompletedWorkouts(rollup.getWindowCompletedWorkouts()
+            + flag(after.getWorkoutCompleted()) - (before == null ? 0 : flag(before.workoutCompleted)));
+        rollup.setWindowCaloriesConsumedSum(rollup.getWindowCaloriesConsumedSum()
+            + value(after.getCaloriesConsumed()) - (before == null ? 0 : value(before.caloriesConsumed)));
+        rollup.setWindowCaloriesConsumedCount(rollup.getWindowCaloriesConsumedCount()
+            + count(after.getCaloriesConsumed()) - (before == null ? 0 : count(before.caloriesConsumed)));
+        rollup.setWindowCaloriesBurnedSum(rollup.getWindowCaloriesBurnedSum()
+            + value(after.getCaloriesBurned()) - (before == null ? 0 : value(before.caloriesBurned)));
+        rollup.setWindowCaloriesBurnedCount(rollup.getWindowCaloriesBurnedCount()
+            + count(after.getCaloriesBurned()) - (before == null ? 0 : count(before.caloriesBurned)));
+        return true;
+    }
+
+    // The archiver keeps each user's 30 most recent records in progress_records, so the window
+    // never reaches into the archived segment
+    private void refreshWindow(UserProgressRollup rollup) {
+        List<ProgressView> window = new ArrayList<>(WINDOW_SIZE);
+        for (Progress p : progressRepository.findLast30DaysProgressByUserId(rollup.getUserId())) {
+            window.add(ProgressView.from(p));
+        }
+
+        LocalDate start = null;
+        int completed = 0;
+        long consumedSum = 0, burnedSum = 0;
+        int consumedCount = 0, burnedCount = 0;
+        for (ProgressView p : window) {
+            if (start == null || p.date().isBefore(start)) start = p.date();
+            completed += flag(p.workoutCompleted());
+            if (p.caloriesConsumed() != null) {
+                consumedSum += p.caloriesConsumed();
+                consumedCount++;
+            }
+            if (p.caloriesBurned() != null) {
+                burnedSum += p.caloriesBurned();
+                burnedCount++;
+            }
+        }
+
+        rollup.setWindowStartDate(start);
+        rollup.setWindowEntries(window.size());
+        rollup.setWindowCompletedWorkouts(completed);
+        rollup.setWindowCaloriesConsumedSum(consumedSum);
+        rollup.setWindowCaloriesConsumedCount(consumedCount);
+        rollup.setWindowCaloriesBurnedSum(burnedSum);
+        rollup.setWindowCaloriesBurnedCount(burnedCount);
+    }
+
+    private static int flag(Boolean value) {
+        return value != null && value ? 1 : 0;
+    }
+
+    private static long value(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static int count(Integer value) {
+        return value == null ? 0 : 1;
+    }
+
+    /**
+     * Copy of the rollup-relevant values of a progress record taken before it is modified.
+     */
+    public static class Snapshot {
+        private final Boolean workoutCompleted;
+        private final Integer caloriesConsumed;
+        private final Integer caloriesBurned;
+
+        private Snapshot(Progress progress) {
+            this.workoutCompleted = progress.getWorkoutCompleted();
+            this.caloriesConsumed = progress.getCaloriesConsumed();
+            this.caloriesBurned = progress.getCaloriesBurned();
+        }
+
+        public static Snapshot of(Progress progress) {
+            return progress == null || progress.getId() == null ? null : new Snapshot(progress);
+        }
+    }
+
+    public record LockedDay(UserProgressRollup rollup, Progress progress) {
+    }
+
+    public static class Change {
+        private final Snapshot before;
+        private final Progress after;
+
+        public Change(Snapshot before, Progress after) {
+            this.before = before;
+            this.after = after;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressView;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary format of archived progress segments. Records (sorted by date) are split into blocks of
+ * {@link #BLOCK_SIZE}, each Deflate-compressed on its own and listed in an index at the start of
+ * the file with its first and last date, so a reader can seek to the blocks covering the dates it
+ * needs. Within a block records are stored column by column: dates, ids, integer fields and
+ * timestamps as zig-zag varint deltas from the previous value, nullable fields behind a presence
+ * bitmap, weights as the XOR of consecutive IEEE bits. Consecutive daily records therefore
+ * encode to a few bytes each before the Deflate pass.
+ */
+final class ProgressSegmentCodec {
+
+    private static final int MAGIC = 0x50534547; // "PSEG"
+    // 1: a single Deflate stream over all records, without an index (still readable)
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 5;
+    // First day, last day, record count and compressed length of a block
+    private static final int INDEX_ENTRY_BYTES = 16;
+
+    // Small enough that a history page decodes one or two blocks, large enough to compress well
+    static final int BLOCK_SIZE = 128;
+
+    private ProgressSegmentCodec() {}
+
+    static byte[] encode(List<ProgressView> rows) {
+        List<byte[]> blocks = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += BLOCK_SIZE) {
+            blocks.add(compress(rows.subList(from, Math.min(from + BLOCK_SIZE, rows.size()))));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(blocks.size());
+            for (int i = 0; i < blocks.size(); i++) {
+                int from = i * BLOCK_SIZE;
+                int to = Math.min(from + BLOCK_SIZE, rows.size());
+                out.writeInt((int) rows.get(from).date().toEpochDay());
+                out.writeInt((int) rows.get(to - 1).date().toEpochDay());
+                out.writeInt(to - from);
+                out.writeInt(blocks.get(i).length);
+            }
+            for (byte[] block : blocks) {
+                out.write(block);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Opens a segment file, reading only its header and block index.
+     */
+    static Reader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(read(channel, 0, HEADER_BYTES)));
+            if (header.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a progress segment");
+            }
+            int format = header.readUnsignedByte();
+            if (format == 1) {
+                byte[] body = read(channel, HEADER_BYTES, (int) (channel.size() - HEADER_BYTES));
+                channel.close();
+                return new Reader(decompress(body));
+            }
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported progress segment format " + format);
+            }
+            int blocks = ByteBuffer.wrap(read(channel, HEADER_BYTES, 4)).getInt();
+            ByteBuffer index = ByteBuffer.wrap(read(channel, HEADER_BYTES + 4, blocks * INDEX_ENTRY_BYTES));
+            return new Reader(channel, index, blocks, HEADER_BYTES + 4 + (long) blocks * INDEX_ENTRY_BYTES);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Random access to the blocks of one segment file, oldest first. Blocks are read and
+     * decompressed on demand.
+     */
+    static final class Reader implements Closeable {
+
+        private final FileChannel channel;
+        private final int[] firstDays;
+        private final int[] lastDays;
+        private final long[] offsets;
+        private final int[] lengths;
+        // Format 1 has no blocks; its records are decoded up front and served as one block
+        private final List<ProgressView> unblocked;
+
+        private Reader(FileChannel channel, ByteBuffer index, int blocks, long dataStart) {
+            this.channel = channel;
+            this.firstDays = new int[blocks];
+            this.lastDays = new int[blocks];
+            this.offsets = new long[blocks];
+            this.lengths = new int[blocks];
+            this.unblocked = null;
+            long offset = dataStart;
+            for (int i = 0; i < blocks; i++) {
+                firstDays[i] = index.getInt();
+                lastDays[i] = index.getInt();
+                index.getInt();
+                lengths[i] = index.getInt();
+                offsets[i] = offset;
+                offset += lengths[i];
+            }
+        }
+
+        private Reader(List<ProgressView> rows) {
+            this.channel = null;
+            this.unblocked = rows;
+            int blocks = rows.isEmpty() ? 0 : 1;
+            this.firstDays = new int[blocks];
+            this.lastDays = new int[blocks];
+            this.offsets = new long[blocks];
+            this.lengths = new int[blocks];
+            if (blocks > 0) {
+                firstDays[0] = (int) rows.get(0).date().toEpochDay();
+                lastDays[0] = (int) rows.get(rows.size() - 1).date().toEpochDay();
+            }
+        }
+
+        int blockCount() {
+            return firstDays.length;
+        }
+
+        LocalDate firstDate(int block) {
+            return LocalDate.ofEpochDay(firstDays[block]);
+        }
+
+        LocalDate lastDate(int block) {
+            return LocalDate.ofEpochDay(lastDays[block]);
+        }
+
+        List<ProgressView> readBlock(int block) throws IOException {
+            if (unblocked != null) {
+                return unblocked;
+            }
+            return decompress(read(channel, offsets[block], lengths[block]));
+        }
+
+        List<ProgressView> readAll() throws IOException {
+            List<ProgressView> rows = new ArrayList<>();
+            for (int i = 0; i < blockCount(); i++) {
+                rows.addAll(readBlock(i));
+            }
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    private static byte[] compress(List<ProgressView> rows) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            writeRecords(out, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<ProgressView> decompress(byte[] block) throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(block)))) {
+            return readRecords(in);
+        }
+    }
+
+    private static byte[] read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated progress segment");
+            }
+        }
+        return buffer.array();
+    }
+
+    private static void writeRecords(DataOutputStream out, List<ProgressView> rows) throws IOException {
+        int count = rows.size();
+        writeVarLong(out, count);
+
+        long previous = 0;
+        for (ProgressView row : rows) {
+            long day = row.date().toEpochDay();
+            writeVarLong(out, zigZag(day - previous));
+            previous = day;
+        }
+        writeLongColumn(out, rows, ProgressView::id);
+        writeLongColumn(out, rows, row -> toLong(row.caloriesConsumed()));
+        writeLongColumn(out, rows, row -> toLong(row.caloriesBurned()));
+        writeLongColumn(out, rows, row -> toLong(row.waterIntake()));
+        writeLongColumn(out, rows, row -> toLong(row.mealsCompleted()));
+
+        writeBitmap(out, rows, row -> row.workoutCompleted() != null);
+        writeBitmap(out, rows, row -> Boolean.TRUE.equals(row.workoutCompleted()));
+
+        writeBitmap(out, rows, row -> row.currentWeight() != null);
+        long previousBits = 0;
+        for (ProgressView row : rows) {
+            if (row.currentWeight() != null) {
+                long bits = Double.doubleToLongBits(row.currentWeight());
+                out.writeLong(bits ^ previousBits);
+                previousBits = bits;
+            }
+        }
+
+        writeLongColumn(out, rows, row -> toEpochNanos(row.createdAt()));
+        writeLongColumn(out, rows, row -> toEpochNanos(row.updatedAt()));
+    }
+
+    private static List<ProgressView> readRecords(DataInputStream in) throws IOException {
+        int count = (int) readVarLong(in);
+
+        LocalDate[] dates = new LocalDate[count];
+        long day = 0;
+        for (int i = 0; i < count; i++) {
+            day += unZigZag(readVarLong(in));
+            dates[i] = LocalDate.ofEpochDay(day);
+        }
+        Long[] ids = readLongColumn(in, count);
+        Long[] consumed = readLongColumn(in, count);
+        Long[] burned = readLongColumn(in, count);
+        Long[] water = readLongColumn(in, count);
+        Long[] meals = readLongColumn(in, count);
+
+        boolean[] hasWorkout = readBitmap(in, count);
+        boolean[] workout = readBitmap(in, count);
+
+        boolean[] hasWeight = readBitmap(in, count);
+        Double[] weights = new Double[count];
+        long previousBits = 0;
+        for (int i = 0; i < count; i++) {
+            if (hasWeight[i]) {
+                previousBits ^= in.readLong();
+                weights[i] = Double.longBitsToDouble(previousBits);
+            }
+        }
+
+        Long[] created = readLongColumn(in, count);
+        Long[] updated = readLongColumn(in, count);
+
+        List<ProgressView> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new ProgressView(ids[i], dates[i], toInteger(consumed[i]), toInteger(burned[i]),
+                                      hasWorkout[i] ? workout[i] : null, toInteger(water[i]),
+                                      toInteger(meals[i]), weights[i], fromEpochNanos(created[i]),
+                                      fromEpochNanos(updated[i])));
+        }
+        return rows;
+    }
+
+    // Presence bitmap, then the present values as deltas from the previous present value
+    private static void writeLongColumn(DataOutputStream out, List<ProgressView> rows,
+                                        Function<ProgressView, Long> column) throws IOException {
+        writeBitmap(out, rows, row -> column.apply(row) != null);
+        long previous = 0;
+        for (ProgressView row : rows) {
+            Long value = column.apply(row);
+            if (value != null) {
+                writeVarLong(out, zigZag(value - previous));
+                previous = value;
+            }
+        }
+    }
+
+    private static Long[] readLongColumn(DataInputStream in, int count) throws IOException {
+        boolean[] present = readBitmap(in, count);
+        Long[] values = new Long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            if (present[i]) {
+                previous += unZigZag(readVarLong(in));
+                values[i] = previous;
+            }
+        }
+        return values;
+    }
+
+    private static void writeBitmap(DataOutputStream out, List<ProgressView> rows,
+                                    Function<ProgressView, Boolean> bit) throws IOException {
+        int current = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (bit.apply(rows.get(i))) {
+                current |= 1 << (i & 7);
+            }
+            if ((i & 7) == 7) {
+                out.writeByte(current);
+                current = 0;
+            }
+        }
+        if ((rows.size() & 7) != 0) {
+            out.writeByte(current);
+        }
+    }
+
+    private static boolean[] readBitmap(DataInputStream in, int count) throws IOException {
+        boolean[] bits = new boolean[count];
+        int current = 0;
+        for (int i = 0; i < count; i++) {
+            if ((i & 7) == 0) {
+                current = in.readUnsignedByte();
+            }
+            bits[i] = (current & (1 << (i & 7))) != 0;
+        }
+        return bits;
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Truncated progress segment");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in progress segment");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static Long toLong(Integer value) {
+        return value == null ? null : value.longValue();
+    }
+
+    private static Integer toInteger(Long value) {
+        return value == null ? null : value.intValue();
+    }
+
+    private static Long toEpochNanos(LocalDateTime time) {
+        return time == null ? null : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(Long nanos) {
+        return nanos == null ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                                                                  (int) Math.floorMod(nanos, 1_000_000_000L),
+                                                                  ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,128 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.entity.UserProgressRollup;
+import com.fitnessapp.repository.ProgressRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ProgressService {
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private DataVersionService versions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Applies one dated entry for a user with a single-statement upsert on the unique
+     * (user_id, date) index, so concurrent updates for the same day merge into one row, and
+     * folds the change into the user's stats rollup in the same transaction. The rollup lock
+     * and the day's current values come from one query, and ids come from the pooled
+     * sequence, so the write itself is one statement on progress_records.
+     */
+    @Transactional
+    public Progress updateProgress(User user, ProgressEntry entry) {
+        ProgressRollupService.LockedDay day = rollupService.lockDay(user.getId(), entry.getDate());
+        UserProgressRollup rollup = day.rollup();
+        checkNotArchived(rollup, entry.getDate());
+
+        Progress progress = day.progress();
+        ProgressRollupService.Snapshot before = ProgressRollupService.Snapshot.of(progress);
+        LocalDateTime now = LocalDateTime.now();
+        if (progress == null) {
+            progress = new Progress(user, entry.getDate());
+            progress.setId(progressRepository.nextProgressId());
+            progress.setCreatedAt(now);
+        } else {
+            // The row is written natively below; keep Hibernate from flushing its own UPDATE
+            entityManager.detach(progress);
+        }
+
+        progressRepository.upsertProgress(progress.getId(), user.getId(), entry, now);
+
+        // Mirror the merge the statement performed (writers for this user are serialized by the rollup lock)
+        entry.applyTo(progress);
+        progress.setUpdatedAt(now);
+
+        rollupService.applyChanges(rollup,
+            Collections.singletonList(new ProgressRollupService.Change(before, progress)));
+        versions.progressChanged(user.getId());
+        return progress;
+    }
+
+    /**
+     * Applies many dated entries for one user in a single transaction. Existing rows for the
+     * whole date set are loaded with one query, and the resulting inserts and updates are
+     * flushed as JDBC batches (see hibernate.jdbc.batch_size). Entries sharing a date are
+     * merged in request order. Fails with {@link ArchivedProgressException} if any entry targets
+     * an archived day.
+     */
+    @Transactional
+    public List<Progress> saveBatch(User user, List<ProgressEntry> entries) {
+        UserProgressRollup rollup = rollupService.lock(user.getId());
+
+        Map<LocalDate, Progress> byDate = new HashMap<>();
+        for (ProgressEntry entry : entries) {
+            checkNotArchived(rollup, entry.getDate());
+            byDate.put(entry.getDate(), null);
+        }
+
+        for (Progress existing : progressRepository.findByUserIdAndDateIn(user.getId(), byDate.keySet())) {
+            byDate.put(existing.getDate(), existing);
+        }
+
+        Map<LocalDate, ProgressRollupService.Snapshot> before = new HashMap<>();
+        Map<LocalDate, Progress> touched = new LinkedHashMap<>();
+        for (ProgressEntry entry : entries) {
+            Progress progress = byDate.get(entry.getDate());
+            if (progress == null) {
+                progress = new Progress(user, entry.getDate());
+                byDate.put(entry.getDate(), progress);
+            }
+            if (!touched.containsKey(entry.getDate())) {
+                before.put(entry.getDate(), ProgressRollupService.Snapshot.of(progress));
+            }
+            entry.applyTo(progress);
+            touched.put(entry.getDate(), progress);
+        }
+
+        List<Progress> saved = progressRepository.saveAll(new ArrayList<>(touched.values()));
+
+        List<ProgressRollupService.Change> changes = new ArrayList<>(saved.size());
+        for (Progress progress : saved) {
+            changes.add(new ProgressRollupService.Change(before.get(progress.getDate()), progress));
+        }
+        rollupService.applyChanges(rollup, changes);
+        versions.progressChanged(user.getId());
+        return saved;
+    }
+
+    // Archived days are read-only; the rollup lock keeps the archiver from moving the boundary meanwhile
+    private static void checkNotArchived(UserProgressRollup rollup, LocalDate date) {
+        if (rollup.getArchivedThrough() != null && !date.isAfter(rollup.getArchivedThrough())) {
+            throw new ArchivedProgressException(rollup.getArchivedThrough());
+        }
+    }
+}
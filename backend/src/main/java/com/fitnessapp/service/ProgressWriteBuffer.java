@@ -0,0 +1,383 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.repository.ProgressRepository;
+import com.fitnessapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Optional write-behind path for single-day progress updates ({@code app.progress.write-behind.enabled}).
+ * Updates are merged per (user, date) in a sharded in-memory buffer and written through
+ * {@link ProgressService#saveBatch}, one batched transaction per user, every flush interval or
+ * as soon as {@code max-pending} keys are waiting. A buffered key stays visible to
+ * {@link #overlay} until the write that covers it has committed, so a user's own reads of a
+ * day see their updates. A key whose writes keep failing is dropped after {@code max-attempts}
+ * flushes. The buffer is drained on shutdown; updates that arrive after that are written directly.
+ * <p>
+ * A flush holds its shard's write lock from the snapshot until the write has committed, and
+ * direct writes go through {@link #writeThrough}, which takes the same lock and writes the
+ * user's buffered updates first. A user's writes therefore reach the database in the order they
+ * were accepted, and an older buffered value can never overwrite a newer direct write.
+ */
+@Service
+public class ProgressWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressWriteBuffer.class);
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    private final boolean enabled;
+    private final long flushIntervalMillis;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final Shard[] shards;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter bufferedUpdates;
+    private final Counter writtenRows;
+    private final Counter droppedUpdates;
+
+    private ScheduledExecutorService flusher;
+    private volatile boolean closed;
+
+    public ProgressWriteBuffer(@Value("${app.progress.write-behind.enabled:false}") boolean enabled,
+                               @Value("${app.progress.write-behind.flush-interval-ms:1000}") long flushIntervalMillis,
+                               @Value("${app.progress.write-behind.max-pending:1000}") int maxPending,
+                               @Value("${app.progress.write-behind.shards:16}") int shardCount,
+                               @Value("${app.progress.write-behind.max-attempts:5}") int maxAttempts,
+                               MeterRegistry registry) {
+        this.enabled = enabled;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        Gauge.builder("progress.write_behind.pending", pending, AtomicInteger::get)
+            .description("Buffered (user, date) keys not yet written")
+            .register(registry);
+        this.bufferedUpdates = Counter.builder("progress.write_behind.updates")
+            .description("Progress updates accepted into the buffer")
+            .register(registry);
+        this.writtenRows = Counter.builder("progress.write_behind.rows")
+            .description("Progress rows written by buffer flushes")
+            .register(registry);
+        this.droppedUpdates = Counter.builder("progress.write_behind.dropped")
+            .description("Buffered (user, date) keys dropped after max-attempts failed flushes")
+            .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        // buffer() checks the flag under the shard lock, so each shard's final flush below also
+        // takes every update that got in before it. Later updates are written through the shard's
+        // write lock, so the final flush cannot overwrite them with older values.
+        closed = true;
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flushAll();
+        if (pending.get() > 0) {
+            log.error("{} buffered progress updates could not be written at shutdown", pending.get());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Merges an update into the buffer and returns the day's progress as it will be once written.
+     */
+    public ProgressView buffer(Long userId, ProgressEntry entry) {
+        Key key = new Key(userId, entry.getDate());
+        Shard shard = shardFor(userId);
+        ProgressView stored = null;
+        ProgressView view = null;
+        boolean added = false;
+        while (view == null) {
+            shard.lock.lock();
+            try {
+                if (closed) {
+                    break;
+                }
+                Pending buffered = shard.entries.get(key);
+                if (buffered != null) {
+                    buffered.entry.mergeFrom(entry);
+                    buffered.version++;
+                    view = buffered.stored.withEntry(buffered.entry);
+                } else if (stored != null) {
+                    buffered = new Pending(stored, entry.copy());
+                    shard.entries.put(key, buffered);
+                    added = true;
+                    view = buffered.stored.withEntry(buffered.entry);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+            if (view == null && !closed) {
+                // First update for this day since the last flush: read the stored values to overlay
+                // without holding the shard, then check again whether another update got in first
+                stored = progressRepository.findViewByUserIdAndDate(userId, entry.getDate())
+                    .orElseGet(() -> ProgressView.from(new Progress(null, entry.getDate())));
+            }
+        }
+        if (view == null) {
+            return writeThrough(userId, () ->
+                ProgressView.from(progressService.updateProgress(userRepository.getReferenceById(userId), entry)));
+        }
+
+        bufferedUpdates.increment();
+        if (added && pending.incrementAndGet() >= maxPending) {
+            requestFlush();
+        }
+        return view;
+    }
+
+    /**
+     * Applies any buffered update for the day to the stored view.
+     */
+    public ProgressView overlay(Long userId, LocalDate date, ProgressView stored) {
+        if (!enabled) {
+            return stored;
+        }
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            Pending buffered = shard.entries.get(new Key(userId, date));
+            return buffered == null ? stored : stored.withEntry(buffered.entry);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a direct write of the user's progress after everything buffered for them, holding
+     * their shard's write lock so that no flush of older buffered values can land after it.
+     */
+    public <T> T writeThrough(Long userId, Supplier<T> write) {
+        if (!enabled) {
+            return write.get();
+        }
+        Shard shard = shardFor(userId);
+        shard.writeLock.lock();
+        try {
+            flushShard(shard, userId);
+            return write.get();
+        } finally {
+            shard.writeLock.unlock();
+        }
+    }
+
+    public void discardUser(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            Iterator<Key> keys = shard.entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().userId.equals(userId)) {
+                    keys.remove();
+                    pending.decrementAndGet();
+                }
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public void flushAll() {
+        for (Shard shard : shards) {
+            flushShard(shard, null);
+        }
+    }
+
+    private void requestFlush() {
+        if (!closed && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flushAll();
+            });
+        }
+    }
+
+    private void flushShard(Shard shard, Long onlyUserId) {
+        shard.writeLock.lock();
+        try {
+            writeShard(shard, onlyUserId);
+        } finally {
+            shard.writeLock.unlock();
+        }
+    }
+
+    // Called with the shard's write lock held
+    private void writeShard(Shard shard, Long onlyUserId) {
+        Map<Long, List<Written>> byUser = new HashMap<>();
+        shard.lock.lock();
+        try {
+            for (Map.Entry<Key, Pending> buffered : shard.entries.entrySet()) {
+                Key key = buffered.getKey();
+                if (onlyUserId == null || onlyUserId.equals(key.userId)) {
+                    byUser.computeIfAbsent(key.userId, id -> new ArrayList<>())
+                        .add(new Written(key, buffered.getValue().entry.copy(), buffered.getValue().version));
+                }
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+
+        for (Map.Entry<Long, List<Written>> user : byUser.entrySet()) {
+            Long userId = user.getKey();
+            List<ProgressEntry> entries = new ArrayList<>(user.getValue().size());
+            for (Written written : user.getValue()) {
+                entries.add(written.entry);
+            }
+            try {
+                progressService.saveBatch(userRepository.getReferenceById(userId), entries);
+                writtenRows.increment(entries.size());
+                release(shard, user.getValue(), false);
+            } catch (ArchivedProgressException e) {
+                // The day was archived while buffered; drop those updates and retry the rest next flush
+                List<Written> archived = new ArrayList<>();
+                for (Written written : user.getValue()) {
+                    if (!written.key.date.isAfter(e.getArchivedThrough())) {
+                        archived.add(written);
+                    }
+                }
+                log.warn("Discarding {} buffered progress updates for archived days of user {}", archived.size(), userId);
+                release(shard, archived, true);
+            } catch (RuntimeException e) {
+                if (!userCache.exists(userId)) {
+                    log.warn("Discarding {} buffered progress updates for deleted user {}", entries.size(), userId);
+                    release(shard, user.getValue(), true);
+                } else {
+                    log.warn("Flushing buffered progress for user {} failed; will retry", userId, e);
+                    failed(shard, user.getValue());
+                }
+            }
+        }
+    }
+
+    // Drops written keys, unless they were updated again after the snapshot was taken
+    private void release(Shard shard, List<Written> written, boolean force) {
+        shard.lock.lock();
+        try {
+            for (Written w : written) {
+                Pending buffered = shard.entries.get(w.key);
+                if (buffered != null && (force || buffered.version == w.version)) {
+                    shard.entries.remove(w.key);
+                    pending.decrementAndGet();
+                } else if (buffered != null) {
+                    buffered.failedAttempts = 0;
+                }
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // Counts a failed write of the keys and drops those that have used up their attempts
+    private void failed(Shard shard, List<Written> written) {
+        int dropped = 0;
+        shard.lock.lock();
+        try {
+            for (Written w : written) {
+                Pending buffered = shard.entries.get(w.key);
+                if (buffered != null && ++buffered.failedAttempts >= maxAttempts) {
+                    shard.entries.remove(w.key);
+                    pending.decrementAndGet();
+                    dropped++;
+                }
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        if (dropped > 0) {
+            log.error("Discarding {} buffered progress updates of user {} after {} failed flushes",
+                      dropped, written.get(0).key.userId, maxAttempts);
+            droppedUpdates.increment(dropped);
+        }
+    }
+
+    private Shard shardFor(Long userId) {
+        return shards[Math.floorMod(userId.hashCode(), shards.length)];
+    }
+
+    private record Key(Long userId, LocalDate date) {}
+
+    private record Written(Key key, ProgressEntry entry, long version) {}
+
+    private static class Pending {
+        private final ProgressView stored;
+        private final ProgressEntry entry;
+        private long version;
+        private int failedAttempts;
+
+        private Pending(ProgressView stored, ProgressEntry entry) {
+            this.stored = stored;
+            this.entry = entry;
+        }
+    }
+
+    // ReentrantLock rather than synchronized, so virtual threads are not pinned while a shard is held
+    private static class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Orders the shard's writes; held across database calls, so never taken while holding lock
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final Map<Key, Pending> entries = new HashMap<>();
+    }
+}
@@ -0,0 +1,37 @@
+package com.fitnessapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote within the read-your-writes window, so that with a read replica
+ * configured their reads keep going to the primary until replication has caught up. The window
+ * ({@code app.datasource.replica.read-your-writes-window}) should exceed the usual replica lag.
+ * Tracking is per instance: requests for the same user spread over several instances may
+ * still read from the replica inside the window.
+ */
+@Service
+public class RecentWriteTracker {
+
+    private final Cache<Long, Boolean> writers;
+
+    public RecentWriteTracker(@Value("${app.datasource.replica.read-your-writes-window:5s}") Duration window,
+                              @Value("${app.datasource.replica.read-your-writes-max-users:100000}") long maxUsers) {
+        this.writers = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .expireAfterWrite(window)
+            .build();
+    }
+
+    public void recordWrite(Long userId) {
+        writers.put(userId, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return writers.getIfPresent(userId) != null;
+    }
+}
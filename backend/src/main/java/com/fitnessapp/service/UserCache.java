@@ -0,0 +1,62 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.CachedUser;
+import com.fitnessapp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-evicting cache of user existence and core profile data in front of
+ * {@link UserRepository}. Only existing users are cached; writes to a user must call
+ * {@link #invalidate} so the next read reloads it.
+ */
+@Service
+public class UserCache {
+
+    private final Cache<Long, CachedUser> cache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public UserCache(@Value("${app.cache.users.max-size:10000}") long maxSize,
+                     @Value("${app.cache.users.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    public Optional<CachedUser> get(Long userId) {
+        return Optional.ofNullable(cache.get(userId,
+            id -> userRepository.findWithFocusAreasById(id).map(CachedUser::new).orElse(null)));
+    }
+
+    public boolean exists(Long userId) {
+        return get(userId).isPresent();
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("hitRate", stats.hitRate());
+        return result;
+    }
+}
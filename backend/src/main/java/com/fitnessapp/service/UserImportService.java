@@ -0,0 +1,311 @@
+package com.fitnessapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessapp.dto.UserImportReport;
+import com.fitnessapp.entity.FocusArea;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users from a CSV or NDJSON stream in fixed-size chunks, so memory use does not grow
+ * with the file. Each chunk is parsed and validated in parallel, checked for emails that already
+ * exist with one query, and inserted as JDBC batches together with its cohort counter updates in
+ * one transaction. Rows are rejected individually: a bad row never fails the rest of its chunk.
+ * <p>
+ * CSV needs a header row naming the columns ({@link #CSV_COLUMNS}, any order; focusAreas is
+ * optional and separated by {@code ;}). Fields may be double-quoted but must not span lines.
+ * NDJSON has one registration object per line, as sent to {@code POST /api/users/register}.
+ */
+@Service
+public class UserImportService {
+
+    public static final int CHUNK_SIZE = 500;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    public static final List<String> CSV_COLUMNS = List.of("email", "name", "age", "gender", "weight", "height",
+        "fitnessGoal", "workoutPreference", "dietPreference", "focusAreas");
+
+    public enum Format { CSV, NDJSON }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CohortStatsService cohortStats;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private RecentWriteTracker recentWrites;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Imports every row of the stream. Fails with IllegalArgumentException if a CSV header is
+     * missing or incomplete; row-level problems only end up in the report.
+     */
+    public UserImportReport importUsers(InputStream in, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        RowParser parser;
+        if (format == Format.CSV) {
+            parser = csvParser(reader.readLine());
+            lineNumber++;
+        } else {
+            parser = line -> objectMapper.readValue(line, User.class);
+        }
+
+        Report report = new Report();
+        List<Line> chunk = new ArrayList<>(CHUNK_SIZE);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new Line(lineNumber, line));
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, parser, report);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, parser, report);
+        return report.build();
+    }
+
+    private void importChunk(List<Line> chunk, RowParser parser, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row> rows = chunk.parallelStream().map(line -> parse(line, parser)).toList();
+
+        // Emails are unique regardless of case, so rows are keyed by the normalized email
+        Map<String, Row> byEmail = new HashMap<>();
+        for (Row row : rows) {
+            report.rows++;
+            if (row.error() != null) {
+                report.fail(row.line(), row.email(), row.error());
+            } else if (byEmail.putIfAbsent(row.user().getEmailNormalized(), row) != null) {
+                report.fail(row.line(), row.email(), "Duplicate email in import");
+            }
+        }
+
+        // A concurrent registration can take an email between the check and the insert; retry once
+        for (int attempt = 0; !byEmail.isEmpty(); attempt++) {
+            for (String existing : userRepository.findExistingEmailsNormalized(List.copyOf(byEmail.keySet()))) {
+                Row row = byEmail.remove(existing);
+                if (row != null) {
+                    report.fail(row.line(), row.email(), "User with this email already exists");
+                }
+            }
+            List<Row> pending = byEmail.values().stream().sorted(Comparator.comparingLong(Row::line)).toList();
+            List<User> users = pending.stream().map(Row::user).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userRepository.insertAll(users);
+                    cohortStats.usersAdded(users);
+                    rollupService.usersAdded(users.stream().map(User::getId).toList());
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == 0) {
+                    continue;
+                }
+                for (Row row : pending) {
+                    report.fail(row.line(), row.email(), "Import failed: " + e.getMostSpecificCause().getMessage());
+                }
+                return;
+            }
+            for (User user : users) {
+                // New ids are not in this request's path, so the read-your-writes interceptor cannot record them
+                recentWrites.recordWrite(user.getId());
+            }
+            report.imported += users.size();
+            return;
+        }
+    }
+
+    private Row parse(Line line, RowParser parser) {
+        User user;
+        try {
+            user = parser.parse(line.text());
+        } catch (JsonProcessingException e) {
+            return new Row(line.number(), null, null, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new Row(line.number(), null, null, e.getMessage());
+        } catch (IOException e) {
+            return new Row(line.number(), null, null, "Unreadable row: " + e.getMessage());
+        }
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+            return new Row(line.number(), user.getEmail(), null, message);
+        }
+        return new Row(line.number(), user.getEmail(), user, null);
+    }
+
+    private RowParser csvParser(String header) {
+        if (header == null || header.isBlank()) {
+            throw new IllegalArgumentException("CSV header row is required");
+        }
+        List<String> names = splitCsv(header.strip());
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).strip();
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + name);
+            }
+            columns.put(name, i);
+        }
+        for (String name : CSV_COLUMNS) {
+            if (!columns.containsKey(name) && !"focusAreas".equals(name)) {
+                throw new IllegalArgumentException("Missing CSV column: " + name);
+            }
+        }
+
+        return line -> {
+            List<String> cells = splitCsv(line);
+            if (cells.size() != names.size()) {
+                throw new IllegalArgumentException("Expected " + names.size() + " columns but found " + cells.size());
+            }
+            User user = new User(cell(cells, columns, "email"), cell(cells, columns, "name"),
+                                 number(cells, columns, "age", Integer::valueOf),
+                                 cell(cells, columns, "gender"),
+                                 number(cells, columns, "weight", Double::valueOf),
+                                 number(cells, columns, "height", Double::valueOf),
+                                 cell(cells, columns, "fitnessGoal"), cell(cells, columns, "workoutPreference"),
+                                 cell(cells, columns, "dietPreference"));
+            String focusAreas = cell(cells, columns, "focusAreas");
+            if (focusAreas != null) {
+                List<FocusArea> areas = new ArrayList<>();
+                for (String area : focusAreas.split(";")) {
+                    if (!area.isBlank()) {
+                        try {
+                            areas.add(FocusArea.valueOf(area.strip()));
+                        } catch (IllegalArgumentException e) {
+                            throw new IllegalArgumentException("Unknown focus area: " + area.strip());
+                        }
+                    }
+                }
+                user.setFocusAreas(areas);
+            }
+            return user;
+        };
+    }
+
+    // Empty cells are null, so Bean Validation reports them as missing
+    private static String cell(List<String> cells, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            return null;
+        }
+        String value = cells.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T number(List<String> cells, Map<String, Integer> columns, String name,
+                                Function<String, T> parse) {
+        String value = cell(cells, columns, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parse.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    // One CSV record without embedded line breaks; "" inside a quoted field is a literal quote
+    static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        User parse(String line) throws IOException;
+    }
+
+    private record Line(long number, String text) {}
+
+    // A parsed row: user and email are set when valid, error otherwise (email if it could be read)
+    private record Row(long line, String email, User user, String error) {}
+
+    private static final class Report {
+
+        private final List<UserImportReport.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        void fail(long line, String email, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new UserImportReport.RowError(line, email, message));
+            }
+        }
+
+        UserImportReport build() {
+            errors.sort(Comparator.comparingLong(UserImportReport.RowError::line));
+            return new UserImportReport(rows, imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
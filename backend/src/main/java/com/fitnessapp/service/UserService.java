@@ -0,0 +1,186 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Profile writes and password checks. Each write changes the user row together with everything
+ * derived from it (cohort counters, data versions, rollup and archive) in a single transaction,
+ * so a failure part-way leaves nothing half-applied. Callers invalidate the user cache once the
+ * method has returned.
+ */
+@Service
+public class UserService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CohortStatsService cohortStats;
+
+    @Autowired
+    private DataVersionService versions;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private ProgressArchiveService archiveService;
+
+    @Autowired
+    private ProgressWriteBuffer writeBuffer;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    // Compared against when there is no stored hash, so unknown emails take as long as wrong passwords
+    private String unknownUserHash;
+
+    /**
+     * Inserts the user with the hash of their password; a taken email (in any case) fails the
+     * insert on the unique index on email_normalized.
+     */
+    @Transactional
+    public User register(User user) {
+        checkPassword(user.getPassword());
+        user.setPasswordHash(passwordEncoder.encode(user.getPassword()));
+        User savedUser = userRepository.save(user);
+        cohortStats.userAdded(savedUser);
+        rollupService.usersAdded(List.of(savedUser.getId()));
+        return savedUser;
+    }
+
+    /**
+     * The user with this email (in any case) if the password is theirs. Accounts without a
+     * password never match.
+     */
+    @Transactional(readOnly = true)
+    public Optional<User> authenticate(String email, String password) {
+        Optional<User> user = email == null ? Optional.empty()
+            : userRepository.findWithFocusAreasByEmailNormalized(User.normalizeEmail(email));
+        String hash = user.map(User::getPasswordHash).orElse(null);
+        if (hash == null || password == null) {
+            passwordEncoder.matches(password == null ? "" : password, unknownUserHash());
+            return Optional.empty();
+        }
+        return passwordEncoder.matches(password, hash) ? user : Optional.empty();
+    }
+
+    /**
+     * Sets the user's password. If they already have one, {@code currentPassword} must match it.
+     * Returns false if there is no such user.
+     */
+    @Transactional
+    public boolean changePassword(Long id, String currentPassword, String newPassword) {
+        Optional<User> user = userRepository.findById(id);
+        if (user.isEmpty()) {
+            return false;
+        }
+        String hash = user.get().getPasswordHash();
+        if (hash != null && (currentPassword == null || !passwordEncoder.matches(currentPassword, hash))) {
+            throw new IllegalArgumentException("Current password is incorrect");
+        }
+        return resetPassword(id, newPassword);
+    }
+
+    /**
+     * Sets the user's password without checking the current one (for admins). Returns false if
+     * there is no such user.
+     */
+    @Transactional
+    public boolean resetPassword(Long id, String newPassword) {
+        checkPassword(newPassword);
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(u -> u.setPasswordHash(passwordEncoder.encode(newPassword)));
+        return user.isPresent();
+    }
+
+    /**
+     * Grants or revokes the user's admin role (for admins). Returns false if there is no such
+     * user.
+     */
+    @Transactional
+    public boolean setAdmin(Long id, boolean admin) {
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(u -> u.setAdmin(admin));
+        return user.isPresent();
+    }
+
+    /**
+     * Whether the user exists and is an admin, read from the primary on every call so that
+     * revoking the role or deleting the user takes effect before their tokens expire.
+     */
+    public boolean isAdmin(Long id) {
+        return userRepository.findAdminById(id).orElse(false);
+    }
+
+    /**
+     * Copies the editable profile fields (not the email) onto the user, or returns empty if
+     * there is no such user.
+     */
+    @Transactional
+    public Optional<User> update(Long id, User userDetails) {
+        Optional<User> optionalUser = userRepository.findWithFocusAreasById(id);
+        if (optionalUser.isEmpty()) {
+            return Optional.empty();
+        }
+        User user = optionalUser.get();
+        CohortStatsService.Cohorts previousCohorts = CohortStatsService.Cohorts.of(user);
+
+        user.setName(userDetails.getName());
+        user.setAge(userDetails.getAge());
+        user.setGender(userDetails.getGender());
+        user.setWeight(userDetails.getWeight());
+        user.setHeight(userDetails.getHeight());
+        user.setFitnessGoal(userDetails.getFitnessGoal());
+        user.setWorkoutPreference(userDetails.getWorkoutPreference());
+        user.setDietPreference(userDetails.getDietPreference());
+        user.setFocusAreas(userDetails.getFocusAreas());
+
+        User updatedUser = userRepository.save(user);
+        versions.profileChanged(id);
+        cohortStats.userMoved(id, previousCohorts, CohortStatsService.Cohorts.of(updatedUser));
+        return Optional.of(updatedUser);
+    }
+
+    /**
+     * Deletes the user with their rollup, archive and data versions. Returns false if there is
+     * no such user.
+     */
+    @Transactional
+    public boolean delete(Long id) {
+        Optional<User> user = userRepository.findById(id);
+        if (user.isEmpty()) {
+            return false;
+        }
+        writeBuffer.discardUser(id);
+        // Counts the user's BMI, progress and archived rows, so it must run before they are deleted
+        cohortStats.userRemoved(id, CohortStatsService.Cohorts.of(user.get()));
+        userRepository.deleteById(id);
+        rollupService.delete(id);
+        archiveService.deleteUser(id);
+        versions.delete(id);
+        return true;
+    }
+
+    // The rule the password field of User declares, for callers that do not go through @Valid
+    private static void checkPassword(String password) {
+        if (password == null || password.length() < 8 || password.length() > 72) {
+            throw new IllegalArgumentException("Password must be 8 to 72 characters");
+        }
+    }
+
+    private String unknownUserHash() {
+        if (unknownUserHash == null) {
+            unknownUserHash = passwordEncoder.encode("unknown-user-password");
+        }
+        return unknownUserHash;
+    }
+}
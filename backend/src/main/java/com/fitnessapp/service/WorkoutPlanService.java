@@ -0,0 +1,165 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.CachedUser;
+import com.fitnessapp.dto.Exercise;
+import com.fitnessapp.dto.WorkoutDay;
+import com.fitnessapp.dto.WorkoutPlan;
+import com.fitnessapp.entity.FocusArea;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.fitnessapp.entity.FocusArea.*;
+
+/**
+ * Generates weekly workout plans from the {@link ExerciseCatalog}. A plan depends only on the
+ * profile signature (fitness goal, workout preference, set of focus areas) and the catalog, so
+ * plans are cached per signature and shared by every user who has it; a cached plan never goes
+ * stale. There are only 3 × 3 × 2^6 signatures, so all plans are generated at startup. A user's
+ * signature comes from {@link UserCache}, which {@code updateUser} invalidates, so a profile
+ * change switches the user to the matching plan on the next request.
+ * <p>
+ * A plan has five training days. Chosen focus areas come first and get one extra exercise; the
+ * remaining days follow the goal's split. Muscle-building days have more exercises, weight-loss
+ * days end with a conditioning finisher. No exercise repeats within a week.
+ */
+@Service
+public class WorkoutPlanService {
+
+    public static final List<String> FITNESS_GOALS = List.of("LOSE_WEIGHT", "BUILD_MUSCLE", "STAY_FIT");
+
+    private static final List<String> TRAINING_DAYS = List.of("Monday", "Tuesday", "Wednesday", "Thursday", "Friday");
+
+    private static final Map<String, List<FocusArea>> SPLITS = Map.of(
+        "BUILD_MUSCLE", List.of(CHEST, BACK, LEGS, ARMS, ABS),
+        "LOSE_WEIGHT", List.of(FULL_BODY, LEGS, ABS, BACK, CHEST),
+        "STAY_FIT", List.of(FULL_BODY, CHEST, LEGS, BACK, ABS));
+
+    private static final Map<FocusArea, String> FOCUS_LABELS = new EnumMap<>(Map.of(
+        CHEST, "Chest", BACK, "Back", LEGS, "Legs & Glutes", ARMS, "Arms & Shoulders", ABS, "Core",
+        FULL_BODY, "Cardio & Full Body"));
+
+    private static final Map<FocusArea, String> FOCUS_EMOJIS = new EnumMap<>(Map.of(
+        CHEST, "💪", BACK, "🔥", LEGS, "🦵", ARMS, "🏋️", ABS, "🏆", FULL_BODY, "❤️"));
+
+    @Autowired
+    private ExerciseCatalog catalog;
+
+    @Autowired
+    private UserCache userCache;
+
+    private final Map<Signature, WorkoutPlan> plans = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void warm() {
+        FocusArea[] areas = FocusArea.values();
+        for (String goal : FITNESS_GOALS) {
+            for (String preference : ExerciseCatalog.WORKOUT_PREFERENCES) {
+                for (int mask = 0; mask < 1 << areas.length; mask++) {
+                    Set<FocusArea> focusAreas = EnumSet.noneOf(FocusArea.class);
+                    for (FocusArea area : areas) {
+                        if ((mask & 1 << area.ordinal()) != 0) {
+                            focusAreas.add(area);
+                        }
+                    }
+                    plan(new Signature(goal, preference, focusAreas));
+                }
+            }
+        }
+    }
+
+    /**
+     * The user's plan, optionally for another workout preference than the stored one; empty if
+     * the user does not exist.
+     */
+    public Optional<WorkoutPlan> planFor(Long userId, String workoutPreference) {
+        return userCache.get(userId).map(user -> plan(Signature.of(user, workoutPreference)));
+    }
+
+    public WorkoutPlan plan(Signature signature) {
+        return plans.computeIfAbsent(signature, this::generate);
+    }
+
+    /**
+     * Builds the plan for a signature without consulting the cache.
+     */
+    public WorkoutPlan generate(Signature signature) {
+        String goal = SPLITS.containsKey(signature.fitnessGoal()) ? signature.fitnessGoal() : "STAY_FIT";
+        String preference = signature.workoutPreference();
+
+        List<FocusArea> dayAreas = new ArrayList<>(signature.focusAreas());
+        for (FocusArea area : SPLITS.get(goal)) {
+            if (!dayAreas.contains(area)) {
+                dayAreas.add(area);
+            }
+        }
+
+        List<WorkoutDay> days = new ArrayList<>(TRAINING_DAYS.size());
+        Set<Integer> used = new HashSet<>();
+        int weeklyCalories = 0;
+        for (int i = 0; i < TRAINING_DAYS.size(); i++) {
+            FocusArea area = dayAreas.get(i);
+            int count = ("BUILD_MUSCLE".equals(goal) ? 4 : 3) + (signature.focusAreas().contains(area) ? 1 : 0);
+            List<Exercise> exercises = new ArrayList<>(count + 1);
+            pick(catalog.find(area, preference), count, used, exercises);
+            if ("LOSE_WEIGHT".equals(goal) && exercises.stream().noneMatch(Exercise::cardio)) {
+                pick(catalog.cardio(preference), 1, used, exercises);
+            }
+            WorkoutDay day = WorkoutDay.of(TRAINING_DAYS.get(i), area, FOCUS_LABELS.get(area), FOCUS_EMOJIS.get(area),
+                                           exercises);
+            weeklyCalories += day.calories();
+            days.add(day);
+        }
+
+        List<String> focusAreas = signature.focusAreas().stream().map(Enum::name).toList();
+        return new WorkoutPlan(signature.fitnessGoal(), preference, focusAreas, List.copyOf(days), weeklyCalories);
+    }
+
+    // Adds up to count candidates that are not used elsewhere in the week yet
+    private static void pick(List<Exercise> candidates, int count, Set<Integer> used, List<Exercise> into) {
+        int added = 0;
+        for (Exercise exercise : candidates) {
+            if (added == count) {
+                return;
+            }
+            if (used.add(exercise.id())) {
+                into.add(exercise);
+                added++;
+            }
+        }
+    }
+
+    /**
+     * The profile fields a plan is generated from. Focus areas are a set: order and duplicates in
+     * the stored list do not change the plan.
+     */
+    public record Signature(String fitnessGoal, String workoutPreference, Set<FocusArea> focusAreas) {
+
+        public Signature {
+            focusAreas = focusAreas == null || focusAreas.isEmpty()
+                ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(focusAreas));
+        }
+
+        public static Signature of(CachedUser user, String workoutPreference) {
+            return new Signature(user.getFitnessGoal(),
+                                 workoutPreference != null ? workoutPreference : user.getWorkoutPreference(),
+                                 asSet(user.getFocusAreas()));
+        }
+
+        private static Set<FocusArea> asSet(Collection<FocusArea> focusAreas) {
+            return focusAreas == null || focusAreas.isEmpty() ? null : EnumSet.copyOf(focusAreas);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.UserProgressRollup;
+import com.fitnessapp.entity.WorkoutStreakRun;
+import com.fitnessapp.repository.ProgressRepository;
+import com.fitnessapp.repository.WorkoutStreakRunRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains a user's workout streaks as runs of consecutive completed days
+ * (workout_streak_runs). The latest run and the longest run length are kept on the user's
+ * {@link UserProgressRollup}, so reading the current and longest streak is a single row lookup.
+ * Flipping one day touches at most the runs on either side of it, whatever its date, so
+ * backfilled past days are handled the same way as today. Callers hold the rollup lock.
+ */
+@Service
+public class WorkoutStreakService {
+
+    @Autowired
+    private WorkoutStreakRunRepository runRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private ProgressArchiveStore archiveStore;
+
+    /**
+     * Records that the user completed a workout on the given day.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markCompleted(UserProgressRollup rollup, LocalDate date) {
+        Long userId = rollup.getUserId();
+        if (findContaining(userId, date).isPresent()) {
+            return;
+        }
+
+        Optional<WorkoutStreakRun> before = runRepository.findByUserIdAndEndDate(userId, date.minusDays(1));
+        Optional<WorkoutStreakRun> after = runRepository.findByUserIdAndStartDate(userId, date.plusDays(1));
+        WorkoutStreakRun run;
+        if (before.isPresent() && after.isPresent()) {
+            // The day bridges two runs: extend the earlier one over the later one
+            run = before.get();
+            run.setEndDate(after.get().getEndDate());
+            runRepository.delete(after.get());
+        } else if (before.isPresent()) {
+            run = before.get();
+            run.setEndDate(date);
+        } else if (after.isPresent()) {
+            run = after.get();
+            run.setStartDate(date);
+        } else {
+            run = new WorkoutStreakRun(userId, date, date);
+        }
+        runRepository.save(run);
+
+        rollup.setLongestStreak(Math.max(rollup.getLongestStreak(), run.getDays()));
+        if (rollup.getCurrentStreakEnd() == null || !run.getEndDate().isBefore(rollup.getCurrentStreakEnd())) {
+            rollup.setCurrentStreakStart(run.getStartDate());
+            rollup.setCurrentStreakEnd(run.getEndDate());
+        }
+    }
+
+    /**
+     * Records that the given day no longer has a completed workout.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markMissed(UserProgressRollup rollup, LocalDate date) {
+        Long userId = rollup.getUserId();
+        Optional<WorkoutStreakRun> containing = findContaining(userId, date);
+        if (containing.isEmpty()) {
+            return;
+        }
+
+        WorkoutStreakRun run = containing.get();
+        int daysBefore = run.getDays();
+        boolean latest = run.getEndDate().equals(rollup.getCurrentStreakEnd());
+        if (run.getDays() == 1) {
+            runRepository.delete(run);
+        } else if (date.equals(run.getStartDate())) {
+            run.setStartDate(date.plusDays(1));
+        } else if (date.equals(run.getEndDate())) {
+            run.setEndDate(date.minusDays(1));
+        } else {
+            // Split around the day
+            WorkoutStreakRun tail = new WorkoutStreakRun(userId, date.plusDays(1), run.getEndDate());
+            run.setEndDate(date.minusDays(1));
+            runRepository.save(tail);
+        }
+
+        if (latest) {
+            setCurrent(rollup, runRepository.findFirstByUserIdOrderByEndDateDesc(userId));
+        }
+        if (daysBefore == rollup.getLongestStreak()) {
+            rollup.setLongestStreak(runRepository.findLongestDaysByUserId(userId));
+        }
+    }
+
+    /**
+     * Rebuilds the user's runs and streak fields from progress_records, e.g. to repair drift.
+     */
+    @Transactional
+    public void rebuild(UserProgressRollup rollup) {
+        List<WorkoutStreakRun> runs = scan(rollup.getUserId());
+        runRepository.deleteByUserId(rollup.getUserId());
+        runRepository.saveAll(runs);
+        summarize(rollup, runs);
+    }
+
+    /**
+     * Sets the streak fields from progress_records without writing runs, for read-only callers.
+     */
+    public void compute(UserProgressRollup rollup) {
+        summarize(rollup, scan(rollup.getUserId()));
+    }
+
+    private Optional<WorkoutStreakRun> findContaining(Long userId, LocalDate date) {
+        return runRepository.findFirstByUserIdAndEndDateGreaterThanEqualOrderByEndDateAsc(userId, date)
+            .filter(run -> run.contains(date));
+    }
+
+    private List<WorkoutStreakRun> scan(Long userId) {
+        // Archived days all precede the hot ones, so the two lists concatenate in date order
+        List<LocalDate> completed = new ArrayList<>();
+        archiveStore.find(userId).ifPresent(archive -> {
+            for (ProgressView progress : archiveStore.read(archive)) {
+                if (Boolean.TRUE.equals(progress.workoutCompleted())) {
+                    completed.add(progress.date());
+                }
+            }
+        });
+        completed.addAll(progressRepository.findCompletedWorkoutDatesByUserId(userId));
+
+        List<WorkoutStreakRun> runs = new ArrayList<>();
+        WorkoutStreakRun run = null;
+        for (LocalDate date : completed) {
+            if (run != null && date.equals(run.getEndDate().plusDays(1))) {
+                run.setEndDate(date);
+            } else {
+                run = new WorkoutStreakRun(userId, date, date);
+                runs.add(run);
+            }
+        }
+        return runs;
+    }
+
+    private static void summarize(UserProgressRollup rollup, List<WorkoutStreakRun> runs) {
+        int longest = 0;
+        for (WorkoutStreakRun run : runs) {
+            longest = Math.max(longest, run.getDays());
+        }
+        rollup.setLongestStreak(longest);
+        setCurrent(rollup, runs.isEmpty() ? Optional.empty() : Optional.of(runs.get(runs.size() - 1)));
+    }
+
+    private static void setCurrent(UserProgressRollup rollup, Optional<WorkoutStreakRun> latest) {
+        rollup.setCurrentStreakStart(latest.map(WorkoutStreakRun::getStartDate).orElse(null));
+        rollup.setCurrentStreakEnd(latest.map(WorkoutStreakRun::getEndDate).orElse(null));
+    }
+}
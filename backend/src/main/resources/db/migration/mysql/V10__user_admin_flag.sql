@@ -0,0 +1,4 @@
+-- Admins are marked on their own row. Only an existing admin (or SQL run by an operator) sets
+-- the flag, so registering with an email cannot make anyone an admin.
+ALTER TABLE users
+    ADD COLUMN is_admin BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,55 @@
+-- Schema as originally generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE users (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    email              VARCHAR(255) NOT NULL,
+    name               VARCHAR(255) NOT NULL,
+    age                INTEGER      NOT NULL,
+    gender             VARCHAR(255) NOT NULL,
+    weight             FLOAT(53)    NOT NULL,
+    height             FLOAT(53)    NOT NULL,
+    fitness_goal       VARCHAR(255) NOT NULL,
+    workout_preference VARCHAR(255) NOT NULL,
+    diet_preference    VARCHAR(255) NOT NULL,
+    created_at         DATETIME(6),
+    updated_at         DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE user_focus_areas (
+    user_id     BIGINT NOT NULL,
+    focus_areas ENUM ('ABS','ARMS','CHEST','BACK','LEGS','FULL_BODY'),
+    CONSTRAINT fk_user_focus_areas_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE bmi_records (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id            BIGINT       NOT NULL,
+    weight             FLOAT(53)    NOT NULL,
+    height             FLOAT(53)    NOT NULL,
+    bmi_value          FLOAT(53)    NOT NULL,
+    category           VARCHAR(255) NOT NULL,
+    min_healthy_weight FLOAT(53)    NOT NULL,
+    max_healthy_weight FLOAT(53)    NOT NULL,
+    calculated_at      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bmi_records_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE progress_records (
+    id                BIGINT    NOT NULL AUTO_INCREMENT,
+    user_id           BIGINT    NOT NULL,
+    date              DATE      NOT NULL,
+    calories_consumed INTEGER,
+    calories_burned   INTEGER,
+    workout_completed BIT,
+    water_intake      INTEGER,
+    meals_completed   INTEGER,
+    current_weight    FLOAT(53),
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_progress_records_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
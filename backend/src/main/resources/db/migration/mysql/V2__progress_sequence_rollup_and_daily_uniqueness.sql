@@ -0,0 +1,40 @@
+-- Progress ids move from AUTO_INCREMENT to a pooled sequence table (allocation 50) so that
+-- Hibernate can batch inserts. The table is seeded past the current maximum id: the pooled
+-- optimizer hands out (next_val - 49 .. next_val] from the first value it reads.
+ALTER TABLE progress_records MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE progress_records_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO progress_records_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM progress_records;
+
+-- Per-user stats rollup; rows are built on first write or with --rebuild-rollups
+CREATE TABLE user_progress_rollup (
+    user_id                        BIGINT  NOT NULL,
+    total_entries                  BIGINT  NOT NULL,
+    total_completed_workouts       BIGINT  NOT NULL,
+    total_calories_consumed        BIGINT  NOT NULL,
+    total_calories_burned          BIGINT  NOT NULL,
+    window_start_date              DATE,
+    window_entries                 INTEGER NOT NULL,
+    window_completed_workouts      INTEGER NOT NULL,
+    window_calories_consumed_sum   BIGINT  NOT NULL,
+    window_calories_consumed_count INTEGER NOT NULL,
+    window_calories_burned_sum     BIGINT  NOT NULL,
+    window_calories_burned_count   INTEGER NOT NULL,
+    stale                          BIT     NOT NULL,
+    updated_at                     DATETIME(6),
+    PRIMARY KEY (user_id)
+) ENGINE=InnoDB;
+
+-- Concurrent updates may have left several rows for one day; keep the most recent one
+DELETE older
+FROM progress_records older
+JOIN progress_records newer
+  ON newer.user_id = older.user_id
+ AND newer.date = older.date
+ AND newer.id > older.id;
+
+ALTER TABLE progress_records ADD CONSTRAINT uk_progress_user_date UNIQUE (user_id, date);
@@ -0,0 +1,7 @@
+-- progress_records(user_id, date) is already covered by uk_progress_user_date. InnoDB appends
+-- the primary key to secondary indexes, so both history indexes also serve the
+-- (key, id) keyset ordering used by the paginated endpoints.
+CREATE INDEX idx_bmi_user_calculated_at ON bmi_records (user_id, calculated_at);
+
+-- Covering index for countByFitnessGoal
+CREATE INDEX idx_users_fitness_goal ON users (fitness_goal);
@@ -0,0 +1,40 @@
+-- Workout streaks: runs of consecutive completed days per user, plus the latest run and the
+-- longest run length on the rollup row
+CREATE TABLE workout_streak_runs (
+    id         BIGINT  NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT  NOT NULL,
+    start_date DATE    NOT NULL,
+    end_date   DATE    NOT NULL,
+    days       INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_streak_runs_user_start UNIQUE (user_id, start_date)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_streak_runs_user_end ON workout_streak_runs (user_id, end_date);
+
+ALTER TABLE user_progress_rollup
+    ADD COLUMN current_streak_start DATE,
+    ADD COLUMN current_streak_end   DATE,
+    ADD COLUMN longest_streak       INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill runs from existing history (gaps and islands: consecutive dates share date - row_number)
+INSERT INTO workout_streak_runs (user_id, start_date, end_date, days)
+SELECT user_id, MIN(date), MAX(date), COUNT(*)
+FROM (
+    SELECT user_id, date,
+           DATE_SUB(date, INTERVAL ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY date) DAY) AS island
+    FROM progress_records
+    WHERE workout_completed = 1
+) completed
+GROUP BY user_id, island;
+
+UPDATE user_progress_rollup r
+JOIN (
+    SELECT user_id, MAX(days) AS longest, MAX(end_date) AS latest_end
+    FROM workout_streak_runs
+    GROUP BY user_id
+) s ON s.user_id = r.user_id
+JOIN workout_streak_runs latest ON latest.user_id = s.user_id AND latest.end_date = s.latest_end
+SET r.longest_streak = s.longest,
+    r.current_streak_start = latest.start_date,
+    r.current_streak_end = latest.end_date;
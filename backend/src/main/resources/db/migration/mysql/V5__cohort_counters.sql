@@ -0,0 +1,55 @@
+-- Running totals per (dimension, cohort), split into 16 shards by user id % 16 so concurrent
+-- writers rarely update the same row; a cohort's totals are the sum over its shards
+CREATE TABLE cohort_counters (
+    dimension          VARCHAR(32)  NOT NULL,
+    cohort             VARCHAR(255) NOT NULL,
+    shard              INTEGER      NOT NULL,
+    user_count         BIGINT       NOT NULL,
+    bmi_count          BIGINT       NOT NULL,
+    bmi_sum            FLOAT(53)    NOT NULL,
+    progress_entries   BIGINT       NOT NULL,
+    completed_workouts BIGINT       NOT NULL,
+    updated_at         DATETIME(6),
+    PRIMARY KEY (dimension, cohort, shard)
+) ENGINE=InnoDB;
+
+-- Backfill: each user's cohorts, latest BMI and progress totals, then one GROUP BY per dimension
+CREATE TEMPORARY TABLE cohort_user_totals AS
+SELECT u.id AS user_id,
+       COALESCE(NULLIF(TRIM(u.fitness_goal), ''), 'UNSPECIFIED') AS fitness_goal,
+       COALESCE(NULLIF(TRIM(u.workout_preference), ''), 'UNSPECIFIED') AS workout_preference,
+       COALESCE(NULLIF(TRIM(u.diet_preference), ''), 'UNSPECIFIED') AS diet_preference,
+       b.bmi_value,
+       COALESCE(p.entries, 0) AS entries,
+       COALESCE(p.completed, 0) AS completed
+FROM users u
+LEFT JOIN (
+    SELECT user_id, bmi_value,
+           ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY calculated_at DESC, id DESC) AS rn
+    FROM bmi_records
+) b ON b.user_id = u.id AND b.rn = 1
+LEFT JOIN (
+    SELECT user_id, COUNT(*) AS entries, SUM(workout_completed = 1) AS completed
+    FROM progress_records
+    GROUP BY user_id
+) p ON p.user_id = u.id;
+
+INSERT INTO cohort_counters (dimension, cohort, shard, user_count, bmi_count, bmi_sum, progress_entries, completed_workouts, updated_at)
+SELECT 'fitnessGoal', fitness_goal, user_id % 16, COUNT(*), COUNT(bmi_value), COALESCE(SUM(bmi_value), 0),
+       SUM(entries), SUM(completed), NOW(6)
+FROM cohort_user_totals
+GROUP BY fitness_goal, user_id % 16;
+
+INSERT INTO cohort_counters (dimension, cohort, shard, user_count, bmi_count, bmi_sum, progress_entries, completed_workouts, updated_at)
+SELECT 'workoutPreference', workout_preference, user_id % 16, COUNT(*), COUNT(bmi_value), COALESCE(SUM(bmi_value), 0),
+       SUM(entries), SUM(completed), NOW(6)
+FROM cohort_user_totals
+GROUP BY workout_preference, user_id % 16;
+
+INSERT INTO cohort_counters (dimension, cohort, shard, user_count, bmi_count, bmi_sum, progress_entries, completed_workouts, updated_at)
+SELECT 'dietPreference', diet_preference, user_id % 16, COUNT(*), COUNT(bmi_value), COALESCE(SUM(bmi_value), 0),
+       SUM(entries), SUM(completed), NOW(6)
+FROM cohort_user_totals
+GROUP BY diet_preference, user_id % 16;
+
+DROP TEMPORARY TABLE cohort_user_totals;
@@ -0,0 +1,19 @@
+-- Cold progress history: records older than the archive horizon move from progress_records into
+-- one compressed segment file per user; this row names the current file and keeps the archived
+-- totals so stats and cohort recomputations do not need to read it
+CREATE TABLE progress_archives (
+    user_id            BIGINT      NOT NULL,
+    archived_through   DATE        NOT NULL,
+    segment_version    INTEGER     NOT NULL,
+    segment_bytes      BIGINT      NOT NULL,
+    record_count       BIGINT      NOT NULL,
+    completed_workouts BIGINT      NOT NULL,
+    calories_consumed  BIGINT      NOT NULL,
+    calories_burned    BIGINT      NOT NULL,
+    updated_at         DATETIME(6),
+    PRIMARY KEY (user_id)
+) ENGINE=InnoDB;
+
+-- Copied onto the rollup row so writers check it under the lock they already hold
+ALTER TABLE user_progress_rollup
+    ADD COLUMN archived_through DATE;
@@ -0,0 +1,9 @@
+-- Per-user write counters for the profile, progress history and BMI history; they stamp the
+-- ETags of the matching GET endpoints. Users without a row are at version 0.
+CREATE TABLE user_data_versions (
+    user_id          BIGINT NOT NULL,
+    profile_version  BIGINT NOT NULL,
+    progress_version BIGINT NOT NULL,
+    bmi_version      BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE=InnoDB;
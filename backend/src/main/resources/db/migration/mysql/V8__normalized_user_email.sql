@@ -0,0 +1,13 @@
+-- Emails are unique after case folding. The lower-cased copy carries the unique index, so the
+-- check no longer depends on the email column's collation, and lookups and duplicate checks
+-- compare it directly. The case-insensitive collation already kept existing emails unique
+-- under LOWER(), so the backfill cannot collide.
+ALTER TABLE users
+    ADD COLUMN email_normalized VARCHAR(255);
+
+UPDATE users SET email_normalized = LOWER(email);
+
+ALTER TABLE users
+    MODIFY email_normalized VARCHAR(255) NOT NULL,
+    ADD CONSTRAINT uk_users_email_normalized UNIQUE (email_normalized),
+    DROP INDEX uk_users_email;
@@ -0,0 +1,4 @@
+-- BCrypt hash of the user's password, for signing in with email and password. Accounts created
+-- before passwords existed have none until they set one (or an admin does).
+ALTER TABLE users
+    ADD COLUMN password_hash VARCHAR(100);
@@ -0,0 +1,93 @@
+package com.fitnessapp;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One embedded MariaDB server per test JVM, for tests that depend on its DDL or optimizer.
+ * Each test creates its own database on it, so tests never see each other's schema.
+ */
+public final class EmbeddedMariaDb {
+
+    private static DB server;
+    private static int port;
+
+    private EmbeddedMariaDb() {
+    }
+
+    /**
+     * Creates an empty database (dropping any previous one of the same name) and returns its JDBC URL.
+     */
+    public static synchronized String createDatabase(String name) {
+        try {
+            if (server == null) {
+                start();
+            }
+        } catch (ManagedProcessException e) {
+            throw new IllegalStateException("Could not start the embedded MariaDB", e);
+        }
+        try (Connection connection = DriverManager.getConnection(url(""), username(), password());
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + name);
+            statement.execute("CREATE DATABASE " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + name, e);
+        }
+        return url(name);
+    }
+
+    /**
+     * Stops the server. Only needed in JVMs that wait for their threads to end instead of
+     * exiting (such as JMH forks): the server's watcher thread would keep them from reaching the
+     * shutdown hook that stops it otherwise.
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        try {
+            server.stop();
+        } catch (ManagedProcessException e) {
+            throw new IllegalStateException("Could not stop the embedded MariaDB", e);
+        }
+        server = null;
+    }
+
+    public static String username() {
+        return "root";
+    }
+
+    public static String password() {
+        return "";
+    }
+
+    private static String url(String database) {
+        return "jdbc:mysql://localhost:" + port + "/" + database + "?useSSL=false&serverTimezone=UTC";
+    }
+
+    private static void start() throws ManagedProcessException {
+        File directory = new File("target/mariadb4j");
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder()
+            .setPort(0)
+            .setBaseDir(new File(directory, "base").getAbsolutePath())
+            .setDataDir(new File(directory, "data").getAbsolutePath())
+            .setTmpDir(new File(directory, "tmp").getAbsolutePath());
+        if ("root".equals(System.getProperty("user.name"))) {
+            // mysqld refuses to run as root without it
+            builder.addArg("--user=root");
+        }
+        DBConfiguration configuration = builder.build();
+        server = DB.newEmbeddedDB(configuration);
+        server.start();
+        // DB stops the server from a shutdown hook of its own
+        port = configuration.getPort();
+    }
+}
@@ -0,0 +1,34 @@
+package com.fitnessapp;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base for Spring tests that need the application on MariaDB with the Flyway schema instead of
+ * H2: row locking, upserts and query plans. Subclasses share one context and one database, so
+ * each test works with users of its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class MariaDbSpringTest {
+
+    private static final AtomicInteger contexts = new AtomicInteger();
+
+    // Called once for each context that is created
+    @DynamicPropertySource
+    static void mariaDb(DynamicPropertyRegistry registry) {
+        String url = EmbeddedMariaDb.createDatabase("fitness_app_test_" + contexts.incrementAndGet());
+        // The same driver options as the production URL
+        registry.add("spring.datasource.url", () -> url + "&rewriteBatchedStatements=true&useCursorFetch=true");
+        registry.add("spring.datasource.username", EmbeddedMariaDb::username);
+        registry.add("spring.datasource.password", EmbeddedMariaDb::password);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+}
@@ -0,0 +1,45 @@
+package com.fitnessapp;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the statements the calling thread sends through the application's DataSource (the
+ * datasource-proxy wrapper from {@code ObservabilityConfig}), with their parameters.
+ */
+public final class StatementRecorder {
+
+    private StatementRecorder() {
+    }
+
+    public static List<QueryInfo> record(DataSource dataSource, Runnable work) {
+        List<QueryInfo> statements = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        QueryExecutionListener recorder = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                if (Thread.currentThread() == caller) {
+                    statements.addAll(queryInfoList);
+                }
+            }
+        };
+        List<QueryExecutionListener> listeners = ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners();
+        listeners.add(recorder);
+        try {
+            work.run();
+        } finally {
+            listeners.remove(recorder);
+        }
+        return statements;
+    }
+}
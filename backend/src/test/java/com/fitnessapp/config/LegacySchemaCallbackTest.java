@@ -0,0 +1,143 @@
+package com.fitnessapp.config;
+
+import com.fitnessapp.EmbeddedMariaDb;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates schemas created by Hibernate's ddl-auto, as captured from the builds before the
+ * Flyway migrations, on a real MariaDB.
+ */
+class LegacySchemaCallbackTest {
+
+    @Test
+    void migratesDdlAutoSchema() throws Exception {
+        String url = EmbeddedMariaDb.createDatabase("legacy_ddl_auto");
+        runScript(url, "legacy/ddl-auto-schema.sql");
+        seed(url);
+        // Builds before the daily unique key could store two rows for a day
+        execute(url, "INSERT INTO progress_records (id, user_id, date, calories_consumed) VALUES (100, 1, '2024-01-01', 900)");
+
+        MigrateResult result = flyway(url).migrate();
+
+        assertThat(result.success).isTrue();
+        assertMigrated(url);
+        assertThat(query(url, "SELECT COUNT(*) FROM progress_records WHERE user_id = 1 AND date = '2024-01-01'"))
+            .containsExactly("1");
+    }
+
+    @Test
+    void migratesDdlAutoSchemaWithProgressUpsertObjects() throws Exception {
+        String url = EmbeddedMariaDb.createDatabase("legacy_progress_upsert");
+        runScript(url, "legacy/ddl-auto-schema-progress-upsert.sql");
+        seed(url);
+
+        MigrateResult result = flyway(url).migrate();
+
+        assertThat(result.success).isTrue();
+        assertMigrated(url);
+        // The sequence left behind by ddl-auto started at 1; the recreated one starts past the existing ids
+        assertThat(Long.parseLong(query(url, "SELECT next_val FROM progress_records_seq").get(0)))
+            .isGreaterThan(Long.parseLong(query(url, "SELECT MAX(id) FROM progress_records").get(0)));
+    }
+
+    @Test
+    void migratesDdlAutoSchemaMigratedToV7WithoutTheCallback() throws Exception {
+        String url = EmbeddedMariaDb.createDatabase("legacy_v7");
+        runScript(url, "legacy/ddl-auto-schema.sql");
+        seed(url);
+        // Builds before the callback applied V2 to V7 and kept the generated constraint names
+        assertThat(configure(url).target("7").load().migrate().success).isTrue();
+        assertThat(query(url, "SELECT index_name FROM information_schema.statistics WHERE table_schema = DATABASE() "
+            + "AND table_name = 'users' AND column_name = 'email'")).containsExactly("UK_6dotkott2kjsp8vw4d0m25fb7");
+
+        MigrateResult result = flyway(url).migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(query(url, "SELECT index_name FROM information_schema.statistics WHERE table_schema = DATABASE() "
+            + "AND table_name = 'users' AND non_unique = 0 AND index_name <> 'PRIMARY'"))
+            .containsExactly("uk_users_email_normalized");
+    }
+
+    private static Flyway flyway(String url) {
+        return configure(url).callbacks(new LegacySchemaCallback()).load();
+    }
+
+    private static FluentConfiguration configure(String url) {
+        return Flyway.configure()
+            .dataSource(url, EmbeddedMariaDb.username(), EmbeddedMariaDb.password())
+            .locations("classpath:db/migration/mysql")
+            .baselineOnMigrate(true)
+            .baselineVersion("1");
+    }
+
+    private static void assertMigrated(String url) throws SQLException {
+        assertThat(query(url, "SELECT constraint_name FROM information_schema.table_constraints "
+                + "WHERE table_schema = DATABASE() AND table_name IN ('users', 'user_focus_areas', 'bmi_records', "
+                + "'progress_records') AND constraint_type <> 'PRIMARY KEY'"))
+            .containsExactlyInAnyOrder("uk_users_email_normalized", "fk_user_focus_areas_user", "fk_bmi_records_user",
+                                       "fk_progress_records_user", "uk_progress_user_date");
+        assertThat(query(url, "SELECT DISTINCT index_name FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name IN ('users', 'user_focus_areas', 'bmi_records', "
+                + "'progress_records')"))
+            .noneMatch(name -> name.startsWith("FK") || name.startsWith("UK_"));
+        assertThat(query(url, "SELECT email_normalized FROM users ORDER BY id"))
+            .containsExactly("ann@example.com", "bob@example.com");
+    }
+
+    private static void seed(String url) throws SQLException {
+        execute(url, "INSERT INTO users (id, age, diet_preference, email, fitness_goal, gender, height, name, weight, "
+            + "workout_preference) VALUES (1, 30, 'VEG', 'Ann@Example.com', 'STAY_FIT', 'FEMALE', 165, 'Ann', 60, 'GYM'), "
+            + "(2, 40, 'VEG', 'bob@example.com', 'STAY_FIT', 'MALE', 180, 'Bob', 80, 'GYM')");
+        execute(url, "INSERT INTO user_focus_areas VALUES (1, 'ABS'), (2, 'LEGS')");
+        execute(url, "INSERT INTO bmi_records (id, bmi_value, category, height, max_healthy_weight, min_healthy_weight, "
+            + "weight, user_id) VALUES (1, 22.0, 'NORMAL', 165, 67.8, 50.4, 60, 1)");
+        for (int day = 1; day <= 5; day++) {
+            execute(url, "INSERT INTO progress_records (id, user_id, date, calories_consumed, workout_completed) VALUES ("
+                + day + ", 1, '2024-01-0" + day + "', 1500, 1), (" + (10 + day) + ", 2, '2024-01-0" + day + "', 2000, 0)");
+        }
+    }
+
+    private static void runScript(String url, String resource) throws IOException, SQLException {
+        String script = new ClassPathResource(resource).getContentAsString(StandardCharsets.UTF_8);
+        for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (!sql.isBlank()) {
+                execute(url, sql);
+            }
+        }
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, EmbeddedMariaDb.username(), EmbeddedMariaDb.password());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static List<String> query(String url, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, EmbeddedMariaDb.username(), EmbeddedMariaDb.password());
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            while (rows.next()) {
+                values.add(rows.getString(1));
+            }
+        }
+        return values;
+    }
+}
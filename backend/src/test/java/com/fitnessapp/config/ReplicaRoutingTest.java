@@ -0,0 +1,136 @@
+package com.fitnessapp.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessapp.EmbeddedMariaDb;
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.ProgressRepository;
+import com.fitnessapp.service.JwtService;
+import com.fitnessapp.service.ProgressService;
+import com.fitnessapp.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read/write routing with a second database standing in for the replica. Nothing replicates
+ * between the two, so each test writes different values to each and checks which one a read
+ * returns.
+ */
+@AutoConfigureMockMvc
+class ReplicaRoutingTest extends MariaDbSpringTest {
+
+    private static final String REPLICA = "fitness_app_replica";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        String url = EmbeddedMariaDb.createDatabase(REPLICA);
+        Flyway.configure()
+            .dataSource(url, EmbeddedMariaDb.username(), EmbeddedMariaDb.password())
+            .locations("classpath:db/migration/mysql")
+            .load()
+            .migrate();
+        registry.add("app.datasource.replica.url", () -> url + "&rewriteBatchedStatements=true&useCursorFetch=true");
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplicaAndWritesGoToThePrimary() {
+        User user = userService.register(user("routing-service@example.com"));
+        LocalDate today = LocalDate.now();
+        copyUserToReplica(user.getId());
+        progressService.updateProgress(user, new ProgressEntry(today, 2222, null, null, null, null, null));
+        jdbcTemplate.update("INSERT INTO " + REPLICA + ".progress_records (id, user_id, date, calories_consumed) "
+            + "VALUES (90000000, ?, ?, 1111)", user.getId(), today);
+
+        // Outside a transaction, as the write was: the primary
+        assertThat(jdbcTemplate.queryForObject("SELECT calories_consumed FROM progress_records WHERE user_id = ?",
+                                               Integer.class, user.getId())).isEqualTo(2222);
+        assertThat(progressRepository.findViewByUserIdAndDate(user.getId(), today))
+            .map(ProgressView::caloriesConsumed).hasValue(1111);
+
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            assertThat(progressRepository.findViewByUserIdAndDate(user.getId(), today))
+                .map(ProgressView::caloriesConsumed).hasValue(2222);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    @Test
+    void readsAfterAUsersWriteGoToThePrimary() throws Exception {
+        User user = userService.register(user("routing-requests@example.com"));
+        copyUserToReplica(user.getId());
+        jdbcTemplate.update("INSERT INTO " + REPLICA + ".bmi_records (user_id, weight, height, bmi_value, category, "
+            + "min_healthy_weight, max_healthy_weight, calculated_at) VALUES (?, 50, 175, 16.3, 'Underweight', 56.7, "
+            + "76.3, NOW(6))", user.getId());
+
+        assertThat(latestBmiWeight(user)).isEqualTo(50.0);
+
+        mvc.perform(post("/api/bmi/calculate/" + user.getId()).param("weight", "80").param("height", "175")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user)))
+            .andExpect(status().isCreated());
+        // Within the read-your-writes window the user's reads stay on the primary
+        assertThat(latestBmiWeight(user)).isEqualTo(80.0);
+    }
+
+    private double latestBmiWeight(User user) throws Exception {
+        String body = mvc.perform(get("/api/bmi/latest/" + user.getId()).header(HttpHeaders.AUTHORIZATION, bearer(user)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.path("bmi").path("weight").asDouble();
+    }
+
+    // The replica needs the user row for its foreign keys
+    private void copyUserToReplica(Long userId) {
+        jdbcTemplate.update("INSERT INTO " + REPLICA + ".users SELECT * FROM users WHERE id = ?", userId);
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtService.issue(user.getId(), user.getEmail());
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
@@ -0,0 +1,170 @@
+package com.fitnessapp.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.UserRepository;
+import com.fitnessapp.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void registeredUserCanLogInAgain() throws Exception {
+        register("login@example.com", "correct-horse").andExpect(status().isCreated());
+
+        JsonNode login = json(login("Login@Example.com", "correct-horse").andExpect(status().isOk()));
+        assertThat(login.path("token").asText()).isNotEmpty();
+        mvc.perform(get("/api/users/" + login.path("user").path("id").asLong())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.path("token").asText()))
+            .andExpect(status().isOk());
+
+        login("login@example.com", "wrong-password").andExpect(status().isUnauthorized());
+        login("nobody@example.com", "correct-horse").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void registrationRequiresAPassword() throws Exception {
+        register("no-password@example.com", null).andExpect(status().isBadRequest());
+        register("short-password@example.com", "short").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void accountWithoutPasswordCanSetOneWithItsToken() throws Exception {
+        // As created before passwords existed
+        User legacy = userRepository.save(new User("legacy@example.com", "Legacy User", 30, "OTHER", 72.5, 176.0,
+                                                    "STAY_FIT", "GYM", "VEG"));
+        login("legacy@example.com", "").andExpect(status().isUnauthorized());
+
+        mvc.perform(put("/api/auth/password").header(HttpHeaders.AUTHORIZATION, bearer(legacy))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"newPassword\":\"legacy-password\"}"))
+            .andExpect(status().isOk());
+        login("legacy@example.com", "legacy-password").andExpect(status().isOk());
+
+        // Once set, changing it needs the current one
+        mvc.perform(put("/api/auth/password").header(HttpHeaders.AUTHORIZATION, bearer(legacy))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"newPassword\":\"another-password\"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void adminEndpointsRequireTheAdminRole() throws Exception {
+        User member = userRepository.save(new User("member@example.com", "Member", 30, "OTHER", 72.5, 176.0,
+                                                    "STAY_FIT", "GYM", "VEG"));
+        User admin = admin("admin@example.com");
+
+        for (String path : new String[] {"/api/users/cache/stats", "/actuator/metrics"}) {
+            mvc.perform(get(path)).andExpect(status().isUnauthorized());
+            mvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, bearer(member))).andExpect(status().isForbidden());
+            mvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, bearer(admin))).andExpect(status().isOk());
+        }
+        mvc.perform(post("/api/users/import").header(HttpHeaders.AUTHORIZATION, bearer(member))
+                .contentType("text/csv").content("email,name\n"))
+            .andExpect(status().isForbidden());
+
+        mvc.perform(put("/api/auth/password/" + member.getId()).header(HttpHeaders.AUTHORIZATION, bearer(member))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"newPassword\":\"reset-password\"}"))
+            .andExpect(status().isForbidden());
+        mvc.perform(put("/api/auth/password/" + member.getId()).header(HttpHeaders.AUTHORIZATION, bearer(admin))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"newPassword\":\"reset-password\"}"))
+            .andExpect(status().isOk());
+        login("member@example.com", "reset-password").andExpect(status().isOk());
+    }
+
+    @Test
+    void registrationCannotGrantTheAdminRole() throws Exception {
+        String body = "{\"email\":\"self-made-admin@example.com\",\"name\":\"Test User\",\"age\":30,"
+            + "\"gender\":\"OTHER\",\"weight\":72.5,\"height\":176,\"fitnessGoal\":\"STAY_FIT\","
+            + "\"workoutPreference\":\"GYM\",\"dietPreference\":\"VEG\",\"password\":\"self-made-admin\","
+            + "\"admin\":true,\"isAdmin\":true}";
+        mvc.perform(post("/api/users/register").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isCreated());
+        JsonNode login = json(login("self-made-admin@example.com", "self-made-admin").andExpect(status().isOk()));
+
+        mvc.perform(get("/api/users/cache/stats")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.path("token").asText()))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void revokingOrDeletingAnAdminTakesEffectBeforeTheirTokenExpires() throws Exception {
+        User granter = admin("granter@example.com");
+        User promoted = userRepository.save(new User("promoted@example.com", "Promoted", 30, "OTHER", 72.5, 176.0,
+                                                      "STAY_FIT", "GYM", "VEG"));
+        String token = bearer(promoted);
+
+        // Only admins change roles
+        setAdmin(token, promoted, true).andExpect(status().isForbidden());
+        setAdmin(bearer(granter), promoted, true).andExpect(status().isOk());
+        mvc.perform(get("/api/users/cache/stats").header(HttpHeaders.AUTHORIZATION, token)).andExpect(status().isOk());
+
+        setAdmin(bearer(granter), promoted, false).andExpect(status().isOk());
+        mvc.perform(get("/api/users/cache/stats").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isForbidden());
+
+        String granterToken = bearer(granter);
+        userRepository.deleteById(granter.getId());
+        mvc.perform(get("/api/users/cache/stats").header(HttpHeaders.AUTHORIZATION, granterToken))
+            .andExpect(status().isForbidden());
+    }
+
+    private User admin(String email) {
+        User admin = new User(email, "Admin", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        admin.setAdmin(true);
+        return userRepository.save(admin);
+    }
+
+    private ResultActions setAdmin(String bearer, User user, boolean admin) throws Exception {
+        return mvc.perform(put("/api/users/" + user.getId() + "/admin").header(HttpHeaders.AUTHORIZATION, bearer)
+            .contentType(MediaType.APPLICATION_JSON).content("{\"admin\":" + admin + "}"));
+    }
+
+    private ResultActions register(String email, String password) throws Exception {
+        String body = "{\"email\":\"" + email + "\",\"name\":\"Test User\",\"age\":30,\"gender\":\"OTHER\",\"weight\":72.5,"
+            + "\"height\":176,\"fitnessGoal\":\"STAY_FIT\",\"workoutPreference\":\"GYM\",\"dietPreference\":\"VEG\""
+            + (password == null ? "" : ",\"password\":\"" + password + "\"") + "}";
+        return mvc.perform(post("/api/users/register").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private ResultActions login(String email, String password) throws Exception {
+        return mvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"));
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtService.issue(user.getId(), user.getEmail());
+    }
+
+    private JsonNode json(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,112 @@
+package com.fitnessapp.controller;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.StatementRecorder;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.service.ProgressService;
+import com.fitnessapp.service.UserService;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conditional GETs of the history and profile endpoints: a matching If-None-Match is answered
+ * with 304 from the version stamps alone, without querying the history or user tables, and a
+ * write makes the old ETag stale.
+ */
+class ConditionalRequestTest extends MariaDbSpringTest {
+
+    @Autowired
+    private ProgressController progressController;
+
+    @Autowired
+    private BMIController bmiController;
+
+    @Autowired
+    private UserController userController;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void notModifiedRunsNoHistoryQuery() {
+        User user = userService.register(user("conditional@example.com"));
+        Long userId = user.getId();
+        progressService.updateProgress(user, new ProgressEntry(LocalDate.now(), 1800, 300, true, 8, 3, null));
+        bmiController.calculateBMI(userId, 72.5, 176.0);
+
+        assertNotModifiedWithoutReading(request -> progressController.getUserProgress(userId, null, null, request),
+                                        "progress_records");
+        assertNotModifiedWithoutReading(request -> progressController.getUserProgress(userId, null, 20, request),
+                                        "progress_records");
+        assertNotModifiedWithoutReading(request -> bmiController.getUserBMIHistory(userId, null, null, request),
+                                        "bmi_records");
+        assertNotModifiedWithoutReading(request -> userController.getUserById(userId, request), "users");
+    }
+
+    @Test
+    void writeChangesTheEtag() {
+        User user = userService.register(user("conditional-write@example.com"));
+        Long userId = user.getId();
+        progressService.updateProgress(user, new ProgressEntry(LocalDate.now(), 1800, null, null, null, null, null));
+        String etag = etagOf(request -> progressController.getUserProgress(userId, null, null, request));
+
+        progressService.updateProgress(user, new ProgressEntry(LocalDate.now(), 2000, null, null, null, null, null));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        progressController.getUserProgress(userId, null, null, conditional(etag, response));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    private void assertNotModifiedWithoutReading(Consumer<ServletWebRequest> endpoint, String table) {
+        String etag = etagOf(endpoint);
+        assertThat(etag).isNotNull();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<QueryInfo> statements = StatementRecorder.record(dataSource,
+            () -> endpoint.accept(conditional(etag, response)));
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(statements).extracting(QueryInfo::getQuery)
+            .noneMatch(sql -> sql.toLowerCase().contains(" from " + table + " "));
+    }
+
+    // The ETag of an unconditional request, which also warms the user cache
+    private static String etagOf(Consumer<ServletWebRequest> endpoint) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        endpoint.accept(new ServletWebRequest(new MockHttpServletRequest("GET", "/"), response));
+        assertThat(response.getStatus()).isEqualTo(200);
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private static ServletWebRequest conditional(String etag, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        return new ServletWebRequest(request, response);
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
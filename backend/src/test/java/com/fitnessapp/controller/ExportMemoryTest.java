@@ -0,0 +1,123 @@
+package com.fitnessapp.controller;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.ProgressArchive;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.ProgressArchiveRepository;
+import com.fitnessapp.service.ProgressArchiveSegments;
+import com.fitnessapp.service.ProgressArchiveStore;
+import com.fitnessapp.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a million seeded rows and a half-million-record archive segment with a 128 MB heap
+ * (the low-heap surefire execution). Holding the history in memory, in the application or in
+ * the JDBC driver, or decoding the whole segment at once would run out of it.
+ */
+@Tag("low-heap")
+class ExportMemoryTest extends MariaDbSpringTest {
+
+    private static final int PROGRESS_ROWS = 500_000;
+    private static final int BMI_ROWS = 500_000;
+    private static final int ARCHIVED_ROWS = 500_000;
+    private static final LocalDate HOT_START = LocalDate.of(1583, 1, 1);
+
+    @Autowired
+    private ExportController exportController;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProgressArchiveStore archiveStore;
+
+    @Autowired
+    private ProgressArchiveRepository archiveRepository;
+
+    @Test
+    void exportsMillionRowsInSmallHeap() throws IOException {
+        User user = new User("export-million@example.com", "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        Long userId = userService.register(user).getId();
+        // One row per day from 1583 on (past the Julian to Gregorian switch); ids well past the ones the progress sequence hands out
+        jdbcTemplate.update("INSERT INTO progress_records (id, user_id, date, calories_consumed, calories_burned, "
+            + "workout_completed, water_intake, meals_completed, current_weight, created_at, updated_at) "
+            + "SELECT 100000000 + seq, ?, DATE_ADD(?, INTERVAL seq DAY), 1800 + seq % 500, 300, seq % 2, "
+            + "2000, 3, 72.5, NOW(6), NOW(6) FROM seq_1_to_" + PROGRESS_ROWS, userId, HOT_START);
+        jdbcTemplate.update("INSERT INTO bmi_records (user_id, weight, height, bmi_value, category, min_healthy_weight, "
+            + "max_healthy_weight, calculated_at) SELECT ?, 72.5, 176, 23.4, 'NORMAL', 57.3, 77.1, "
+            + "DATE_ADD('2000-01-01', INTERVAL seq MINUTE) FROM seq_1_to_" + BMI_ROWS, userId);
+
+        archive(userId);
+
+        assertThat(export(userId, "ndjson")).isEqualTo(ARCHIVED_ROWS + PROGRESS_ROWS + BMI_ROWS);
+        // The header adds a line
+        assertThat(export(userId, "csv")).isEqualTo(ARCHIVED_ROWS + PROGRESS_ROWS + BMI_ROWS + 1);
+    }
+
+    // Days before the hot rows, generated as the segment is encoded so the test does not hold them either
+    private void archive(Long userId) {
+        LocalDate start = HOT_START.minusDays(ARCHIVED_ROWS);
+        List<ProgressView> rows = new AbstractList<>() {
+            @Override
+            public ProgressView get(int index) {
+                LocalDate date = start.plusDays(index);
+                return new ProgressView(200_000_000L + index, date, 1800 + index % 500, 300, index % 2 == 0, 2000, 3,
+                                        72.5, date.atTime(8, 0), date.atTime(8, 0));
+            }
+
+            @Override
+            public int size() {
+                return ARCHIVED_ROWS;
+            }
+        };
+        long bytes = ProgressArchiveSegments.write(archiveStore, userId, 1, rows);
+        ProgressArchive archive = new ProgressArchive(userId);
+        archive.setArchivedThrough(HOT_START.minusDays(1));
+        archive.setSegmentVersion(1);
+        archive.setSegmentBytes(bytes);
+        archive.setRecordCount(ARCHIVED_ROWS);
+        archiveRepository.save(archive);
+    }
+
+    // Writes the export to a stream that only counts its lines
+    private long export(Long userId, String format) throws IOException {
+        ResponseEntity<StreamingResponseBody> response = exportController.exportUserData(userId, format);
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        long[] lines = new long[1];
+        OutputStream counter = new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (b == '\n') {
+                    lines[0]++;
+                }
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                for (int i = offset; i < offset + length; i++) {
+                    write(bytes[i]);
+                }
+            }
+        };
+        response.getBody().writeTo(counter);
+        return lines[0];
+    }
+}
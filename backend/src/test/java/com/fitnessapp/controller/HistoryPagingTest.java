@@ -0,0 +1,135 @@
+package com.fitnessapp.controller;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.service.ProgressHistoryService;
+import com.fitnessapp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * History endpoints: the full history without paging parameters, and keyset pages that cost the
+ * same however deep they are.
+ */
+class HistoryPagingTest extends MariaDbSpringTest {
+
+    // Well past the ids the progress sequence hands out during the tests
+    private static final long FIRST_ID = 50_000_000L;
+
+    @Autowired
+    private ProgressController progressController;
+
+    @Autowired
+    private BMIController bmiController;
+
+    @Autowired
+    private ProgressHistoryService historyService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void historyWithoutPagingParametersIsComplete() {
+        User user = userService.register(user("full-history@example.com"));
+        insertProgress(user.getId(), FIRST_ID, 120);
+        insertBmi(user.getId(), 80);
+
+        Map<String, Object> progress = progressController.getUserProgress(user.getId(), null, null, request()).getBody();
+        assertThat((List<?>) progress.get("progress")).hasSize(120);
+        assertThat(progress.get("nextCursor")).isNull();
+        Map<String, Object> bmi = bmiController.getUserBMIHistory(user.getId(), null, null, request()).getBody();
+        assertThat((List<?>) bmi.get("bmiHistory")).hasSize(80);
+        assertThat(bmi.get("nextCursor")).isNull();
+
+        Map<String, Object> firstPage = progressController.getUserProgress(user.getId(), null, 50, request()).getBody();
+        assertThat((List<?>) firstPage.get("progress")).hasSize(50);
+        assertThat(firstPage.get("nextCursor")).isNotNull();
+        ResponseEntity<Map<String, Object>> bmiPage = bmiController.getUserBMIHistory(user.getId(), null, 30, request());
+        assertThat((List<?>) bmiPage.getBody().get("bmiHistory")).hasSize(30);
+        assertThat(bmiPage.getBody().get("nextCursor")).isNotNull();
+    }
+
+    @Test
+    void deepPageReadsNoMoreRowsThanTheFirst() {
+        User user = userService.register(user("deep-pages@example.com"));
+        insertProgress(user.getId(), FIRST_ID + 1000, 3000);
+
+        long firstPage = rowsRead(() -> historyService.findPage(user.getId(), null, null, 51));
+        List<ProgressView> all = historyService.findAll(user.getId());
+        ProgressView deep = all.get(2900);
+        long deepPage = rowsRead(() -> historyService.findPage(user.getId(), deep.date(), deep.id(), 51));
+
+        // A skipping (OFFSET) page would read the 2900 rows before it as well
+        assertThat(firstPage).isLessThan(200);
+        assertThat(deepPage).isLessThanOrEqualTo(firstPage + 10);
+        assertThat(historyService.findPage(user.getId(), deep.date(), deep.id(), 51)).isEqualTo(all.subList(2901, 2952));
+    }
+
+    // InnoDB row reads by the page query, from the handler counters of the connection it ran on
+    private long rowsRead(Runnable page) {
+        return transactionTemplate.execute(status -> {
+            long before = handlerReads();
+            page.run();
+            return handlerReads() - before;
+        });
+    }
+
+    private long handlerReads() {
+        return jdbcTemplate.queryForList("SHOW SESSION STATUS LIKE 'Handler_read%'").stream()
+            .mapToLong(row -> Long.parseLong(row.get("Value").toString()))
+            .sum();
+    }
+
+    private void insertProgress(Long userId, long firstId, int days) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            rows.add(new Object[] {firstId + day, userId, Date.valueOf(today.minusDays(day)), 1800, 400, day % 2 == 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO progress_records (id, user_id, date, calories_consumed, calories_burned, "
+            + "workout_completed) VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertBmi(Long userId, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {userId, Timestamp.valueOf(now.minusDays(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bmi_records (user_id, weight, height, bmi_value, category, "
+            + "min_healthy_weight, max_healthy_weight, calculated_at) VALUES (?, 72.5, 176, 23.4, 'Normal weight', "
+            + "57.3, 77.1, ?)", rows);
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
@@ -0,0 +1,130 @@
+package com.fitnessapp.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.StatementRecorder;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.service.UserService;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.sql.DataSource;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read endpoints select their projections in one query, however many rows they return: nothing
+ * is loaded lazily per row, neither by the controller nor while the response is serialized.
+ */
+class HistoryQueryCountTest extends MariaDbSpringTest {
+
+    // Well past the ids the progress sequence hands out during the tests
+    private static final long FIRST_ID = 70_000_000L;
+
+    @Autowired
+    private ProgressController progressController;
+
+    @Autowired
+    private BMIController bmiController;
+
+    @Autowired
+    private UserController userController;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void historyEndpointsRunOneQueryEach() {
+        Long few = userWithHistory("query-count-few@example.com", FIRST_ID, 5);
+        Long many = userWithHistory("query-count-many@example.com", FIRST_ID + 1000, 200);
+
+        for (Long userId : List.of(few, many)) {
+            assertThat(tableReads(() -> progressController.getUserProgress(userId, null, 50, request()), "progress_records"))
+                .isEqualTo(1);
+            assertThat(tableReads(() -> progressController.getUserProgress(userId, null, null, request()), "progress_records"))
+                .isEqualTo(1);
+            assertThat(tableReads(() -> bmiController.getUserBMIHistory(userId, null, 50, request()), "bmi_records"))
+                .isEqualTo(1);
+            assertThat(tableReads(() -> bmiController.getUserBMIHistory(userId, null, null, request()), "bmi_records"))
+                .isEqualTo(1);
+            assertThat(tableReads(() -> bmiController.getLatestBMI(userId), "bmi_records")).isEqualTo(1);
+            assertThat(tableReads(() -> userController.getUserById(userId, request()), "users")).isEqualTo(1);
+        }
+        // The same statements for 5 rows as for 200
+        assertThat(statements(() -> progressController.getUserProgress(many, null, null, request())))
+            .hasSameSizeAs(statements(() -> progressController.getUserProgress(few, null, null, request())));
+        assertThat(statements(() -> bmiController.getUserBMIHistory(many, null, null, request())))
+            .hasSameSizeAs(statements(() -> bmiController.getUserBMIHistory(few, null, null, request())));
+    }
+
+    // Statements of the call and of serializing its response that read the table
+    private long tableReads(Supplier<ResponseEntity<Map<String, Object>>> endpoint, String table) {
+        return statements(endpoint).stream()
+            .filter(statement -> statement.getQuery().toLowerCase().contains(" from " + table + " "))
+            .count();
+    }
+
+    private List<QueryInfo> statements(Supplier<ResponseEntity<Map<String, Object>>> endpoint) {
+        return StatementRecorder.record(dataSource, () -> {
+            ResponseEntity<Map<String, Object>> response = endpoint.get();
+            assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+            try {
+                objectMapper.writeValueAsBytes(response.getBody());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Long userWithHistory(String email, long firstId, int rows) {
+        Long userId = userService.register(user(email)).getId();
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> progress = new ArrayList<>();
+        List<Object[]> bmi = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            progress.add(new Object[] {firstId + i, userId, Date.valueOf(today.minusDays(i)), 1800, 400, i % 2 == 0});
+            bmi.add(new Object[] {userId, Timestamp.valueOf(now.minusDays(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO progress_records (id, user_id, date, calories_consumed, calories_burned, "
+            + "workout_completed) VALUES (?, ?, ?, ?, ?, ?)", progress);
+        jdbcTemplate.batchUpdate("INSERT INTO bmi_records (user_id, weight, height, bmi_value, category, "
+            + "min_healthy_weight, max_healthy_weight, calculated_at) VALUES (?, 72.5, 176, 23.4, 'Normal weight', "
+            + "57.3, 77.1, ?)", bmi);
+        return userId;
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
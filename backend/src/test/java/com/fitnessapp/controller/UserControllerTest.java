@@ -0,0 +1,65 @@
+package com.fitnessapp.controller;
+
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserControllerTest {
+
+    @Autowired
+    private UserController controller;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void rejectsEmailTakenInAnotherCase() {
+        assertThat(controller.registerUser(user("taken@example.com")).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        var response = controller.registerUser(user("Taken@Example.COM"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).containsEntry("message", "User with this email already exists");
+    }
+
+    @Test
+    void findsUsersInsertedElsewhereAtOnce() {
+        // As registered by another instance, without this controller seeing it
+        userRepository.save(user("elsewhere@example.com"));
+
+        assertThat(controller.getUserByEmail("Elsewhere@Example.com").getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(controller.getUserByEmail("nowhere@example.com").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void onlyTheEmailConstraintMeansTheEmailIsTaken() {
+        assertThat(UserController.violates(violation("UK_USERS_EMAIL_NORMALIZED_INDEX_4"), "uk_users_email_normalized")).isTrue();
+        assertThat(UserController.violates(violation("fk_user_focus_areas_user"), "uk_users_email_normalized")).isFalse();
+        assertThat(UserController.violates(violation(null), "uk_users_email_normalized")).isFalse();
+        assertThat(UserController.violates(new DataIntegrityViolationException("not-null property references a null"),
+                                           "uk_users_email_normalized")).isFalse();
+    }
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement", new SQLException(), constraint));
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
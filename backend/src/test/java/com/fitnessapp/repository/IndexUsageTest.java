@@ -0,0 +1,159 @@
+package com.fitnessapp.repository;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.StatementRecorder;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.service.UserService;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hot-path queries of {@link ProgressRepository}, {@link BMIRepository} and
+ * {@link UserRepository} read the indexes the migrations declare: each query is captured as
+ * Hibernate sends it and EXPLAINed with its parameters on MariaDB.
+ */
+class IndexUsageTest extends MariaDbSpringTest {
+
+    // Well past the ids the progress sequence hands out during the tests
+    private static final long FIRST_ID = 60_000_000L;
+    private static final int DAYS = 1000;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private BMIRepository bmiRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private static Long userId;
+
+    @BeforeEach
+    void seed() {
+        if (userId != null) {
+            return;
+        }
+        // A second user's rows make the user_id predicate selective, as it is in production
+        userId = userService.register(user("index-usage@example.com")).getId();
+        Long otherUserId = userService.register(user("index-usage-other@example.com")).getId();
+        insertProgress(userId, FIRST_ID);
+        insertProgress(otherUserId, FIRST_ID + DAYS);
+        insertBmi(userId);
+        insertBmi(otherUserId);
+        jdbcTemplate.execute("ANALYZE TABLE progress_records, bmi_records, users");
+    }
+
+    @Test
+    void progressQueriesReadTheUserDateIndex() {
+        LocalDate today = LocalDate.now();
+        PageRequest page = PageRequest.of(0, 51);
+
+        assertUsesIndex(() -> progressRepository.findPageByUserId(userId, page), "uk_progress_user_date");
+        assertUsesIndex(() -> progressRepository.findPageByUserIdAfter(userId, today.minusDays(500), page),
+                        "uk_progress_user_date");
+        assertUsesIndex(() -> progressRepository.findViewByUserIdAndDate(userId, today), "uk_progress_user_date");
+        assertUsesIndex(() -> progressRepository.findProgressViewsByUserIdAndDateRange(userId, today.minusDays(30), today),
+                        "uk_progress_user_date");
+    }
+
+    @Test
+    void bmiQueriesReadTheUserCalculatedAtIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 51);
+
+        assertUsesIndex(() -> bmiRepository.findPageByUserId(userId, page), "idx_bmi_user_calculated_at");
+        assertUsesIndex(() -> bmiRepository.findPageByUserIdAfter(userId, now.minusDays(100), Long.MAX_VALUE, page),
+                        "idx_bmi_user_calculated_at");
+        assertUsesIndex(() -> bmiRepository.findLatestViewByUserId(userId), "idx_bmi_user_calculated_at");
+    }
+
+    @Test
+    void cohortCountReadsTheFitnessGoalIndex() {
+        assertUsesIndex(() -> userRepository.countByFitnessGoal("STAY_FIT"), "idx_users_fitness_goal");
+    }
+
+    // Runs the query, then EXPLAINs every statement it sent: the first table must be read
+    // through the index, without sorting the rows afterwards
+    private void assertUsesIndex(Runnable query, String index) {
+        List<QueryInfo> statements = StatementRecorder.record(dataSource, query);
+        assertThat(statements).isNotEmpty();
+        for (QueryInfo statement : statements) {
+            Map<String, Object> plan = explain(statement).get(0);
+            assertThat(plan.get("key")).as(statement.getQuery()).isEqualTo(index);
+            assertThat(String.valueOf(plan.get("Extra"))).as(statement.getQuery()).doesNotContain("filesort");
+        }
+    }
+
+    private List<Map<String, Object>> explain(QueryInfo statement) {
+        List<ParameterSetOperation> parameters = statement.getParametersList().isEmpty() ? List.of()
+            : statement.getParametersList().get(0);
+        return jdbcTemplate.query("EXPLAIN " + statement.getQuery(),
+            (PreparedStatement explain) -> {
+                for (ParameterSetOperation parameter : parameters) {
+                    try {
+                        parameter.getMethod().invoke(explain, parameter.getArgs());
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        throw new SQLException("Could not bind " + parameter.getMethod().getName(), e);
+                    }
+                }
+            },
+            (rows, rowNum) -> Map.of("key", String.valueOf(rows.getString("key")),
+                                     "Extra", String.valueOf(rows.getString("Extra"))));
+    }
+
+    private void insertProgress(Long userId, long firstId) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            rows.add(new Object[] {firstId + day, userId, Date.valueOf(today.minusDays(day)), 1800, 400, day % 2 == 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO progress_records (id, user_id, date, calories_consumed, calories_burned, "
+            + "workout_completed) VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertBmi(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < DAYS; i++) {
+            rows.add(new Object[] {userId, Timestamp.valueOf(now.minusHours(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bmi_records (user_id, weight, height, bmi_value, category, "
+            + "min_healthy_weight, max_healthy_weight, calculated_at) VALUES (?, 72.5, 176, 23.4, 'Normal weight', "
+            + "57.3, 77.1, ?)", rows);
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
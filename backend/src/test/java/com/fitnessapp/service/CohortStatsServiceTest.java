@@ -0,0 +1,162 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.controller.BMIController;
+import com.fitnessapp.controller.UserController;
+import com.fitnessapp.dto.CohortStats;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The cohort counters kept up to date by the register, update, delete, BMI and progress hooks
+ * agree with a full recomputation, and reconciliation repairs counters that have drifted. The
+ * database is shared with other tests, so counts are compared before and after each change.
+ */
+class CohortStatsServiceTest extends MariaDbSpringTest {
+
+    // Well past the ids the progress sequence hands out during the tests
+    private static final long FIRST_ID = 80_000_000L;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private CohortStatsService cohortStats;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserController userController;
+
+    @Autowired
+    private BMIController bmiController;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private BmiService bmiService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hooksKeepCountersEqualToRecomputation() {
+        // Starts from reconciled counters, whatever earlier tests wrote around the hooks
+        cohortStats.reconcile();
+        long loseWeight = users(CohortStatsService.FITNESS_GOAL, "LOSE_WEIGHT");
+        long buildMuscle = users(CohortStatsService.FITNESS_GOAL, "BUILD_MUSCLE");
+        long vegan = users(CohortStatsService.DIET_PREFERENCE, "VEGAN");
+
+        User first = userService.register(user("cohort-first@example.com", "LOSE_WEIGHT"));
+        User second = userService.register(user("cohort-second@example.com", "LOSE_WEIGHT"));
+        bmiController.calculateBMI(first.getId(), 80.0, 175.0);
+        bmiController.calculateBMI(first.getId(), 78.0, 175.0);
+        bmiController.calculateBMI(second.getId(), 65.0, 170.0);
+        LocalDate today = LocalDate.now();
+        progressService.saveBatch(first, List.of(
+            new ProgressEntry(today, 1800, 400, true, 8, 3, null),
+            new ProgressEntry(today.minusDays(1), 1900, 300, false, 6, 2, null),
+            new ProgressEntry(today.minusDays(2), 2000, 500, true, 7, 3, null)));
+        progressService.updateProgress(first, new ProgressEntry(today.minusDays(1), null, null, true, null, null, null));
+        progressService.updateProgress(second, new ProgressEntry(today, 1700, 200, true, 5, 2, null));
+
+        assertThat(users(CohortStatsService.FITNESS_GOAL, "LOSE_WEIGHT")).isEqualTo(loseWeight + 2);
+        assertThat(users(CohortStatsService.DIET_PREFERENCE, "VEGAN")).isEqualTo(vegan + 2);
+        assertThat(cohortStats.reconcile()).isZero();
+
+        // A move takes the user's BMI and workouts along to the new cohort
+        User moved = user("cohort-first@example.com", "BUILD_MUSCLE");
+        assertThat(userController.updateUser(first.getId(), moved).getStatusCode().is2xxSuccessful()).isTrue();
+        bmiController.calculateBMI(first.getId(), 76.0, 175.0);
+        assertThat(users(CohortStatsService.FITNESS_GOAL, "LOSE_WEIGHT")).isEqualTo(loseWeight + 1);
+        assertThat(users(CohortStatsService.FITNESS_GOAL, "BUILD_MUSCLE")).isEqualTo(buildMuscle + 1);
+        assertThat(cohortStats.reconcile()).isZero();
+
+        assertThat(userController.deleteUser(second.getId()).getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(users(CohortStatsService.FITNESS_GOAL, "LOSE_WEIGHT")).isEqualTo(loseWeight);
+        assertThat(cohortStats.reconcile()).isZero();
+    }
+
+    @Test
+    void concurrentBmiRecordsKeepCountersEqualToRecomputation() throws Exception {
+        User user = userService.register(user("cohort-concurrent-bmi@example.com", "BUILD_MUSCLE"));
+        cohortStats.reconcile();
+
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 5; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> writers = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    double weight = 60.0 + round * THREADS + i;
+                    writers.add(threads.submit(() -> {
+                        start.await();
+                        return bmiService.record(user.getId(), weight, 175.0);
+                    }));
+                }
+                start.countDown();
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+                assertThat(cohortStats.reconcile()).as("round %d", round).isZero();
+            }
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        User user = userService.register(user("cohort-drift@example.com", "STAY_FIT"));
+        cohortStats.reconcile();
+        long users = users(CohortStatsService.FITNESS_GOAL, "STAY_FIT");
+        long completed = completedWorkouts(CohortStatsService.FITNESS_GOAL, "STAY_FIT");
+
+        // Written around the hooks, so the counters miss it
+        jdbcTemplate.update("INSERT INTO progress_records (id, user_id, date, calories_consumed, workout_completed) "
+            + "VALUES (?, ?, ?, 1800, 1)", FIRST_ID, user.getId(), LocalDate.now());
+        assertThat(completedWorkouts(CohortStatsService.FITNESS_GOAL, "STAY_FIT")).isEqualTo(completed);
+
+        // One drifted shard row in each dimension
+        assertThat(cohortStats.reconcile()).isEqualTo(CohortStatsService.DIMENSIONS.size());
+        assertThat(completedWorkouts(CohortStatsService.FITNESS_GOAL, "STAY_FIT")).isEqualTo(completed + 1);
+        assertThat(users(CohortStatsService.FITNESS_GOAL, "STAY_FIT")).isEqualTo(users);
+        assertThat(cohortStats.reconcile()).isZero();
+    }
+
+    private long users(String dimension, String cohort) {
+        return stats(dimension, cohort).users();
+    }
+
+    // The raw counter, as the averages in CohortStats are rounded
+    private long completedWorkouts(String dimension, String cohort) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(completed_workouts), 0) FROM cohort_counters "
+            + "WHERE dimension = ? AND cohort = ?", Long.class, dimension, cohort);
+    }
+
+    private CohortStats stats(String dimension, String cohort) {
+        return cohortStats.getStats(dimension).stream()
+            .filter(stats -> stats.cohort().equals(cohort))
+            .findFirst()
+            .orElse(new CohortStats(cohort, 0, null, 0.0, 0.0));
+    }
+
+    private static User user(String email, String fitnessGoal) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, fitnessGoal, "HOME", "VEGAN");
+        user.setPassword("test-password");
+        return user;
+    }
+}
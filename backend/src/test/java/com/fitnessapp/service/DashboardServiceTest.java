@@ -0,0 +1,149 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.config.SqlExecutionListener;
+import com.fitnessapp.dto.Dashboard;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.BMIRepository;
+import com.fitnessapp.repository.ProgressRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardServiceTest extends MariaDbSpringTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private BMIRepository bmiRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void queriesOfConcurrentPartsCountTowardsTheRequest() {
+        User user = userService.register(user("dashboard-queries@example.com"));
+        Long userId = user.getId();
+        LocalDate today = LocalDate.now();
+        rollupService.getRollup(userId);
+
+        SqlExecutionListener.resetExecutionCount();
+        bmiRepository.findLatestViewByUserId(userId);
+        progressRepository.findViewByUserIdAndDate(userId, today);
+        rollupService.getRollup(userId);
+        int parts = SqlExecutionListener.executionCount();
+
+        userCache.get(userId);
+        SqlExecutionListener.resetExecutionCount();
+        assertThat(dashboardService.load(userId)).hasValueSatisfying(dashboard ->
+            assertThat(dashboard.unavailable()).isEmpty());
+        // The cached user costs no query
+        assertThat(SqlExecutionListener.executionCount()).isEqualTo(parts);
+    }
+
+    @Test
+    void partsRejectedByAFullPoolAreUnavailable() throws InterruptedException {
+        User user = userService.register(user("dashboard-rejected@example.com"));
+        DashboardService service = new DashboardService(1, 1000, registry);
+        beanFactory.autowireBean(service);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Occupies the single thread and every slot of its queue
+            while (executor.getQueue().remainingCapacity() > 0) {
+                executor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            assertThat(service.load(user.getId())).hasValueSatisfying(dashboard -> {
+                assertThat(dashboard.user().id()).isEqualTo(user.getId());
+                assertThat(dashboard.unavailable())
+                    .containsExactly(DashboardService.LATEST_BMI, DashboardService.TODAY, DashboardService.STATS);
+            });
+            assertThat(registry.get("dashboard.part.failures").tag("reason", "rejected").counters())
+                .hasSize(3);
+        } finally {
+            release.countDown();
+            service.stop();
+        }
+    }
+
+    @Test
+    void interruptingTheRequestCancelsEveryQueuedPart() throws InterruptedException {
+        User user = userService.register(user("dashboard-interrupted@example.com"));
+        userCache.get(user.getId());
+        DashboardService service = new DashboardService(1, 60_000, registry);
+        beanFactory.autowireBean(service);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Occupies the single thread, so the three parts wait in the queue
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            AtomicReference<Optional<Dashboard>> result = new AtomicReference<>();
+            AtomicBoolean stillInterrupted = new AtomicBoolean();
+            Thread request = new Thread(() -> {
+                result.set(service.load(user.getId()));
+                stillInterrupted.set(Thread.currentThread().isInterrupted());
+            });
+            request.start();
+            while (executor.getQueue().size() < 3) {
+                Thread.sleep(1);
+            }
+            request.interrupt();
+            request.join(10_000);
+
+            assertThat(result.get()).hasValueSatisfying(dashboard -> assertThat(dashboard.unavailable())
+                .containsExactly(DashboardService.LATEST_BMI, DashboardService.TODAY, DashboardService.STATS));
+            assertThat(stillInterrupted).isTrue();
+            executor.purge();
+            assertThat(executor.getQueue()).isEmpty();
+        } finally {
+            release.countDown();
+            service.stop();
+        }
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
@@ -0,0 +1,19 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressView;
+
+import java.util.List;
+
+/**
+ * Lets tests in other packages write archive segments, which the application only does through
+ * {@link ProgressArchiveService}.
+ */
+public final class ProgressArchiveSegments {
+
+    private ProgressArchiveSegments() {
+    }
+
+    public static long write(ProgressArchiveStore store, Long userId, int version, List<ProgressView> rows) {
+        return store.write(userId, version, rows);
+    }
+}
@@ -0,0 +1,65 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.ProgressArchive;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pages, ranges and the full walk read block by block from a segment give the same records as
+ * decoding it whole.
+ */
+class ProgressArchiveStoreTest {
+
+    private final ProgressArchiveStore store = new ProgressArchiveStore("target/progress-archive-store-test");
+
+    @Test
+    void pagesAndRangesMatchTheWholeSegment() throws IOException {
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        List<ProgressView> rows = new ArrayList<>();
+        for (int day = 0; day < 1000; day++) {
+            LocalDateTime created = start.plusDays(day).atTime(8, 0);
+            rows.add(new ProgressView(1000L + day, start.plusDays(day), day % 3 == 0 ? null : 1500 + day, 300,
+                                      day % 2 == 0, 2000, 3, 70.0 + day % 10 / 10.0, created, created));
+        }
+        ProgressArchive archive = new ProgressArchive(7L);
+        archive.setSegmentVersion(1);
+        store.write(7L, 1, rows);
+
+        assertThat(store.read(archive)).isEqualTo(rows);
+        List<ProgressView> streamed = new ArrayList<>();
+        store.forEach(archive, streamed::add);
+        assertThat(streamed).isEqualTo(rows);
+        List<ProgressView> newestFirst = rows.stream()
+            .sorted(Comparator.comparing(ProgressView::date).reversed())
+            .toList();
+
+        // Pages ending inside and on block boundaries
+        for (int limit : new int[] {37, ProgressSegmentCodec.BLOCK_SIZE}) {
+            List<ProgressView> paged = new ArrayList<>();
+            List<ProgressView> page = store.readPage(archive, null, null, limit);
+            while (!page.isEmpty()) {
+                assertThat(page.size()).isLessThanOrEqualTo(limit);
+                paged.addAll(page);
+                ProgressView last = page.get(page.size() - 1);
+                page = store.readPage(archive, last.date(), last.id(), limit);
+            }
+            assertThat(paged).isEqualTo(newestFirst);
+        }
+
+        LocalDate from = start.plusDays(250);
+        LocalDate to = start.plusDays(520);
+        assertThat(store.readRange(archive, from, to)).isEqualTo(newestFirst.stream()
+            .filter(row -> !row.date().isBefore(from) && !row.date().isAfter(to))
+            .toList());
+        assertThat(store.readRange(archive, start.minusDays(10), start.minusDays(1))).isEmpty();
+    }
+}
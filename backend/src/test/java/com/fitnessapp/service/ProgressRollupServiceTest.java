@@ -0,0 +1,133 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.entity.UserProgressRollup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the incrementally maintained rollup against the stats computed the way the stats
+ * endpoint did before the rollup: a count over all records and averages over the 30 most recent.
+ */
+class ProgressRollupServiceTest extends MariaDbSpringTest {
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private ProgressHistoryService historyService;
+
+    @Autowired
+    private ProgressArchiveService archiveService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void rollupMatchesStreamComputationAfterRandomWrites() {
+        User user = userService.register(user("rollup-random@example.com"));
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+
+        for (int step = 0; step < 300; step++) {
+            if (random.nextInt(10) == 0) {
+                List<ProgressEntry> batch = new ArrayList<>();
+                for (int i = random.nextInt(12); i >= 0; i--) {
+                    batch.add(randomEntry(random, today));
+                }
+                progressService.saveBatch(user, batch);
+            } else {
+                progressService.updateProgress(user, randomEntry(random, today));
+            }
+            if (step % 25 == 0) {
+                assertMatchesStreamComputation(user.getId());
+            }
+        }
+        assertMatchesStreamComputation(user.getId());
+    }
+
+    @Test
+    void rollupMatchesStreamComputationWithArchivedHistory() {
+        User user = userService.register(user("rollup-archived@example.com"));
+        Random random = new Random(7);
+        LocalDate today = LocalDate.now();
+        // 40 days older than the archive horizon, of which only the oldest 10 may be archived
+        List<ProgressEntry> old = new ArrayList<>();
+        for (int day = 0; day < 40; day++) {
+            old.add(new ProgressEntry(today.minusDays(800 - day), 1500 + day, 300, day % 3 == 0, 8, 3, null));
+        }
+        progressService.saveBatch(user, old);
+
+        archiveService.archiveAll();
+
+        UserProgressRollup archived = rollupService.getRollup(user.getId());
+        assertThat(archived.getArchivedThrough()).isEqualTo(today.minusDays(791));
+        assertMatchesStreamComputation(user.getId());
+
+        for (int step = 0; step < 60; step++) {
+            progressService.updateProgress(user, randomEntry(random, today));
+        }
+        assertMatchesStreamComputation(user.getId());
+    }
+
+    private void assertMatchesStreamComputation(Long userId) {
+        List<ProgressView> records = historyService.findAll(userId);
+        List<ProgressView> last30 = records.subList(0, Math.min(30, records.size()));
+
+        long completedWorkouts = records.stream()
+            .filter(p -> p.workoutCompleted() != null && p.workoutCompleted())
+            .count();
+        double avgCaloriesConsumed = last30.stream()
+            .filter(p -> p.caloriesConsumed() != null)
+            .mapToInt(ProgressView::caloriesConsumed)
+            .average()
+            .orElse(0.0);
+        double avgCaloriesBurned = last30.stream()
+            .filter(p -> p.caloriesBurned() != null)
+            .mapToInt(ProgressView::caloriesBurned)
+            .average()
+            .orElse(0.0);
+        long workoutsLast30 = last30.stream()
+            .filter(p -> p.workoutCompleted() != null && p.workoutCompleted())
+            .count();
+
+        UserProgressRollup rollup = rollupService.getRollup(userId);
+        assertThat(rollup.isStale()).isFalse();
+        assertThat(rollup.getTotalEntries()).isEqualTo(records.size());
+        assertThat(rollup.getTotalCompletedWorkouts()).isEqualTo(completedWorkouts);
+        assertThat(rollup.getAvgCaloriesConsumed()).isEqualTo(avgCaloriesConsumed);
+        assertThat(rollup.getAvgCaloriesBurned()).isEqualTo(avgCaloriesBurned);
+        assertThat(rollup.getWindowCompletedWorkouts()).isEqualTo(workoutsLast30);
+        assertThat(rollup.getWindowStartDate()).isEqualTo(last30.isEmpty() ? null : last30.get(last30.size() - 1).date());
+    }
+
+    // A partial entry for one of the last 60 days, so records enter, leave and change inside the window
+    private static ProgressEntry randomEntry(Random random, LocalDate today) {
+        return new ProgressEntry(today.minusDays(random.nextInt(60)),
+                                 random.nextBoolean() ? 1200 + random.nextInt(1500) : null,
+                                 random.nextBoolean() ? random.nextInt(800) : null,
+                                 random.nextBoolean() ? random.nextBoolean() : null,
+                                 random.nextBoolean() ? random.nextInt(12) : null,
+                                 null,
+                                 null);
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
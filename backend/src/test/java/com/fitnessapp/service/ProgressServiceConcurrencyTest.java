@@ -0,0 +1,124 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.entity.Progress;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.entity.UserProgressRollup;
+import com.fitnessapp.repository.ProgressRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Phone and watch updating the same day at once, on MariaDB's row locks and upsert.
+ */
+class ProgressServiceConcurrencyTest extends MariaDbSpringTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelUpdatesForOneDayMergeIntoOneRow() throws Exception {
+        User user = userService.register(user("parallel-updates@example.com"));
+        // Each writer sets one field; every field is written by two writers
+        List<ProgressEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            entries.add(new ProgressEntry(DAY, 2100, null, null, null, null, null));
+            entries.add(new ProgressEntry(DAY, null, 450, null, null, null, null));
+            entries.add(new ProgressEntry(DAY, null, null, true, null, null, null));
+            entries.add(new ProgressEntry(DAY, null, null, null, 8, null, null));
+            entries.add(new ProgressEntry(DAY, null, null, null, null, 3, null));
+            entries.add(new ProgressEntry(DAY, null, null, null, null, null, 71.5));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(entries.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Progress>> writes = new ArrayList<>();
+        try {
+            for (ProgressEntry entry : entries) {
+                writes.add(executor.submit(() -> {
+                    start.await();
+                    return progressService.updateProgress(user, entry);
+                }));
+            }
+            start.countDown();
+            for (Future<Progress> write : writes) {
+                write.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM progress_records WHERE user_id = ?",
+            Long.class, user.getId())).isEqualTo(1);
+        Progress progress = progressRepository.findByUserIdAndDate(user.getId(), DAY).orElseThrow();
+        assertThat(progress.getCaloriesConsumed()).isEqualTo(2100);
+        assertThat(progress.getCaloriesBurned()).isEqualTo(450);
+        assertThat(progress.getWorkoutCompleted()).isTrue();
+        assertThat(progress.getWaterIntake()).isEqualTo(8);
+        assertThat(progress.getMealsCompleted()).isEqualTo(3);
+        assertThat(progress.getCurrentWeight()).isEqualTo(71.5);
+
+        UserProgressRollup rollup = rollupService.getRollup(user.getId());
+        assertThat(rollup.getTotalEntries()).isEqualTo(1);
+        assertThat(rollup.getTotalCompletedWorkouts()).isEqualTo(1);
+        assertThat(rollup.getTotalCaloriesConsumed()).isEqualTo(2100);
+        assertThat(rollup.getTotalCaloriesBurned()).isEqualTo(450);
+    }
+
+    @Test
+    void upsertWithAnotherRowsIdFailsInsteadOfOverwritingIt() {
+        User owner = userService.register(user("id-owner@example.com"));
+        User other = userService.register(user("id-clash@example.com"));
+        Progress owned = progressService.updateProgress(owner, new ProgressEntry(DAY, 1800, null, null, null, null, null));
+
+        ProgressEntry clashing = new ProgressEntry(DAY, 900, null, null, null, null, null);
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+            progressRepository.upsertProgress(owned.getId(), other.getId(), clashing, LocalDateTime.now())))
+            .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT user_id FROM progress_records WHERE id = ?",
+            Long.class, owned.getId())).isEqualTo(owner.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT calories_consumed FROM progress_records WHERE id = ?",
+            Integer.class, owned.getId())).isEqualTo(1800);
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
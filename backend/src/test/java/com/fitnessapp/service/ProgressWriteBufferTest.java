@@ -0,0 +1,156 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.config.SqlExecutionListener;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.ProgressRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * A burst of updates is written as one row per (user, date), in a number of statements that does
+ * not grow with the burst, and a direct write racing a flush is never overwritten by the older
+ * buffered value.
+ */
+@TestPropertySource(properties = {
+    "app.progress.write-behind.enabled=true",
+    // Only the explicit flushes below write
+    "app.progress.write-behind.flush-interval-ms=3600000",
+    "app.progress.write-behind.max-pending=100000"
+})
+class ProgressWriteBufferTest extends MariaDbSpringTest {
+
+    private static final int DAYS = 5;
+
+    @Autowired
+    private ProgressWriteBuffer writeBuffer;
+
+    @Autowired
+    private ProgressHistoryService historyService;
+
+    @Autowired
+    private UserService userService;
+
+    @SpyBean
+    private ProgressService progressService;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void burstIsWrittenOncePerDay() throws Exception {
+        User user = userService.register(user("burst@example.com"));
+        LocalDate today = LocalDate.now();
+
+        // Creates the rows, so the two bursts compared below both update them
+        flushedStatements(user.getId(), today, 10);
+        int smallBurst = flushedStatements(user.getId(), today, 20);
+        double rowsBefore = registry.counter("progress.write_behind.rows").count();
+        int largeBurst = flushedStatements(user.getId(), today, 400);
+
+        assertThat(registry.counter("progress.write_behind.rows").count() - rowsBefore).isEqualTo(DAYS);
+        assertThat(largeBurst).isEqualTo(smallBurst);
+        List<ProgressView> history = historyService.findAll(user.getId());
+        assertThat(history).hasSize(DAYS);
+        // Each day carries the last value its thread buffered and the field only the first burst set
+        assertThat(history).allSatisfy(day -> {
+            assertThat(day.caloriesConsumed()).isEqualTo(399);
+            assertThat(day.waterIntake()).isEqualTo(2000);
+        });
+    }
+
+    @Test
+    void directWriteWinsOverConcurrentFlush() throws Exception {
+        User user = userService.register(user("last-writer@example.com"));
+        LocalDate today = LocalDate.now();
+        writeBuffer.buffer(user.getId(), new ProgressEntry(today, 1000, null, null, null, null, null));
+
+        // Holds the flush between its snapshot and its write until the direct write is done (or,
+        // when the direct write has to wait for the flush, briefly)
+        CountDownLatch snapshotTaken = new CountDownLatch(1);
+        CountDownLatch directWritten = new CountDownLatch(1);
+        Thread[] flushThread = new Thread[1];
+        doAnswer(invocation -> {
+            if (Thread.currentThread() == flushThread[0]) {
+                snapshotTaken.countDown();
+                directWritten.await(2, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(progressService).saveBatch(any(), any());
+
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> flush = threads.submit(() -> {
+                flushThread[0] = Thread.currentThread();
+                writeBuffer.flushAll();
+            });
+            assertThat(snapshotTaken.await(10, TimeUnit.SECONDS)).isTrue();
+            // Accepted after the buffered update, so its value must be the one stored
+            ProgressEntry newer = new ProgressEntry(today, 2000, null, null, null, null, null);
+            Future<?> direct = threads.submit(() -> {
+                writeBuffer.writeThrough(user.getId(), () -> progressService.saveBatch(user, List.of(newer)));
+                directWritten.countDown();
+            });
+            flush.get();
+            direct.get();
+        } finally {
+            threads.shutdown();
+        }
+
+        assertThat(progressRepository.findViewByUserIdAndDate(user.getId(), today))
+            .map(ProgressView::caloriesConsumed).hasValue(2000);
+    }
+
+    // Buffers the burst from one thread per day and returns the statements the flush executed
+    private int flushedStatements(Long userId, LocalDate today, int updatesPerDay) throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(DAYS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int day = 0; day < DAYS; day++) {
+                LocalDate date = today.minusDays(day);
+                writers.add(threads.submit(() -> {
+                    for (int i = 0; i < updatesPerDay; i++) {
+                        writeBuffer.buffer(userId, new ProgressEntry(date, i, null, null,
+                                                                     updatesPerDay == 10 ? 2000 : null, null, null));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            threads.shutdown();
+        }
+
+        SqlExecutionListener.resetExecutionCount();
+        writeBuffer.flushAll();
+        return SqlExecutionListener.executionCount();
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
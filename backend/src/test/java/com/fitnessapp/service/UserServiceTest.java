@@ -0,0 +1,84 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.dto.CohortStats;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CohortStatsService cohortStats;
+
+    @SpyBean
+    private DataVersionService versions;
+
+    @Test
+    void failedUpdateLeavesProfileAndCohortsUnchanged() {
+        User user = userService.register(user("update-rollback@example.com"));
+        Map<String, Long> cohortsBefore = goalCohorts();
+        doThrow(new IllegalStateException("version update failed")).when(versions).profileChanged(anyLong());
+
+        User details = user("update-rollback@example.com");
+        details.setFitnessGoal("LOSE_WEIGHT");
+        assertThatThrownBy(() -> userService.update(user.getId(), details)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getFitnessGoal()).isEqualTo("STAY_FIT");
+        assertThat(goalCohorts()).isEqualTo(cohortsBefore);
+    }
+
+    @Test
+    void failedDeleteLeavesUserAndCohortsInPlace() {
+        User user = userService.register(user("delete-rollback@example.com"));
+        Map<String, Long> cohortsBefore = goalCohorts();
+        doThrow(new IllegalStateException("version delete failed")).when(versions).delete(anyLong());
+
+        assertThatThrownBy(() -> userService.delete(user.getId())).isInstanceOf(IllegalStateException.class);
+
+        assertThat(userRepository.existsById(user.getId())).isTrue();
+        assertThat(goalCohorts()).isEqualTo(cohortsBefore);
+    }
+
+    @Test
+    void deleteRemovesUserAndCohortMembership() {
+        User user = userService.register(user("delete@example.com"));
+        long stayFit = goalCohorts().get("STAY_FIT");
+
+        assertThat(userService.delete(user.getId())).isTrue();
+
+        assertThat(userRepository.existsById(user.getId())).isFalse();
+        assertThat(goalCohorts().getOrDefault("STAY_FIT", 0L)).isEqualTo(stayFit - 1);
+        assertThat(userService.delete(user.getId())).isFalse();
+    }
+
+    private Map<String, Long> goalCohorts() {
+        return cohortStats.getStats(CohortStatsService.FITNESS_GOAL).stream()
+            .collect(Collectors.toMap(CohortStats::cohort, CohortStats::users));
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
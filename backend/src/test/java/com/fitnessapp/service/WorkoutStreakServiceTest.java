@@ -0,0 +1,118 @@
+package com.fitnessapp.service;
+
+import com.fitnessapp.MariaDbSpringTest;
+import com.fitnessapp.dto.ProgressEntry;
+import com.fitnessapp.dto.ProgressView;
+import com.fitnessapp.entity.User;
+import com.fitnessapp.entity.UserProgressRollup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property check of the incrementally tracked workout streaks: for random histories written in
+ * random date order (today, recent days and backfills), the current and longest streak always
+ * equal those of a brute-force scan over the user's completed days.
+ */
+class WorkoutStreakServiceTest extends MariaDbSpringTest {
+
+    private static final int HISTORIES = 20;
+    private static final int DAYS = 40;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ProgressRollupService rollupService;
+
+    @Autowired
+    private ProgressHistoryService historyService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void streaksMatchBruteForceScanOfRandomHistories() {
+        LocalDate today = LocalDate.now();
+        for (long seed = 1; seed <= HISTORIES; seed++) {
+            Random random = new Random(seed);
+            User user = userService.register(user("streak-" + seed + "@example.com"));
+            // Skews towards completed days, so histories have long runs as well as gaps
+            double completedRate = 0.5 + random.nextDouble() * 0.4;
+            int steps = 20 + random.nextInt(100);
+            for (int step = 0; step < steps; step++) {
+                if (random.nextInt(8) == 0) {
+                    List<ProgressEntry> batch = new ArrayList<>();
+                    for (int i = random.nextInt(6); i >= 0; i--) {
+                        batch.add(randomEntry(random, today, completedRate));
+                    }
+                    progressService.saveBatch(user, batch);
+                } else {
+                    progressService.updateProgress(user, randomEntry(random, today, completedRate));
+                }
+                if (step % 10 == 0) {
+                    assertMatchesScan(seed, user.getId(), today);
+                }
+            }
+            assertMatchesScan(seed, user.getId(), today);
+
+            // The repair job arrives at the same streaks
+            UserProgressRollup rebuilt = rollupService.rebuild(user.getId());
+            int[] scanned = scan(user.getId(), today);
+            assertThat(rebuilt.getCurrentStreak(today)).as("rebuilt current streak, seed %d", seed).isEqualTo(scanned[0]);
+            assertThat(rebuilt.getLongestStreak()).as("rebuilt longest streak, seed %d", seed).isEqualTo(scanned[1]);
+        }
+    }
+
+    private void assertMatchesScan(long seed, Long userId, LocalDate today) {
+        int[] scanned = scan(userId, today);
+        UserProgressRollup rollup = rollupService.getRollup(userId);
+        assertThat(rollup.getCurrentStreak(today)).as("current streak, seed %d", seed).isEqualTo(scanned[0]);
+        assertThat(rollup.getLongestStreak()).as("longest streak, seed %d", seed).isEqualTo(scanned[1]);
+    }
+
+    // {current, longest} by walking every day of the history; the current streak is the run
+    // ending today or, if today has no workout yet, yesterday
+    private int[] scan(Long userId, LocalDate today) {
+        TreeSet<LocalDate> completed = new TreeSet<>();
+        for (ProgressView progress : historyService.findAll(userId)) {
+            if (Boolean.TRUE.equals(progress.workoutCompleted())) {
+                completed.add(progress.date());
+            }
+        }
+        int longest = 0;
+        int run = 0;
+        LocalDate previous = null;
+        for (LocalDate date : completed) {
+            run = previous != null && date.equals(previous.plusDays(1)) ? run + 1 : 1;
+            longest = Math.max(longest, run);
+            previous = date;
+        }
+        LocalDate day = completed.contains(today) ? today : today.minusDays(1);
+        int current = 0;
+        while (completed.contains(day)) {
+            current++;
+            day = day.minusDays(1);
+        }
+        return new int[] {current, longest};
+    }
+
+    // Sets or clears the workout on one of the last DAYS days (sometimes leaves it untouched)
+    private static ProgressEntry randomEntry(Random random, LocalDate today, double completedRate) {
+        Boolean workoutCompleted = random.nextInt(10) == 0 ? null : random.nextDouble() < completedRate;
+        return new ProgressEntry(today.minusDays(random.nextInt(DAYS)), 1800, null, workoutCompleted, null, null, null);
+    }
+
+    private static User user(String email) {
+        User user = new User(email, "Test User", 30, "OTHER", 72.5, 176.0, "STAY_FIT", "GYM", "VEG");
+        user.setPassword("test-password");
+        return user;
+    }
+}
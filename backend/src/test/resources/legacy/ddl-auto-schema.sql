@@ -0,0 +1,57 @@
+-- Schema created by spring.jpa.hibernate.ddl-auto=update in builds before the Flyway migrations
+
+CREATE TABLE `users` (
+    `id` bigint(20) NOT NULL AUTO_INCREMENT,
+    `age` int(11) NOT NULL,
+    `created_at` datetime(6) DEFAULT NULL,
+    `diet_preference` varchar(255) NOT NULL,
+    `email` varchar(255) NOT NULL,
+    `fitness_goal` varchar(255) NOT NULL,
+    `gender` varchar(255) NOT NULL,
+    `height` double NOT NULL,
+    `name` varchar(255) NOT NULL,
+    `updated_at` datetime(6) DEFAULT NULL,
+    `weight` double NOT NULL,
+    `workout_preference` varchar(255) NOT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `UK_6dotkott2kjsp8vw4d0m25fb7` (`email`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `user_focus_areas` (
+    `user_id` bigint(20) NOT NULL,
+    `focus_areas` enum('ABS','ARMS','CHEST','BACK','LEGS','FULL_BODY') DEFAULT NULL,
+    KEY `FKgatrw7q674rxhna52mde9o1ry` (`user_id`),
+    CONSTRAINT `FKgatrw7q674rxhna52mde9o1ry` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `bmi_records` (
+    `id` bigint(20) NOT NULL AUTO_INCREMENT,
+    `bmi_value` double NOT NULL,
+    `calculated_at` datetime(6) DEFAULT NULL,
+    `category` varchar(255) NOT NULL,
+    `height` double NOT NULL,
+    `max_healthy_weight` double NOT NULL,
+    `min_healthy_weight` double NOT NULL,
+    `weight` double NOT NULL,
+    `user_id` bigint(20) NOT NULL,
+    PRIMARY KEY (`id`),
+    KEY `FKsacomn30bmey63jrvgjh1ukt3` (`user_id`),
+    CONSTRAINT `FKsacomn30bmey63jrvgjh1ukt3` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `progress_records` (
+    `id` bigint(20) NOT NULL AUTO_INCREMENT,
+    `calories_burned` int(11) DEFAULT NULL,
+    `calories_consumed` int(11) DEFAULT NULL,
+    `created_at` datetime(6) DEFAULT NULL,
+    `current_weight` double DEFAULT NULL,
+    `date` date NOT NULL,
+    `meals_completed` int(11) DEFAULT NULL,
+    `updated_at` datetime(6) DEFAULT NULL,
+    `water_intake` int(11) DEFAULT NULL,
+    `workout_completed` bit(1) DEFAULT NULL,
+    `user_id` bigint(20) NOT NULL,
+    PRIMARY KEY (`id`),
+    KEY `FK5kdmctx5x2jb7a2m2g74nmebo` (`user_id`),
+    CONSTRAINT `FK5kdmctx5x2jb7a2m2g74nmebo` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`)
+) ENGINE=InnoDB;
@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { AxiosResponse } from 'axios';
 
 const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
 
@@ -9,13 +9,44 @@ const apiClient = axios.create({
   },
 });
 
+// Access token from register, login or refresh, sent with every request
+apiClient.interceptors.request.use((config) => {
+  const token = localStorage.getItem('accessToken');
+  if (token) {
+    config.headers.Authorization = `Bearer ${token}`;
+  }
+  return config;
+});
+
+// Keeps the token from a successful register, login or refresh response for later requests
+const storeToken = (response: AxiosResponse) => {
+  if (response.data?.token) {
+    localStorage.setItem('accessToken', response.data.token);
+  }
+  return response;
+};
+
+// Auth API
+export const authAPI = {
+  login: (email: string, password: string) =>
+    apiClient.post('/auth/login', { email, password }).then(storeToken),
+  refresh: () => apiClient.post('/auth/refresh').then(storeToken),
+  changePassword: (newPassword: string, currentPassword?: string) =>
+    apiClient.put('/auth/password', { currentPassword, newPassword }),
+  logout: () => localStorage.removeItem('accessToken'),
+};
+
 // User API
 export const userAPI = {
-  register: (userData: any) => apiClient.post('/users/register', userData),
+  register: (userData: any) => apiClient.post('/users/register', userData).then(storeToken),
   getUserById: (id: number) => apiClient.get(`/users/${id}`),
   getUserByEmail: (email: string) => apiClient.get(`/users/email/${email}`),
   updateUser: (id: number, userData: any) => apiClient.put(`/users/${id}`, userData),
   deleteUser: (id: number) => apiClient.delete(`/users/${id}`),
+  importUsers: (file: Blob, format: 'csv' | 'ndjson') =>
+    apiClient.post('/users/import', file, {
+      headers: { 'Content-Type': format === 'csv' ? 'text/csv' : 'application/x-ndjson' },
+    }),
 };
 
 // BMI API
@@ -39,4 +70,20 @@ export const progressAPI = {
   getUserStats: (userId: number) => apiClient.get(`/progress/user/${userId}/stats`),
 };
 
+// Dashboard API
+export const dashboardAPI = {
+  getDashboard: (userId: number) => apiClient.get(`/dashboard/${userId}`),
+};
+
+// Workout API
+export const workoutAPI = {
+  getPlan: (userId: number, preference?: 'HOME' | 'GYM' | 'BOTH') =>
+    apiClient.get(`/workouts/plan/${userId}`, { params: { preference } }),
+};
+
+export const mealAPI = {
+  getPlan: (userId: number, preference?: 'VEG' | 'NON_VEG' | 'VEGAN') =>
+    apiClient.get(`/meals/plan/${userId}`, { params: { preference } }),
+};
+
 export default apiClient;